@@ -0,0 +1,91 @@
+package com.kvolkov.animatedprogressviews.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a progress animation. For each annotated class {@code Foo} the annotation processor of this module
+ * generates {@code Foo_ArcAnimation}, an {@code ArcAnimation} with all of the values below compiled in.
+ * Call it's static {@code register()} once, then set {@link #type()} on a view like any built in type.
+ *
+ * Curves of the first {@link #bakedArcCount()} arcs are sampled at build time, and the tables are added
+ * to {@code CurveTableCache} by {@code register()}, so {@code AnimationEngine.BAKED} engine plays them without
+ * baking anything at runtime.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface ArcAnimationSpec {
+
+    /**
+     * Mappings of alpha and beta angles to start and sweep angles of arcs.
+     *
+     * {@link #ROTATING}: alpha is start angle, beta is sweep angle.
+     * {@link #ALPHA_OFFSET}: start angle is initial alpha plus alpha, beta is sweep angle.
+     * {@link #BETA_OFFSET}: start angle is initial alpha minus beta, alpha is sweep angle.
+     * {@link #REVERSED_SWEEP}: start angle is initial alpha plus beta, sweep angle is minus alpha.
+     */
+    int ROTATING = 0;
+    int ALPHA_OFFSET = 1;
+    int BETA_OFFSET = 2;
+    int REVERSED_SWEEP = 3;
+
+    /**
+     * @return Progress animation type to register with, should not be used by any other animation.
+     */
+    int type();
+
+    /**
+     * @return Duration in [ms] of single iteration of both curves.
+     */
+    long duration();
+
+    /**
+     * @return Initial alpha angle value of all arcs.
+     */
+    float initialAlpha() default 270.f;
+
+    /**
+     * @return Initial beta angle value of all arcs.
+     */
+    float initialBeta() default 0.1f;
+
+    /**
+     * @return Min alpha angle change worth applying by animators.
+     */
+    float alphaUpdateThreshold() default 0.f;
+
+    /**
+     * @return Min beta angle change worth applying by animators.
+     */
+    float betaUpdateThreshold() default 0.f;
+
+    /**
+     * @return One of mappings defined here.
+     */
+    int mapping() default ROTATING;
+
+    /**
+     * @return Alpha angle curve.
+     */
+    CurveSpec alpha();
+
+    /**
+     * @return Beta angle curve.
+     */
+    CurveSpec beta();
+
+    /**
+     * @return Number of arcs which curves are sampled at build time.
+     */
+    int bakedArcCount() default 0;
+
+    /**
+     * @return Number of samples per second of curves sampled at build time.
+     */
+    int sampleRate() default 120;
+}
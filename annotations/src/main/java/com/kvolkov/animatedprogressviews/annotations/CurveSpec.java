@@ -0,0 +1,57 @@
+package com.kvolkov.animatedprogressviews.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declarative animation curve of an {@link ArcAnimationSpec}, same as {@code AnimationCurve} of every arc,
+ * with easing factor and scale which might differ per arc.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target({})
+public @interface CurveSpec {
+
+    /**
+     * Repeat modes, same values as in {@code AnimationCurve}.
+     */
+    int RESTART = 1;
+    int REVERSE = 2;
+
+    /**
+     * Easing types, same values as in {@code Easing}.
+     */
+    int LINEAR = 0;
+    int ACCELERATE = 1;
+    int DECELERATE = 2;
+    int ACCELERATE_DECELERATE = 3;
+    int ANTICIPATE = 4;
+
+    /**
+     * @return {@link #RESTART} or {@link #REVERSE}.
+     */
+    int repeatMode() default RESTART;
+
+    /**
+     * @return One of easing types defined here.
+     */
+    int easing() default LINEAR;
+
+    /**
+     * @return Easing factor of each arc.
+     */
+    Factor easingFactor() default @Factor(1.f);
+
+    /**
+     * @return Multiplier applied to evaluated value of each arc.
+     */
+    Factor scale() default @Factor(1.f);
+
+    /**
+     * @return Values to animate between, at least one.
+     */
+    float[] keyframes();
+}
@@ -0,0 +1,32 @@
+package com.kvolkov.animatedprogressviews.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Per arc factor of a {@link CurveSpec}, a quadratic function of arc index:
+ * {@code value + linear * index + quadratic * index * index}.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target({})
+public @interface Factor {
+
+    /**
+     * @return Factor of the first arc.
+     */
+    float value();
+
+    /**
+     * @return Change of factor per arc index.
+     */
+    float linear() default 0.f;
+
+    /**
+     * @return Change of factor per squared arc index.
+     */
+    float quadratic() default 0.f;
+}
@@ -0,0 +1,367 @@
+package com.kvolkov.animatedprogressviews.annotations.processor;
+
+import com.kvolkov.animatedprogressviews.animations.AnimationCurve;
+import com.kvolkov.animatedprogressviews.animations.CurveTable;
+import com.kvolkov.animatedprogressviews.annotations.ArcAnimationSpec;
+import com.kvolkov.animatedprogressviews.annotations.CurveSpec;
+import com.kvolkov.animatedprogressviews.annotations.Factor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates an {@code ArcAnimation} for each class annotated with {@link ArcAnimationSpec}.
+ *
+ * Generated class has all spec values inlined as constants, creates curves with per arc factors computed
+ * by plain arithmetic, and maps angles with a loop specialized for the mapping of the spec.
+ * Curves of baked arcs are sampled here with the same {@link CurveTable} code used at runtime.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public final class ArcAnimationProcessor extends AbstractProcessor {
+
+    /**
+     * Suffix of generated class names.
+     */
+    static final String SUFFIX = "_ArcAnimation";
+
+    /**
+     * Max number of samples baked into a class, so static initializer stays well within method size limit.
+     */
+    private static final int MAX_BAKED_SAMPLES = 6000;
+
+    /**
+     * Number of array values per line of generated code.
+     */
+    private static final int VALUES_PER_LINE = 8;
+
+    private static final String ANIMATIONS_PACKAGE = "com.kvolkov.animatedprogressviews.animations";
+
+    /**
+     * Names of {@code Easing} constants by {@link CurveSpec} easing types.
+     */
+    private static final String[] EASING_NAMES = {
+            "Easing.LINEAR",
+            "Easing.ACCELERATE",
+            "Easing.DECELERATE",
+            "Easing.ACCELERATE_DECELERATE",
+            "Easing.ANTICIPATE",
+    };
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(ArcAnimationSpec.class.getCanonicalName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(ArcAnimationSpec.class)) {
+            if (element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.INTERFACE) {
+                error(element, "@ArcAnimationSpec should annotate a class or an interface.");
+                continue;
+            }
+
+            final ArcAnimationSpec spec = element.getAnnotation(ArcAnimationSpec.class);
+            if (validate(element, spec)) {
+                generate((TypeElement) element, spec);
+            }
+        }
+        return true;
+    }
+
+    private boolean validate(Element element, ArcAnimationSpec spec) {
+        boolean valid = true;
+        if (spec.duration() <= 0) {
+            error(element, "Duration should be positive: " + spec.duration());
+            valid = false;
+        }
+        if (spec.mapping() < ArcAnimationSpec.ROTATING || spec.mapping() > ArcAnimationSpec.REVERSED_SWEEP) {
+            error(element, "Unknown mapping: " + spec.mapping());
+            valid = false;
+        }
+        if (spec.bakedArcCount() < 0) {
+            error(element, "Baked arc count should not be negative: " + spec.bakedArcCount());
+            valid = false;
+        }
+        if (spec.sampleRate() < 1) {
+            error(element, "Sample rate should be at least 1: " + spec.sampleRate());
+            valid = false;
+        }
+        valid &= validate(element, "alpha", spec.alpha());
+        valid &= validate(element, "beta", spec.beta());
+
+        if (valid && spec.bakedArcCount() > 0) {
+            final long samples = (long) getBakedCount(spec, spec.alpha()) * getTable(spec, spec.alpha(), 0).getSamples().length
+                    + (long) getBakedCount(spec, spec.beta()) * getTable(spec, spec.beta(), 0).getSamples().length;
+            if (samples > MAX_BAKED_SAMPLES) {
+                error(element, "Too many baked samples: " + samples + ", should be at most " + MAX_BAKED_SAMPLES
+                        + ". Lower bakedArcCount or sampleRate.");
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
+    private boolean validate(Element element, String name, CurveSpec curve) {
+        boolean valid = true;
+        if (curve.repeatMode() != CurveSpec.RESTART && curve.repeatMode() != CurveSpec.REVERSE) {
+            error(element, "Unknown repeat mode of " + name + " curve: " + curve.repeatMode());
+            valid = false;
+        }
+        if (curve.easing() < CurveSpec.LINEAR || curve.easing() > CurveSpec.ANTICIPATE) {
+            error(element, "Unknown easing of " + name + " curve: " + curve.easing());
+            valid = false;
+        }
+        if (curve.keyframes().length == 0) {
+            error(element, "At least one keyframe of " + name + " curve is required.");
+            valid = false;
+        }
+        return valid;
+    }
+
+    private void generate(TypeElement element, ArcAnimationSpec spec) {
+        final String packageName = getPackageName(element);
+        final String className = getGeneratedName(element);
+
+        final StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import " + ANIMATIONS_PACKAGE + ".AnimationCurve;\n")
+                .append("import " + ANIMATIONS_PACKAGE + ".ArcAnimation;\n")
+                .append("import " + ANIMATIONS_PACKAGE + ".ArcAnimations;\n")
+                .append("import " + ANIMATIONS_PACKAGE + ".CurveTable;\n")
+                .append("import " + ANIMATIONS_PACKAGE + ".CurveTableCache;\n")
+                .append("import " + ANIMATIONS_PACKAGE + ".Easing;\n\n")
+                .append("/**\n")
+                .append(" * Generated from {@link ").append(element.getQualifiedName()).append("} by ")
+                .append(getClass().getSimpleName()).append(", do not edit.\n")
+                .append(" */\n")
+                .append("public final class ").append(className).append(" implements ArcAnimation {\n\n")
+                .append("    public static final int TYPE = ").append(spec.type()).append(";\n\n")
+                .append("    private static final long DURATION = ").append(spec.duration()).append("L;\n");
+        appendArray(source, "ALPHA_KEYFRAMES", spec.alpha().keyframes());
+        appendArray(source, "BETA_KEYFRAMES", spec.beta().keyframes());
+        appendTables(source, "ALPHA_TABLES", spec, spec.alpha());
+        appendTables(source, "BETA_TABLES", spec, spec.beta());
+
+        source.append("\n")
+                .append("    /**\n")
+                .append("     * Registers this animation with {@link ArcAnimations} as {@link #TYPE},")
+                .append(" and adds tables baked at build time to {@link CurveTableCache}.\n")
+                .append("     */\n")
+                .append("    public static void register() {\n")
+                .append("        final ").append(className).append(" animation = new ").append(className).append("();\n")
+                .append("        for (int i = 0; i < ALPHA_TABLES.length; ++i) {\n")
+                .append("            final AnimationCurve curve = animation.createAlphaCurve(i, ").append(spec.bakedArcCount()).append(");\n")
+                .append("            CurveTableCache.put(curve, new CurveTable(curve, ALPHA_TABLES[i]));\n")
+                .append("        }\n")
+                .append("        for (int i = 0; i < BETA_TABLES.length; ++i) {\n")
+                .append("            final AnimationCurve curve = animation.createBetaCurve(i, ").append(spec.bakedArcCount()).append(");\n")
+                .append("            CurveTableCache.put(curve, new CurveTable(curve, BETA_TABLES[i]));\n")
+                .append("        }\n")
+                .append("        ArcAnimations.register(TYPE, animation);\n")
+                .append("    }\n\n");
+
+        appendGetter(source, "getInitialAlpha", spec.initialAlpha());
+        appendGetter(source, "getInitialBeta", spec.initialBeta());
+        appendGetter(source, "getAlphaUpdateThreshold", spec.alphaUpdateThreshold());
+        appendGetter(source, "getBetaUpdateThreshold", spec.betaUpdateThreshold());
+        source.append("    @Override\n")
+                .append("    public boolean dependsOnArcCount() {\n")
+                .append("        // factors are functions of arc index only\n")
+                .append("        return false;\n")
+                .append("    }\n\n");
+        appendCurveFactory(source, "createAlphaCurve", "ALPHA_KEYFRAMES", spec.alpha());
+        appendCurveFactory(source, "createBetaCurve", "BETA_KEYFRAMES", spec.beta());
+        appendMapping(source, spec);
+        source.append("}\n");
+
+        final String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        try {
+            final Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, element).openWriter();
+            try {
+                writer.write(source.toString());
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            error(element, "Failed to write " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    private static void appendArray(StringBuilder source, String name, float[] values) {
+        source.append("    private static final float[] ").append(name).append(" = ");
+        appendValues(source, values);
+        source.append(";\n");
+    }
+
+    private static void appendTables(StringBuilder source, String name, ArcAnimationSpec spec, CurveSpec curve) {
+        source.append("    private static final float[][] ").append(name).append(" = {\n");
+        for (int i = 0; i < getBakedCount(spec, curve); ++i) {
+            source.append("            ");
+            appendValues(source, getTable(spec, curve, i).getSamples());
+            source.append(",\n");
+        }
+        source.append("    };\n");
+    }
+
+    private static void appendValues(StringBuilder source, float[] values) {
+        source.append("{ ");
+        for (int i = 0; i < values.length; ++i) {
+            if (i > 0) {
+                source.append(i % VALUES_PER_LINE == 0 ? ",\n                    " : ", ");
+            }
+            source.append(toLiteral(values[i]));
+        }
+        source.append(" }");
+    }
+
+    private static void appendGetter(StringBuilder source, String name, float value) {
+        source.append("    @Override\n")
+                .append("    public float ").append(name).append("() {\n")
+                .append("        return ").append(toLiteral(value)).append(";\n")
+                .append("    }\n\n");
+    }
+
+    private static void appendCurveFactory(StringBuilder source, String name, String keyframes, CurveSpec curve) {
+        source.append("    @Override\n")
+                .append("    public AnimationCurve ").append(name).append("(int index, int arcCount) {\n")
+                .append("        return new AnimationCurve(DURATION, ")
+                .append(curve.repeatMode() == CurveSpec.REVERSE ? "AnimationCurve.REVERSE" : "AnimationCurve.RESTART")
+                .append(", ").append(EASING_NAMES[curve.easing()])
+                .append(", ").append(toExpression(curve.easingFactor()))
+                .append(", ").append(toExpression(curve.scale()))
+                .append(", ").append(keyframes).append(");\n")
+                .append("    }\n\n");
+    }
+
+    private static void appendMapping(StringBuilder source, ArcAnimationSpec spec) {
+        source.append("    @Override\n")
+                .append("    public void computeArcAngles(int arcCount, float[] alphaAngles, float[] betaAngles,")
+                .append(" float[] startAngles, float[] sweepAngles) {\n");
+        if (spec.mapping() == ArcAnimationSpec.ROTATING) {
+            source.append("        System.arraycopy(alphaAngles, 0, startAngles, 0, arcCount);\n")
+                    .append("        System.arraycopy(betaAngles, 0, sweepAngles, 0, arcCount);\n");
+        } else {
+            final String initialAlpha = toLiteral(spec.initialAlpha());
+            final String start;
+            final String sweep;
+            switch (spec.mapping()) {
+                case ArcAnimationSpec.ALPHA_OFFSET:
+                    start = initialAlpha + " + alphaAngles[i]";
+                    sweep = "betaAngles[i]";
+                    break;
+
+                case ArcAnimationSpec.BETA_OFFSET:
+                    start = initialAlpha + " - betaAngles[i]";
+                    sweep = "alphaAngles[i]";
+                    break;
+
+                case ArcAnimationSpec.REVERSED_SWEEP:
+                default:
+                    start = initialAlpha + " + betaAngles[i]";
+                    sweep = "-alphaAngles[i]";
+                    break;
+            }
+            source.append("        for (int i = 0; i < arcCount; ++i) {\n")
+                    .append("            startAngles[i] = ").append(start).append(";\n")
+                    .append("            sweepAngles[i] = ").append(sweep).append(";\n")
+                    .append("        }\n");
+        }
+        source.append("    }\n");
+    }
+
+    /**
+     * @return Number of tables to bake for the curve, just one in case the curve is the same for all arcs.
+     */
+    private static int getBakedCount(ArcAnimationSpec spec, CurveSpec curve) {
+        if (isConstant(curve.easingFactor()) && isConstant(curve.scale())) {
+            return Math.min(1, spec.bakedArcCount());
+        }
+        return spec.bakedArcCount();
+    }
+
+    /**
+     * Samples curve of an arc same way as generated code creates it.
+     */
+    private static CurveTable getTable(ArcAnimationSpec spec, CurveSpec curve, int index) {
+        final AnimationCurve animationCurve = new AnimationCurve(spec.duration(),
+                curve.repeatMode() == CurveSpec.REVERSE ? AnimationCurve.REVERSE : AnimationCurve.RESTART,
+                curve.easing(), evaluate(curve.easingFactor(), index), evaluate(curve.scale(), index), curve.keyframes());
+        return new CurveTable(animationCurve, spec.sampleRate());
+    }
+
+    /**
+     * @return Factor of an arc, computed in same order of float operations as {@link #toExpression(Factor)}.
+     */
+    private static float evaluate(Factor factor, int index) {
+        if (isConstant(factor)) {
+            return factor.value();
+        }
+        return factor.value() + factor.linear() * index + factor.quadratic() * index * index;
+    }
+
+    private static String toExpression(Factor factor) {
+        if (isConstant(factor)) {
+            return toLiteral(factor.value());
+        }
+        return "(" + toLiteral(factor.value()) + " + " + toLiteral(factor.linear()) + " * index + "
+                + toLiteral(factor.quadratic()) + " * index * index)";
+    }
+
+    private static boolean isConstant(Factor factor) {
+        return factor.linear() == 0.f && factor.quadratic() == 0.f;
+    }
+
+    private static String toLiteral(float value) {
+        if (Float.isNaN(value)) {
+            return "Float.NaN";
+        }
+        if (Float.isInfinite(value)) {
+            return value > 0 ? "Float.POSITIVE_INFINITY" : "Float.NEGATIVE_INFINITY";
+        }
+        return Float.toString(value) + "f";
+    }
+
+    private static String getPackageName(Element element) {
+        while (element.getKind() != ElementKind.PACKAGE) {
+            element = element.getEnclosingElement();
+        }
+        return ((PackageElement) element).getQualifiedName().toString();
+    }
+
+    /**
+     * @return Simple name of generated class, names of enclosing classes are joined with '_'.
+     */
+    private static String getGeneratedName(TypeElement element) {
+        String name = element.getSimpleName().toString();
+        Element enclosing = element.getEnclosingElement();
+        while (enclosing.getKind() != ElementKind.PACKAGE) {
+            name = enclosing.getSimpleName() + "_" + name;
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name + SUFFIX;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,177 @@
+package com.kvolkov.animatedprogressviews.benchmark;
+
+import com.kvolkov.animatedprogressviews.animations.FrameClock;
+import com.kvolkov.animatedprogressviews.animations.ManualFrameClock;
+import com.kvolkov.animatedprogressviews.animations.OpacityTimeline;
+import com.kvolkov.animatedprogressviews.animations.ProgressTimeline;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Verifies that steady state frames of animation timelines allocate nothing. Steps a {@link ManualFrameClock} for a few thousand
+ * frames of every progress and opacity animation type combination, at 1, 5, 15 and 30 arcs with both time based engines,
+ * and measures bytes allocated by the thread while doing so, frame dispatch included.
+ * Restarts of unchanged configuration are verified to allocate nothing as well, since curves are reused by them.
+ *
+ * Only Android-free timelines of {@code core} are covered, frames of the view are verified by {@code ArcLoadingViewAllocationTest} of {@code library}.
+ *
+ * Exits with non zero status in case any combination allocates, so it fails {@code ./gradlew :benchmark:check}.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public final class AllocationCheck {
+
+    private static final int[] ARC_COUNTS = { 1, 5, 15, 30 };
+    private static final int WARMUP_FRAMES = 5000;
+    private static final int MEASURED_FRAMES = 3000;
+    private static final int MEASURED_RUNS = 3;
+    private static final int MEASURED_RESTARTS = 100;
+
+    private final com.sun.management.ThreadMXBean mThreadBean;
+    private final long mThreadId;
+    private final long mMeasurementOverhead;
+
+    private AllocationCheck() {
+        mThreadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        mThreadId = Thread.currentThread().getId();
+        mThreadBean.setThreadAllocatedMemoryEnabled(true);
+
+        // reading the counter might allocate by itself
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 100; ++i) {
+            final long before = mThreadBean.getThreadAllocatedBytes(mThreadId);
+            final long after = mThreadBean.getThreadAllocatedBytes(mThreadId);
+            overhead = Math.min(overhead, after - before);
+        }
+        mMeasurementOverhead = overhead;
+    }
+
+    public static void main(String[] args) {
+        if (!((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).isThreadAllocatedMemorySupported()) {
+            System.err.println("Thread allocated memory is not supported by this JVM.");
+            System.exit(2);
+        }
+
+        final AllocationCheck check = new AllocationCheck();
+        // throwaway run, so one-off allocations of JVM warming up frame dispatch are not blamed on first combination
+        check.measure(ProgressTimeline.OPACITY_ANIMATION_TEST_STUB, OpacityTimeline.NONE, ARC_COUNTS[0], false);
+
+        int failures = 0;
+        int combinations = 0;
+        for (int progressType = ProgressTimeline.OPACITY_ANIMATION_TEST_STUB; progressType <= ProgressTimeline.GOTCHA; ++progressType) {
+            for (int opacityType = OpacityTimeline.NONE; opacityType <= OpacityTimeline.RIPPLE; ++opacityType) {
+                for (int arcCount : ARC_COUNTS) {
+                    for (int baked = 0; baked < 2; ++baked) {
+                        ++combinations;
+                        final String combination = "progress type " + progressType + ", opacity type " + opacityType
+                                + ", arcs " + arcCount + (baked == 1 ? ", BAKED" : ", TIMELINE");
+                        final long bytes = check.measure(progressType, opacityType, arcCount, baked == 1);
+                        if (bytes > 0) {
+                            ++failures;
+                            System.err.println("Allocated " + bytes + " bytes in " + MEASURED_FRAMES + " frames: " + combination);
+                        }
+                        final long restartBytes = check.measureRestarts(progressType, opacityType, arcCount, baked == 1);
+                        if (restartBytes > 0) {
+                            ++failures;
+                            System.err.println("Allocated " + restartBytes + " bytes in " + MEASURED_RESTARTS + " restarts: " + combination);
+                        }
+                    }
+                }
+            }
+        }
+
+        if (failures > 0) {
+            System.err.println(failures + " checks of " + combinations + " combinations allocate per frame or per restart.");
+            System.exit(1);
+        }
+        System.out.println("No allocations per frame or per restart in " + combinations + " combinations.");
+    }
+
+    /**
+     * @return Number of bytes allocated while playing {@link #MEASURED_FRAMES} frames.
+     */
+    private long measure(int progressType, int opacityType, int arcCount, boolean baked) {
+        final ProgressTimeline progress = createProgress(progressType, arcCount, baked);
+        final OpacityTimeline opacity = createOpacity(opacityType, arcCount, baked);
+
+        final ManualFrameClock clock = new ManualFrameClock();
+        clock.register(new FramePlayer(progress, opacity, arcCount));
+
+        clock.step(WARMUP_FRAMES);
+        // best of few runs, so one-off allocations of JVM itself, like class loading or compilation, are ignored
+        long bytes = Long.MAX_VALUE;
+        for (int run = 0; run < MEASURED_RUNS; ++run) {
+            final long before = mThreadBean.getThreadAllocatedBytes(mThreadId);
+            clock.step(MEASURED_FRAMES);
+            final long after = mThreadBean.getThreadAllocatedBytes(mThreadId);
+            bytes = Math.min(bytes, after - before - mMeasurementOverhead);
+        }
+        return Math.max(0, bytes);
+    }
+
+    /**
+     * @return Number of bytes allocated by {@link #MEASURED_RESTARTS} resets of timelines with unchanged configuration.
+     */
+    private long measureRestarts(int progressType, int opacityType, int arcCount, boolean baked) {
+        final ProgressTimeline progress = createProgress(progressType, arcCount, baked);
+        final OpacityTimeline opacity = createOpacity(opacityType, arcCount, baked);
+
+        long bytes = Long.MAX_VALUE;
+        for (int run = 0; run < MEASURED_RUNS; ++run) {
+            final long before = mThreadBean.getThreadAllocatedBytes(mThreadId);
+            for (int i = 0; i < MEASURED_RESTARTS; ++i) {
+                progress.reset();
+                opacity.reset();
+            }
+            final long after = mThreadBean.getThreadAllocatedBytes(mThreadId);
+            bytes = Math.min(bytes, after - before - mMeasurementOverhead);
+        }
+        return Math.max(0, bytes);
+    }
+
+    private static ProgressTimeline createProgress(int type, int arcCount, boolean baked) {
+        final ProgressTimeline progress = new ProgressTimeline();
+        progress.setType(type);
+        progress.setArcCount(arcCount);
+        progress.setBaked(baked);
+        progress.reset();
+        return progress;
+    }
+
+    private static OpacityTimeline createOpacity(int type, int arcCount, boolean baked) {
+        final OpacityTimeline opacity = new OpacityTimeline();
+        opacity.setType(type);
+        opacity.setArcCount(arcCount);
+        opacity.setBaked(baked);
+        opacity.reset();
+        return opacity;
+    }
+
+    /**
+     * Same per frame work as done by the view: evaluate all arcs at frame time and map them to start and sweep angles.
+     */
+    private static final class FramePlayer implements FrameClock.Callback {
+
+        private final ProgressTimeline mProgress;
+        private final OpacityTimeline mOpacity;
+        private final float[] mStartAngles;
+        private final float[] mSweepAngles;
+
+        FramePlayer(ProgressTimeline progress, OpacityTimeline opacity, int arcCount) {
+            mProgress = progress;
+            mOpacity = opacity;
+            mStartAngles = new float[arcCount];
+            mSweepAngles = new float[arcCount];
+        }
+
+        @Override
+        public boolean onFrame(long frameTimeNanos) {
+            final long playTime = frameTimeNanos / 1000000L;
+            mProgress.setCurrentPlayTime(playTime);
+            mOpacity.setCurrentPlayTime(playTime);
+            mProgress.computeArcAngles(mStartAngles.length, mStartAngles, mSweepAngles);
+            return true;
+        }
+    }
+}
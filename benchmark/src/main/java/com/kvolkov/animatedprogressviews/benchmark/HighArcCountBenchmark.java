@@ -0,0 +1,90 @@
+package com.kvolkov.animatedprogressviews.benchmark;
+
+import com.kvolkov.animatedprogressviews.animations.OpacityTimeline;
+import com.kvolkov.animatedprogressviews.animations.ProgressTimeline;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Frame time against number of arcs in high arc count mode of the view: evaluating progress and opacity
+ * of all arcs from packed lookup tables of BAKED engine, and mapping them to start and sweep angles.
+ * Frame time should grow linearly with number of arcs, so score divided by {@code arcCount} should stay
+ * roughly the same from 30 to 500 arcs.
+ *
+ * Run with {@code -prof gc} to check nothing is allocated per frame, see {@code gc.alloc.rate.norm}.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HighArcCountBenchmark {
+
+    /**
+     * Time between frames in [ms], 60 fps.
+     */
+    private static final long FRAME_TIME = 16;
+
+    /**
+     * Progress animation type, see {@link ProgressTimeline}.
+     */
+    @Param({"0", "3", "9"})
+    public int progressType;
+
+    /**
+     * Opacity animation type, see {@link OpacityTimeline}.
+     */
+    @Param({"0", "2", "4"})
+    public int opacityType;
+
+    @Param({"30", "60", "125", "250", "500"})
+    public int arcCount;
+
+    private ProgressTimeline mProgressTimeline;
+    private OpacityTimeline mOpacityTimeline;
+    private float[] mStartAngles;
+    private float[] mSweepAngles;
+    private long mPlayTime;
+
+    @Setup
+    public void setup() {
+        mProgressTimeline = new ProgressTimeline();
+        mProgressTimeline.setType(progressType);
+        mProgressTimeline.setArcCount(arcCount);
+        mProgressTimeline.setBaked(true);
+        mProgressTimeline.reset();
+        mOpacityTimeline = new OpacityTimeline();
+        mOpacityTimeline.setType(opacityType);
+        mOpacityTimeline.setArcCount(arcCount);
+        mOpacityTimeline.setBaked(true);
+        mOpacityTimeline.reset();
+        mStartAngles = new float[arcCount];
+        mSweepAngles = new float[arcCount];
+        mPlayTime = 0;
+    }
+
+    @Benchmark
+    public float frame() {
+        mPlayTime += FRAME_TIME;
+        mProgressTimeline.setCurrentPlayTime(mPlayTime);
+        mOpacityTimeline.setCurrentPlayTime(mPlayTime);
+        mProgressTimeline.computeArcAngles(arcCount, mStartAngles, mSweepAngles);
+        return mStartAngles[arcCount - 1] + mSweepAngles[arcCount - 1] + mOpacityTimeline.getOpacities()[arcCount - 1];
+    }
+}
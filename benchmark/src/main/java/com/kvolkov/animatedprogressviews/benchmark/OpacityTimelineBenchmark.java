@@ -0,0 +1,74 @@
+package com.kvolkov.animatedprogressviews.benchmark;
+
+import com.kvolkov.animatedprogressviews.animations.OpacityTimeline;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a single frame of opacity animation: evaluating opacities of all arcs, same as done by the view on each frame.
+ *
+ * Run with {@code -prof gc} to get bytes allocated per frame, see {@code gc.alloc.rate.norm}.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OpacityTimelineBenchmark {
+
+    /**
+     * Time between frames in [ms], 60 fps.
+     */
+    private static final long FRAME_TIME = 16;
+
+    /**
+     * Opacity animation type, see {@link OpacityTimeline}.
+     */
+    @Param({"0", "1", "2", "3", "4"})
+    public int type;
+
+    @Param({"1", "5", "15", "30"})
+    public int arcCount;
+
+    /**
+     * {@code true} for lookup tables of BAKED engine, {@code false} for TIMELINE engine.
+     */
+    @Param({"false", "true"})
+    public boolean baked;
+
+    private OpacityTimeline mTimeline;
+    private long mPlayTime;
+
+    @Setup
+    public void setup() {
+        mTimeline = new OpacityTimeline();
+        mTimeline.setType(type);
+        mTimeline.setArcCount(arcCount);
+        mTimeline.setBaked(baked);
+        mTimeline.reset();
+        mPlayTime = 0;
+    }
+
+    @Benchmark
+    public int frame() {
+        mPlayTime += FRAME_TIME;
+        mTimeline.setCurrentPlayTime(mPlayTime);
+        return mTimeline.getOpacities()[arcCount - 1];
+    }
+}
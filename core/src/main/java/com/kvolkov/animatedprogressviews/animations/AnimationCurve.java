@@ -0,0 +1,274 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+import java.util.Arrays;
+
+/**
+ * Immutable description of a single animated channel of an arc: evenly spaced keyframes played
+ * with an {@link Easing} over a duration, repeated infinitely.
+ *
+ * Value of the curve is a pure function of play time, so it can be evaluated for any moment
+ * without keeping any state, or used to setup a {@code ValueAnimator} playing exactly the same curve.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public final class AnimationCurve {
+
+    /**
+     * Repeat modes. Same values as in {@code ValueAnimator}.
+     */
+    public static final int RESTART = 1;
+    public static final int REVERSE = 2;
+
+    private final long mDuration;
+    private final int mRepeatMode;
+    private final int mEasing;
+    private final float mEasingFactor;
+    private final FastEasing mFastEasing;
+    private final float mScale;
+    private final float[] mKeyframes;
+    private final long mPhase;
+
+    /**
+     * Constructor.
+     *
+     * @param duration      Duration of single iteration in [ms].
+     * @param repeatMode    {@link #RESTART} or {@link #REVERSE}.
+     * @param easing        One of {@link Easing} types.
+     * @param easingFactor  Factor of the easing.
+     * @param scale         Multiplier applied to evaluated value.
+     * @param keyframes     Values to animate between, at least one.
+     */
+    public AnimationCurve(final long duration, final int repeatMode, final int easing, final float easingFactor,
+                          final float scale, final float... keyframes) {
+        if (keyframes == null || keyframes.length == 0) {
+            throw new IllegalArgumentException("At least one keyframe is required.");
+        }
+        mDuration = duration;
+        mRepeatMode = repeatMode;
+        mEasing = easing;
+        mEasingFactor = easingFactor;
+        mFastEasing = FastEasing.obtain(easing, easingFactor);
+        mScale = scale;
+        mKeyframes = keyframes.clone();
+        mPhase = 0;
+    }
+
+    private AnimationCurve(final AnimationCurve curve, final long phase) {
+        mDuration = curve.mDuration;
+        mRepeatMode = curve.mRepeatMode;
+        mEasing = curve.mEasing;
+        mEasingFactor = curve.mEasingFactor;
+        mFastEasing = curve.mFastEasing;
+        mScale = curve.mScale;
+        mKeyframes = curve.mKeyframes;
+        mPhase = phase;
+    }
+
+    /**
+     * Returns same curve shifted in time. Phase is respected by time based engines only, see {@link AnimationEngine}.
+     *
+     * @param phase Time in [ms] added to play time before evaluating the curve.
+     * @return  An {@link AnimationCurve}.
+     */
+    public AnimationCurve withPhase(final long phase) {
+        if (phase == mPhase) {
+            return this;
+        }
+        return new AnimationCurve(this, phase);
+    }
+
+    /**
+     * @return Time in [ms] added to play time before evaluating the curve.
+     */
+    public long getPhase() {
+        return mPhase;
+    }
+
+    /**
+     * @return Time in [ms] after which curve repeats itself. Twice the duration in case of {@link #REVERSE} repeat mode.
+     */
+    public long getPeriod() {
+        return mRepeatMode == REVERSE ? mDuration * 2 : mDuration;
+    }
+
+    /**
+     * Returns shortest period after which two periodic curves repeat together.
+     *
+     * @param period        Period in [ms], or 0 if not periodic.
+     * @param otherPeriod   Period in [ms], or 0 if not periodic.
+     * @return  Least common multiple of the periods, ignoring non periodic ones.
+     */
+    public static long getCommonPeriod(final long period, final long otherPeriod) {
+        if (period <= 0) {
+            return Math.max(otherPeriod, 0);
+        }
+        if (otherPeriod <= 0) {
+            return period;
+        }
+
+        long a = period, b = otherPeriod;
+        while (b != 0) {
+            final long r = a % b;
+            a = b;
+            b = r;
+        }
+        return period / a * otherPeriod;
+    }
+
+    /**
+     * @return Duration of single iteration in [ms].
+     */
+    public long getDuration() {
+        return mDuration;
+    }
+
+    /**
+     * @return {@link #RESTART} or {@link #REVERSE}.
+     */
+    public int getRepeatMode() {
+        return mRepeatMode;
+    }
+
+    /**
+     * @return One of {@link Easing} types.
+     */
+    public int getEasing() {
+        return mEasing;
+    }
+
+    /**
+     * @return Factor of the easing.
+     */
+    public float getEasingFactor() {
+        return mEasingFactor;
+    }
+
+    /**
+     * @return Shared {@link FastEasing} used to evaluate easing of the curve.
+     */
+    public FastEasing getFastEasing() {
+        return mFastEasing;
+    }
+
+    /**
+     * @return Multiplier applied to evaluated value.
+     */
+    public float getScale() {
+        return mScale;
+    }
+
+    /**
+     * @return A copy of keyframe values.
+     */
+    public float[] getKeyframes() {
+        return mKeyframes.clone();
+    }
+
+    /**
+     * Evaluates curve at specified play time.
+     *
+     * @param playTime  Time in [ms] since animation start.
+     * @return  A float.
+     */
+    public float getValue(final long playTime) {
+        if (mDuration <= 0) {
+            return getValueAtFraction(1.f);
+        }
+
+        final long time = playTime + mPhase > 0 ? playTime + mPhase : 0;
+        final long iteration = time / mDuration;
+        float fraction = (float) (time - iteration * mDuration) / mDuration;
+        if (mRepeatMode == REVERSE && (iteration & 1) == 1) {
+            fraction = 1.f - fraction;
+        }
+        return getValueAtFraction(fraction);
+    }
+
+    /**
+     * Evaluates curve at specified fraction of a period, see {@link #getPeriod()}. Phase is ignored.
+     *
+     * @param periodFraction    A float in range [0..1].
+     * @return  A float.
+     */
+    public float getValueAtPeriodFraction(final float periodFraction) {
+        if (mRepeatMode == REVERSE) {
+            return getValueAtFraction(periodFraction < 0.5f ? periodFraction * 2.f : 2.f - periodFraction * 2.f);
+        }
+        return getValueAtFraction(periodFraction);
+    }
+
+    /**
+     * Evaluates curve at specified fraction of an iteration, before easing is applied.
+     *
+     * @param fraction  A float in range [0..1].
+     * @return  A float.
+     */
+    public float getValueAtFraction(final float fraction) {
+        return evaluateKeyframes(mFastEasing.getInterpolation(fraction)) * mScale;
+    }
+
+    /**
+     * Evaluates curve at a fraction with easing already applied, e.g. animated fraction of an animator playing this curve.
+     *
+     * @param interpolatedFraction  Eased fraction of an iteration, might be out of [0..1] range.
+     * @return  A float.
+     */
+    public float getValueAtInterpolatedFraction(final float interpolatedFraction) {
+        return evaluateKeyframes(interpolatedFraction) * mScale;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AnimationCurve)) {
+            return false;
+        }
+
+        final AnimationCurve curve = (AnimationCurve) o;
+        return mDuration == curve.mDuration
+                && mRepeatMode == curve.mRepeatMode
+                && mEasing == curve.mEasing
+                && Float.compare(mEasingFactor, curve.mEasingFactor) == 0
+                && Float.compare(mScale, curve.mScale) == 0
+                && mPhase == curve.mPhase
+                && Arrays.equals(mKeyframes, curve.mKeyframes);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (mDuration ^ (mDuration >>> 32));
+        result = 31 * result + mRepeatMode;
+        result = 31 * result + mEasing;
+        result = 31 * result + Float.floatToIntBits(mEasingFactor);
+        result = 31 * result + Float.floatToIntBits(mScale);
+        result = 31 * result + (int) (mPhase ^ (mPhase >>> 32));
+        result = 31 * result + Arrays.hashCode(mKeyframes);
+        return result;
+    }
+
+    /**
+     * Linear interpolation between evenly spaced keyframes. Eased fractions out of [0..1]
+     * are extrapolated from the first or the last interval, same as framework keyframe sets do.
+     */
+    private float evaluateKeyframes(final float fraction) {
+        final int lastIndex = mKeyframes.length - 1;
+        if (lastIndex == 0) {
+            return mKeyframes[0];
+        }
+
+        final float position = fraction * lastIndex;
+        int interval;
+        if (fraction <= 0.f) {
+            interval = 0;
+        } else if (fraction >= 1.f) {
+            interval = lastIndex - 1;
+        } else {
+            interval = Math.min((int) position, lastIndex - 1);
+        }
+        final float intervalFraction = position - interval;
+        return mKeyframes[interval] + intervalFraction * (mKeyframes[interval + 1] - mKeyframes[interval]);
+    }
+}
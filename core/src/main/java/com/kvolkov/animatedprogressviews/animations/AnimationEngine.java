@@ -0,0 +1,45 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+/**
+ * Animation engine types, used by {@link ProgressTimeline} and {@link OpacityTimeline} based animations.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public final class AnimationEngine {
+
+    /**
+     * Each arc channel is played by it's own {@code ValueAnimator}.
+     */
+    public static final int ANIMATORS = 0;
+
+    /**
+     * Each arc channel is evaluated as a function of play time, set with {@code setCurrentPlayTime()} once per frame.
+     * No animators are created.
+     */
+    public static final int TIMELINE = 1;
+
+    /**
+     * Same as {@link #TIMELINE}, but each curve is sampled once into a lookup table shared by all arcs and views
+     * with the same curve, see {@link CurveTableCache}. Each frame costs a few array reads per arc.
+     */
+    public static final int BAKED = 2;
+
+    private AnimationEngine() {
+    }
+
+    /**
+     * @param engine    One of engine values.
+     * @return  Same value in case it's a known engine, {@link #ANIMATORS} otherwise.
+     */
+    static int sanitize(final int engine) {
+        switch (engine) {
+            case TIMELINE:
+            case BAKED:
+                return engine;
+
+            default:
+                return ANIMATORS;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+/**
+ * Progress animation of arcs. Provides alpha and beta angle curves of each arc, and maps animated
+ * alpha and beta angles of all arcs to their start and sweep angles once per frame.
+ *
+ * Built in animations are available from {@link ArcAnimations} by progress animation type, custom ones can be
+ * registered there with a type of their own.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public interface ArcAnimation {
+
+    /**
+     * @return Initial alpha angle value of all arcs.
+     */
+    float getInitialAlpha();
+
+    /**
+     * @return Initial beta angle value of all arcs.
+     */
+    float getInitialBeta();
+
+    /**
+     * @return Min alpha angle change worth applying, for animators updating values one by one.
+     */
+    float getAlphaUpdateThreshold();
+
+    /**
+     * @return Min beta angle change worth applying, for animators updating values one by one.
+     */
+    float getBetaUpdateThreshold();
+
+    /**
+     * Creates alpha angle curve of an arc.
+     *
+     * @param index     Index of arc.
+     * @param arcCount  Number of arcs.
+     * @return  An {@link AnimationCurve}, or {@code null} in case angles are not animated.
+     */
+    AnimationCurve createAlphaCurve(int index, int arcCount);
+
+    /**
+     * Creates beta angle curve of an arc.
+     *
+     * @param index     Index of arc.
+     * @param arcCount  Number of arcs.
+     * @return  An {@link AnimationCurve}, or {@code null} in case angles are not animated.
+     */
+    AnimationCurve createBetaCurve(int index, int arcCount);
+
+    /**
+     * @return {@code true} in case curves of an arc depend on number of arcs, so curves of all arcs should be recreated
+     *          once number of arcs changes, instead of reusing curves of remaining arcs.
+     */
+    boolean dependsOnArcCount();
+
+    /**
+     * Maps alpha and beta angles of all arcs to start and sweep angles. Called on every frame, so should not allocate.
+     *
+     * @param arcCount      Number of arcs.
+     * @param alphaAngles   Animated alpha angles, at least {@code arcCount} in size.
+     * @param betaAngles    Animated beta angles, at least {@code arcCount} in size.
+     * @param startAngles   Array to fill with start angles, at least {@code arcCount} in size.
+     * @param sweepAngles   Array to fill with sweep angles, at least {@code arcCount} in size.
+     */
+    void computeArcAngles(int arcCount, float[] alphaAngles, float[] betaAngles, float[] startAngles, float[] sweepAngles);
+}
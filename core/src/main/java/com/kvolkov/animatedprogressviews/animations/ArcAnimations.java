@@ -0,0 +1,448 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Registry of {@link ArcAnimation}'s by progress animation type, holding built in animations
+ * for all of {@link ProgressTimeline} types.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public final class ArcAnimations {
+
+    private static final Map<Integer, ArcAnimation> sAnimations = new HashMap<>();
+
+    static {
+        sAnimations.put(ProgressTimeline.OPACITY_ANIMATION_TEST_STUB, new TestStub());
+        sAnimations.put(ProgressTimeline.RACE_CONDITION, new RaceCondition());
+        sAnimations.put(ProgressTimeline.SWIRLY, new Swirly());
+        sAnimations.put(ProgressTimeline.WHIRPOOL, new Whirpool());
+        sAnimations.put(ProgressTimeline.HYPERLOOP, new Hyperloop());
+        sAnimations.put(ProgressTimeline.METRONOME_1, new Metronome12(false));
+        sAnimations.put(ProgressTimeline.METRONOME_2, new Metronome12(true));
+        sAnimations.put(ProgressTimeline.METRONOME_3, new Metronome34(10.f, true));
+        sAnimations.put(ProgressTimeline.METRONOME_4, new Metronome34(20.f, false));
+        sAnimations.put(ProgressTimeline.BUTTERFLY_KNIFE, new ButterflyKnife());
+        sAnimations.put(ProgressTimeline.RAINBOW, new RainbowOrGotcha(1000, 180.f));
+        sAnimations.put(ProgressTimeline.GOTCHA, new RainbowOrGotcha(1500, 360.f));
+    }
+
+    private ArcAnimations() {
+    }
+
+    /**
+     * Registers custom animation, so it can be set by type like built in ones.
+     *
+     * @param type      Progress animation type, not used by any registered animation yet.
+     * @param animation An {@link ArcAnimation}.
+     */
+    public static synchronized void register(final int type, final ArcAnimation animation) {
+        if (animation == null) {
+            throw new IllegalArgumentException("Animation should not be null.");
+        }
+        if (sAnimations.containsKey(type)) {
+            throw new IllegalArgumentException("Progress animation type " + type + " is already registered.");
+        }
+
+        sAnimations.put(type, animation);
+    }
+
+    /**
+     * @param type  Progress animation type.
+     * @return  Registered {@link ArcAnimation}, or {@code null} in case there is none for the type.
+     */
+    public static synchronized ArcAnimation get(final int type) {
+        return sAnimations.get(type);
+    }
+
+    /**
+     * Common parameters of built in animations.
+     */
+    private abstract static class BuiltInAnimation implements ArcAnimation {
+
+        private static final float INITIAL_ALPHA = 270.f;
+        private static final float INITIAL_BETA = 0.1f;
+
+        final long mDuration;
+        final float mPeakBeta;
+        private final float mAlphaUpdateThreshold;
+        private final float mBetaUpdateThreshold;
+
+        BuiltInAnimation(long duration, float peakBeta, float alphaUpdateThreshold, float betaUpdateThreshold) {
+            mDuration = duration;
+            mPeakBeta = peakBeta;
+            mAlphaUpdateThreshold = alphaUpdateThreshold;
+            mBetaUpdateThreshold = betaUpdateThreshold;
+        }
+
+        /**
+         * Number of arcs per arc factors of built in animations are designed for. Further arcs repeat the pattern,
+         * since factors extrapolated to hundreds of arcs overflow easing functions.
+         */
+        static final int PATTERN_ARC_COUNT = 30;
+
+        /**
+         * @param index Index of arc.
+         * @return  Index of arc within the pattern, same as {@code index} for up to {@link #PATTERN_ARC_COUNT} arcs.
+         */
+        static int getPatternIndex(int index) {
+            return index % PATTERN_ARC_COUNT;
+        }
+
+        @Override
+        public float getInitialAlpha() {
+            return INITIAL_ALPHA;
+        }
+
+        @Override
+        public boolean dependsOnArcCount() {
+            return false;
+        }
+
+        @Override
+        public float getInitialBeta() {
+            return INITIAL_BETA;
+        }
+
+        @Override
+        public float getAlphaUpdateThreshold() {
+            return mAlphaUpdateThreshold;
+        }
+
+        @Override
+        public float getBetaUpdateThreshold() {
+            return mBetaUpdateThreshold;
+        }
+
+        /**
+         * @return Alpha angle keyframes for {@code turns} full turns from initial alpha angle.
+         */
+        static float[] getTurnKeyframes(int turns) {
+            final float[] keyframes = new float[turns + 1];
+            for (int i = 0; i <= turns; ++i) {
+                keyframes[i] = 360.f * i + INITIAL_ALPHA;
+            }
+            return keyframes;
+        }
+    }
+
+    /**
+     * Ignores progress for testing opacity animations, all arcs are full circles.
+     */
+    private static final class TestStub implements ArcAnimation {
+
+        @Override
+        public float getInitialAlpha() {
+            return 0.f;
+        }
+
+        @Override
+        public float getInitialBeta() {
+            return 0.f;
+        }
+
+        @Override
+        public float getAlphaUpdateThreshold() {
+            return 0.f;
+        }
+
+        @Override
+        public float getBetaUpdateThreshold() {
+            return 0.f;
+        }
+
+        @Override
+        public boolean dependsOnArcCount() {
+            return false;
+        }
+
+        @Override
+        public AnimationCurve createAlphaCurve(int index, int arcCount) {
+            return null;
+        }
+
+        @Override
+        public AnimationCurve createBetaCurve(int index, int arcCount) {
+            return null;
+        }
+
+        @Override
+        public void computeArcAngles(int arcCount, float[] alphaAngles, float[] betaAngles, float[] startAngles, float[] sweepAngles) {
+            for (int i = 0; i < arcCount; ++i) {
+                startAngles[i] = 0;
+                sweepAngles[i] = 360;
+            }
+        }
+    }
+
+    /**
+     * Animations with alpha angle as start angle and beta angle as sweep angle.
+     */
+    private abstract static class RotatingAnimation extends BuiltInAnimation {
+
+        RotatingAnimation(long duration, float peakBeta, float alphaUpdateThreshold, float betaUpdateThreshold) {
+            super(duration, peakBeta, alphaUpdateThreshold, betaUpdateThreshold);
+        }
+
+        @Override
+        public void computeArcAngles(int arcCount, float[] alphaAngles, float[] betaAngles, float[] startAngles, float[] sweepAngles) {
+            System.arraycopy(alphaAngles, 0, startAngles, 0, arcCount);
+            System.arraycopy(betaAngles, 0, sweepAngles, 0, arcCount);
+        }
+    }
+
+    private static final class RaceCondition extends RotatingAnimation {
+
+        RaceCondition() {
+            super(3000, 180.f, 0.5f, 0.1f);
+        }
+
+        @Override
+        public AnimationCurve createAlphaCurve(int index, int arcCount) {
+            final int patternIndex = getPatternIndex(index);
+            final float factor = 0.05f * (patternIndex + 1);
+            final float alphaDecelerateFactor = (patternIndex % 2 == 0) ? 1.f + factor : 1.f - factor;
+            return new AnimationCurve(mDuration, AnimationCurve.RESTART, Easing.DECELERATE, alphaDecelerateFactor, 1.f,
+                    getTurnKeyframes(3));
+        }
+
+        @Override
+        public AnimationCurve createBetaCurve(int index, int arcCount) {
+            final int patternIndex = getPatternIndex(index);
+            final float factor = 0.05f * (patternIndex + 1);
+            final float betaDecelerateFactor = (patternIndex % 2 == 0) ? 1.f + factor : 1.f - factor;
+            return new AnimationCurve(mDuration, AnimationCurve.RESTART, Easing.DECELERATE, betaDecelerateFactor, 1.f,
+                    getInitialBeta(), mPeakBeta, getInitialBeta());
+        }
+    }
+
+    private static final class Swirly extends RotatingAnimation {
+
+        Swirly() {
+            super(6000, 180.f, 1.f, 0.1f);
+        }
+
+        @Override
+        public AnimationCurve createAlphaCurve(int index, int arcCount) {
+            final int patternIndex = getPatternIndex(index);
+            final float randomAlpha = 360.f;
+            final float alphaDecelerateFactor = 1.f - 0.05f * patternIndex;
+            return new AnimationCurve(mDuration, AnimationCurve.REVERSE, Easing.DECELERATE, alphaDecelerateFactor, 1.f,
+                    getInitialAlpha(),
+                    randomAlpha + getInitialAlpha(),
+                    randomAlpha * 2.f + getInitialAlpha(),
+                    randomAlpha * 3.f + getInitialAlpha(),
+                    randomAlpha * 3.5f + getInitialAlpha());
+        }
+
+        @Override
+        public AnimationCurve createBetaCurve(int index, int arcCount) {
+            final int patternIndex = getPatternIndex(index);
+            final float betaDecelerateFactor = 1.f + 0.05f * patternIndex;
+            return new AnimationCurve(mDuration, AnimationCurve.REVERSE, Easing.DECELERATE, betaDecelerateFactor, 1.f,
+                    getInitialBeta(), mPeakBeta, getInitialBeta());
+        }
+    }
+
+    private static final class Whirpool extends RotatingAnimation {
+
+        Whirpool() {
+            super(5000, 180.f, 0.5f, 0.1f);
+        }
+
+        @Override
+        public AnimationCurve createAlphaCurve(int index, int arcCount) {
+            final int patternIndex = getPatternIndex(index);
+            final float alphaDecelerateFactor = 1.f + 0.1f * (patternIndex + 1);
+            return new AnimationCurve(mDuration, AnimationCurve.RESTART, Easing.DECELERATE, alphaDecelerateFactor, 1.f,
+                    getTurnKeyframes(6));
+        }
+
+        @Override
+        public AnimationCurve createBetaCurve(int index, int arcCount) {
+            final int patternIndex = getPatternIndex(index);
+            final float betaDecelerateFactor = 1.f - 0.05f * (patternIndex + 1);
+            return new AnimationCurve(mDuration, AnimationCurve.RESTART, Easing.DECELERATE, betaDecelerateFactor, 1.f,
+                    getInitialBeta(), mPeakBeta, getInitialBeta());
+        }
+    }
+
+    private static final class Hyperloop extends RotatingAnimation {
+
+        Hyperloop() {
+            super(5000, 90.f, 0.5f, 0.1f);
+        }
+
+        @Override
+        public boolean dependsOnArcCount() {
+            // speed of arcs is scaled by number of arcs
+            return true;
+        }
+
+        @Override
+        public AnimationCurve createAlphaCurve(int index, int arcCount) {
+            final int patternIndex = getPatternIndex(index);
+            final float arcCountScaleFactor = 5.f / Math.min(arcCount, PATTERN_ARC_COUNT);
+            final float randomAlpha = 360.f;
+            final float alphaAccelerateFactor = 1.f - arcCountScaleFactor * 0.1f * (patternIndex + 1.f) * (patternIndex + 1.f);
+            return new AnimationCurve(mDuration, AnimationCurve.RESTART, Easing.ACCELERATE, alphaAccelerateFactor, 1.f,
+                    getInitialAlpha(),
+                    randomAlpha - getInitialAlpha(),
+                    randomAlpha * 2.f + getInitialAlpha(),
+                    randomAlpha * 3.f - getInitialAlpha(),
+                    randomAlpha * 4.f + getInitialAlpha());
+        }
+
+        @Override
+        public AnimationCurve createBetaCurve(int index, int arcCount) {
+            final int patternIndex = getPatternIndex(index);
+            final float arcCountScaleFactor = 5.f / Math.min(arcCount, PATTERN_ARC_COUNT);
+            final float betaAccelerateFactor = 1.f - arcCountScaleFactor *  0.1f * ( (float) (patternIndex + 1) * (patternIndex + 1) );
+            final float hyperloop = 1.f + 0.01f * (patternIndex + 1.f);
+            return new AnimationCurve(mDuration, AnimationCurve.REVERSE, Easing.ACCELERATE, betaAccelerateFactor, hyperloop,
+                    getInitialBeta(), mPeakBeta, getInitialBeta());
+        }
+    }
+
+    /**
+     * METRONOME_1 and METRONOME_2, alpha angle is an offset of start angle from initial alpha angle.
+     */
+    private static final class Metronome12 extends BuiltInAnimation {
+
+        private final boolean mSwinging;
+
+        Metronome12(boolean swinging) {
+            super(1000, 60.f, 1.f, 0.5f);
+            mSwinging = swinging;
+        }
+
+        @Override
+        public AnimationCurve createAlphaCurve(int index, int arcCount) {
+            if (!mSwinging) {
+                return new AnimationCurve(mDuration, AnimationCurve.REVERSE, Easing.ACCELERATE_DECELERATE, 1.f, 1.f,
+                        -0.f, 0.f);
+            }
+            final float randomAlpha = 5.f;
+            return new AnimationCurve(mDuration, AnimationCurve.REVERSE, Easing.ACCELERATE_DECELERATE, 1.f, 1.f,
+                    -randomAlpha, randomAlpha, -randomAlpha);
+        }
+
+        @Override
+        public AnimationCurve createBetaCurve(int index, int arcCount) {
+            return new AnimationCurve(mDuration, AnimationCurve.REVERSE, Easing.ACCELERATE_DECELERATE, 1.f, 1.f,
+                    mPeakBeta, -mPeakBeta);
+        }
+
+        @Override
+        public void computeArcAngles(int arcCount, float[] alphaAngles, float[] betaAngles, float[] startAngles, float[] sweepAngles) {
+            final float initialAlpha = getInitialAlpha();
+            for (int i = 0; i < arcCount; ++i) {
+                startAngles[i] = initialAlpha + alphaAngles[i];
+                sweepAngles[i] = betaAngles[i];
+            }
+        }
+    }
+
+    /**
+     * Animations with beta angle as an offset of start angle back from initial alpha angle, and alpha angle as sweep angle.
+     */
+    private abstract static class SwingingAnimation extends BuiltInAnimation {
+
+        SwingingAnimation(long duration, float peakBeta) {
+            super(duration, peakBeta, 0.f, 0.f);
+        }
+
+        @Override
+        public AnimationCurve createBetaCurve(int index, int arcCount) {
+            return new AnimationCurve(mDuration, AnimationCurve.REVERSE, Easing.ACCELERATE_DECELERATE, 1.f, 1.f,
+                    mPeakBeta, -mPeakBeta);
+        }
+
+        @Override
+        public void computeArcAngles(int arcCount, float[] alphaAngles, float[] betaAngles, float[] startAngles, float[] sweepAngles) {
+            final float initialAlpha = getInitialAlpha();
+            for (int i = 0; i < arcCount; ++i) {
+                startAngles[i] = initialAlpha - betaAngles[i];
+                sweepAngles[i] = alphaAngles[i];
+            }
+        }
+    }
+
+    /**
+     * METRONOME_3 and METRONOME_4.
+     */
+    private static final class Metronome34 extends SwingingAnimation {
+
+        private final float mSlownessDegree;
+        private final boolean mDoubleSwing;
+
+        Metronome34(float slownessDegree, boolean doubleSwing) {
+            super(1000, 60.f);
+            mSlownessDegree = slownessDegree;
+            mDoubleSwing = doubleSwing;
+        }
+
+        @Override
+        public AnimationCurve createAlphaCurve(int index, int arcCount) {
+            if (mDoubleSwing) {
+                return new AnimationCurve(mDuration, AnimationCurve.REVERSE, Easing.ACCELERATE_DECELERATE, 1.f, 1.f,
+                        mSlownessDegree, getInitialBeta(), mSlownessDegree, getInitialBeta(), mSlownessDegree);
+            }
+            return new AnimationCurve(mDuration, AnimationCurve.REVERSE, Easing.ACCELERATE_DECELERATE, 1.f, 1.f,
+                    getInitialBeta(), mSlownessDegree, getInitialBeta());
+        }
+    }
+
+    private static final class ButterflyKnife extends SwingingAnimation {
+
+        ButterflyKnife() {
+            super(1000, 270.f);
+        }
+
+        @Override
+        public AnimationCurve createAlphaCurve(int index, int arcCount) {
+            final int patternIndex = getPatternIndex(index);
+            final float alphaAccelerateFactor = 1.f + 0.05f * ( patternIndex * patternIndex );
+            final float slownessDegree = 20.f;
+            return new AnimationCurve(mDuration, AnimationCurve.REVERSE, Easing.ACCELERATE, alphaAccelerateFactor, 1.f,
+                    getInitialBeta(), slownessDegree, getInitialBeta());
+        }
+    }
+
+    /**
+     * RAINBOW and GOTCHA, beta angle is an offset of start angle from initial alpha angle, and alpha angle is
+     * a sweep angle in opposite direction.
+     */
+    private static final class RainbowOrGotcha extends BuiltInAnimation {
+
+        private final float mSlownessDegree;
+
+        RainbowOrGotcha(long duration, float slownessDegree) {
+            super(duration, 360.f, 0.f, 0.f);
+            mSlownessDegree = slownessDegree;
+        }
+
+        @Override
+        public AnimationCurve createAlphaCurve(int index, int arcCount) {
+            return new AnimationCurve(mDuration, AnimationCurve.REVERSE, Easing.ACCELERATE_DECELERATE, 1.f, 1.f,
+                    getInitialBeta(), mSlownessDegree);
+        }
+
+        @Override
+        public AnimationCurve createBetaCurve(int index, int arcCount) {
+            return new AnimationCurve(mDuration, AnimationCurve.RESTART, Easing.LINEAR, 1.f, 1.f,
+                    0.f, mPeakBeta);
+        }
+
+        @Override
+        public void computeArcAngles(int arcCount, float[] alphaAngles, float[] betaAngles, float[] startAngles, float[] sweepAngles) {
+            final float initialAlpha = getInitialAlpha();
+            for (int i = 0; i < arcCount; ++i) {
+                startAngles[i] = initialAlpha + betaAngles[i];
+                sweepAngles[i] = -alphaAngles[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+import java.util.Arrays;
+
+/**
+ * Registered {@link FrameClock.Callback}'s with frame dispatch shared by {@link FrameClock} implementations.
+ * Callbacks might register or unregister while being ticked without any allocations per frame: during dispatch
+ * removed callbacks only leave an empty slot, and slots are compacted once after it. Callback unregistered during
+ * a frame is not ticked anymore in it, and callback registered during a frame is ticked starting from next one.
+ *
+ * Not thread safe, should be used from the thread frames are dispatched on.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public final class CallbackList {
+
+    private FrameClock.Callback[] mCallbacks = new FrameClock.Callback[8];
+    /**
+     * Number of used slots, including empty ones left by callbacks removed during dispatch.
+     */
+    private int mSlotCount = 0;
+    private int mSize = 0;
+    private int mDispatchDepth = 0;
+
+    /**
+     * Adds callback. Adding same callback twice has no effect.
+     *
+     * @param callback  A {@link FrameClock.Callback}.
+     */
+    public void add(final FrameClock.Callback callback) {
+        if (callback == null) {
+            throw new IllegalArgumentException("Callback should not be null.");
+        }
+        if (indexOf(callback) >= 0) {
+            return;
+        }
+
+        if (mSlotCount == mCallbacks.length) {
+            mCallbacks = Arrays.copyOf(mCallbacks, mCallbacks.length * 2);
+        }
+        mCallbacks[mSlotCount++] = callback;
+        ++mSize;
+    }
+
+    /**
+     * @param callback  A {@link FrameClock.Callback}.
+     */
+    public void remove(final FrameClock.Callback callback) {
+        final int index = indexOf(callback);
+        if (index >= 0) {
+            removeAt(index);
+        }
+    }
+
+    /**
+     * @param callback  A {@link FrameClock.Callback}.
+     * @return  {@code true} in case callback was added.
+     */
+    public boolean contains(final FrameClock.Callback callback) {
+        return indexOf(callback) >= 0;
+    }
+
+    /**
+     * @return Number of callbacks.
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * @return {@code true} in case there are no callbacks.
+     */
+    public boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    /**
+     * Ticks all callbacks, and removes ones which returned {@code false}.
+     *
+     * @param frameTimeNanos    Frame time in [ns].
+     */
+    public void dispatch(final long frameTimeNanos) {
+        // slots keep their indices until dispatch is over, callbacks added meanwhile go after the ticked ones
+        final int count = mSlotCount;
+        ++mDispatchDepth;
+        try {
+            for (int i = 0; i < count; ++i) {
+                final FrameClock.Callback callback = mCallbacks[i];
+                if (callback != null && !callback.onFrame(frameTimeNanos)) {
+                    if (mCallbacks[i] == callback) {
+                        removeAt(i);
+                    } else {
+                        // callback re-registered itself while being ticked
+                        remove(callback);
+                    }
+                }
+            }
+        } finally {
+            if (--mDispatchDepth == 0 && mSize != mSlotCount) {
+                compact();
+            }
+        }
+    }
+
+    private int indexOf(final FrameClock.Callback callback) {
+        if (callback == null) {
+            return -1;
+        }
+        for (int i = 0; i < mSlotCount; ++i) {
+            if (mCallbacks[i] == callback) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void removeAt(final int index) {
+        --mSize;
+        if (mDispatchDepth > 0) {
+            mCallbacks[index] = null;
+        } else {
+            System.arraycopy(mCallbacks, index + 1, mCallbacks, index, mSlotCount - index - 1);
+            mCallbacks[--mSlotCount] = null;
+        }
+    }
+
+    /**
+     * Drops empty slots left by callbacks removed during dispatch, keeping order of remaining ones.
+     */
+    private void compact() {
+        int size = 0;
+        for (int i = 0; i < mSlotCount; ++i) {
+            final FrameClock.Callback callback = mCallbacks[i];
+            if (callback != null) {
+                mCallbacks[size++] = callback;
+            }
+        }
+        Arrays.fill(mCallbacks, size, mSlotCount, null);
+        mSlotCount = size;
+    }
+}
@@ -0,0 +1,107 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+/**
+ * Lookup table holding one period of an {@link AnimationCurve} sampled at a fixed rate.
+ * Values between samples are linearly interpolated, so evaluating a curve costs two array reads
+ * instead of easing and keyframe math.
+ *
+ * Phase of the curve is not baked into the table, so curves that differ only by phase can share a table.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public final class CurveTable {
+
+    private final long mPeriod;
+    private final int mIntervals;
+    private final float[] mSamples;
+
+    /**
+     * Constructor. Samples the curve, so might be expensive.
+     *
+     * @param curve         An {@link AnimationCurve} to sample.
+     * @param sampleRate    Number of samples per second, at least 1.
+     */
+    public CurveTable(final AnimationCurve curve, final int sampleRate) {
+        mPeriod = curve.getPeriod();
+        if (mPeriod <= 0) {
+            mIntervals = 0;
+            mSamples = new float[] { curve.getValueAtFraction(1.f) };
+            return;
+        }
+
+        mIntervals = Math.max(2, (int) Math.ceil(mPeriod * Math.max(1, sampleRate) / 1000.0));
+        mSamples = new float[mIntervals + 1];
+        for (int i = 0; i <= mIntervals; ++i) {
+            mSamples[i] = curve.getValueAtPeriodFraction((float) i / mIntervals);
+        }
+    }
+
+    /**
+     * Constructor for samples taken beforehand, e.g. generated at build time.
+     *
+     * @param curve     An {@link AnimationCurve} the samples were taken of.
+     * @param samples   One period of the curve sampled at equal intervals, see {@link #getSamples()}.
+     */
+    public CurveTable(final AnimationCurve curve, final float[] samples) {
+        mPeriod = curve.getPeriod();
+        mIntervals = mPeriod <= 0 ? 0 : samples.length - 1;
+        if (samples.length < (mIntervals == 0 ? 1 : 3)) {
+            throw new IllegalArgumentException("Not enough samples: " + samples.length);
+        }
+        mSamples = samples.clone();
+    }
+
+    /**
+     * Returns sampled value of the curve.
+     *
+     * @param playTime  Time in [ms] since animation start, including phase of the curve.
+     * @return  A float.
+     */
+    public float getValue(final long playTime) {
+        if (mIntervals == 0) {
+            return mSamples[0];
+        }
+
+        final long time = playTime > 0 ? playTime % mPeriod : 0;
+        final float position = (float) time * mIntervals / mPeriod;
+        final int index = (int) position;
+        final float fraction = position - index;
+        return mSamples[index] + fraction * (mSamples[index + 1] - mSamples[index]);
+    }
+
+    /**
+     * @return Copy of samples, first and last ones are at the start and the end of a period.
+     */
+    public float[] getSamples() {
+        return mSamples.clone();
+    }
+
+    /**
+     * @return Samples themselves, not a copy, for {@link PackedCurves}. Should never be modified.
+     */
+    float[] getSampleArray() {
+        return mSamples;
+    }
+
+    /**
+     * @return Number of intervals between samples, 0 in case curve is constant.
+     */
+    int getIntervals() {
+        return mIntervals;
+    }
+
+    /**
+     * @return Period of the curve in [ms].
+     */
+    long getPeriod() {
+        return mPeriod;
+    }
+
+    /**
+     * @return Memory used by samples in bytes.
+     */
+    public int getByteCount() {
+        return mSamples.length * 4;
+    }
+}
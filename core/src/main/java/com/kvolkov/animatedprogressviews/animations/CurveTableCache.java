@@ -0,0 +1,140 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process-wide cache of {@link CurveTable}'s used by {@link AnimationEngine#BAKED} engine.
+ * Tables are keyed by curve shape, so all arcs and views with equal curves (phase ignored) share one table.
+ * Least recently used tables are evicted to keep cached tables within memory bound.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public final class CurveTableCache {
+
+    public static final int DEFAULT_SAMPLE_RATE = 120;
+    public static final long DEFAULT_MAX_BYTES = 1024 * 1024;
+
+    private static int sSampleRate = DEFAULT_SAMPLE_RATE;
+    private static long sMaxBytes = DEFAULT_MAX_BYTES;
+    private static long sBytes = 0;
+    private static final Map<AnimationCurve, CurveTable> sTables = new LinkedHashMap<>(16, 0.75f, true);
+
+    private CurveTableCache() {
+    }
+
+    /**
+     * Set sample density of tables baked from now on. Clears the cache.
+     *
+     * @param samplesPerSecond  Number of samples per second of a curve, at least 1.
+     */
+    public static synchronized void setSampleRate(final int samplesPerSecond) {
+        if (samplesPerSecond < 1) {
+            throw new IllegalArgumentException("Should be at least 1.");
+        }
+
+        sSampleRate = samplesPerSecond;
+        clear();
+    }
+
+    /**
+     * @return Number of samples per second of a curve.
+     */
+    public static synchronized int getSampleRate() {
+        return sSampleRate;
+    }
+
+    /**
+     * Set memory bound for cached tables. Evicts least recently used tables to fit in.
+     *
+     * @param maxBytes  Max number of bytes used by cached tables.
+     */
+    public static synchronized void setMaxBytes(final long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Should not be negative.");
+        }
+
+        sMaxBytes = maxBytes;
+        trimToSize(sMaxBytes);
+    }
+
+    /**
+     * @return Max number of bytes used by cached tables.
+     */
+    public static synchronized long getMaxBytes() {
+        return sMaxBytes;
+    }
+
+    /**
+     * @return Number of bytes used by cached tables.
+     */
+    public static synchronized long getByteCount() {
+        return sBytes;
+    }
+
+    /**
+     * Removes all cached tables. Tables already obtained remain valid.
+     */
+    public static synchronized void clear() {
+        sTables.clear();
+        sBytes = 0;
+    }
+
+    /**
+     * Returns cached table for the curve, baking it if needed.
+     *
+     * @param curve An {@link AnimationCurve}.
+     * @return  A {@link CurveTable}, or {@code null} in case it doesn't fit into memory bound,
+     *          so curve should be evaluated directly.
+     */
+    public static synchronized CurveTable obtain(final AnimationCurve curve) {
+        final AnimationCurve key = curve.withPhase(0);
+        CurveTable table = sTables.get(key);
+        if (table != null) {
+            return table;
+        }
+
+        table = new CurveTable(key, sSampleRate);
+        final int bytes = table.getByteCount();
+        if (bytes > sMaxBytes) {
+            return null;
+        }
+
+        trimToSize(sMaxBytes - bytes);
+        sTables.put(key, table);
+        sBytes += bytes;
+        return table;
+    }
+
+    /**
+     * Adds table taken beforehand, e.g. generated at build time, so it doesn't have to be baked at runtime.
+     * Ignored in case it doesn't fit into memory bound. Note that {@link #setSampleRate(int)} clears such tables too.
+     *
+     * @param curve An {@link AnimationCurve}.
+     * @param table A {@link CurveTable} of the curve.
+     */
+    public static synchronized void put(final AnimationCurve curve, final CurveTable table) {
+        final int bytes = table.getByteCount();
+        if (bytes > sMaxBytes) {
+            return;
+        }
+
+        final CurveTable previous = sTables.remove(curve.withPhase(0));
+        if (previous != null) {
+            sBytes -= previous.getByteCount();
+        }
+        trimToSize(sMaxBytes - bytes);
+        sTables.put(curve.withPhase(0), table);
+        sBytes += bytes;
+    }
+
+    private static void trimToSize(final long maxBytes) {
+        final Iterator<CurveTable> iterator = sTables.values().iterator();
+        while (sBytes > maxBytes && iterator.hasNext()) {
+            sBytes -= iterator.next().getByteCount();
+            iterator.remove();
+        }
+    }
+}
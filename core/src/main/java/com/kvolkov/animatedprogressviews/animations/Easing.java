@@ -0,0 +1,62 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+/**
+ * Closed-form easing functions, reproducing the math of corresponding framework interpolators exactly.
+ *
+ * {@link AnimationCurve} doesn't evaluate them directly on every frame, but through {@link FastEasing},
+ * which samples {@code Math.pow} and {@code Math.cos} based ones into lookup tables, so values of time based
+ * engines differ from ones of a {@code ValueAnimator} by at most {@link FastEasing#MAX_ERROR}.
+ * Functions here are the reference {@link FastEasing} is sampled from and verified against.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public final class Easing {
+
+    /**
+     * Easing types.
+     */
+    public static final int LINEAR = 0;
+    public static final int ACCELERATE = 1;
+    public static final int DECELERATE = 2;
+    public static final int ACCELERATE_DECELERATE = 3;
+    public static final int ANTICIPATE = 4;
+
+    private Easing() {
+    }
+
+    /**
+     * Evaluates easing function.
+     *
+     * @param easing    One of easing types defined here.
+     * @param factor    Factor of the easing function. Tension in case of {@link #ANTICIPATE}, ignored by
+     *                  {@link #LINEAR} and {@link #ACCELERATE_DECELERATE}.
+     * @param input     Fraction of the animation in range [0..1].
+     * @return  Interpolated fraction. Might be out of [0..1] range for some of easings.
+     */
+    public static float apply(final int easing, final float factor, final float input) {
+        switch (easing) {
+            case ACCELERATE:
+                if (factor == 1.f) {
+                    return input * input;
+                }
+                return (float) Math.pow(input, 2.f * factor);
+
+            case DECELERATE:
+                if (factor == 1.f) {
+                    return 1.f - (1.f - input) * (1.f - input);
+                }
+                return (float) (1.f - Math.pow(1.f - input, 2.f * factor));
+
+            case ACCELERATE_DECELERATE:
+                return (float) (Math.cos((input + 1) * Math.PI) / 2.f) + 0.5f;
+
+            case ANTICIPATE:
+                return input * input * ((factor + 1) * input - factor);
+
+            case LINEAR:
+            default:
+                return input;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shared immutable easing function, evaluated without transcendental math on every frame.
+ * Easings which are closed-form polynomials are evaluated directly, the rest ({@code Math.pow} and {@code Math.cos}
+ * based ones) are sampled once into a lookup table with linear interpolation between samples.
+ *
+ * Table resolution is picked so that the result differs from {@link Easing#apply(int, float, float)} by at most
+ * {@link #MAX_ERROR}. Easings which can't be approximated that well, e.g. with an infinite slope, are evaluated exactly.
+ *
+ * Instances are flyweights shared by all curves with the same easing and factor, see {@link #obtain(int, float)}.
+ * At most {@link #MAX_CACHED_INSTANCES} least recently used ones are kept, since factors might differ per arc.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public final class FastEasing {
+
+    /**
+     * Max difference from exact easing value.
+     */
+    public static final float MAX_ERROR = 1e-4f;
+
+    private static final int MIN_INTERVALS = 64;
+    private static final int MAX_INTERVALS = 4096;
+
+    /**
+     * Max number of shared instances kept, instances already obtained remain valid after eviction.
+     */
+    public static final int MAX_CACHED_INSTANCES = 256;
+
+    private static final Map<Long, FastEasing> sInstances = new LinkedHashMap<Long, FastEasing>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, FastEasing> eldest) {
+            return size() > MAX_CACHED_INSTANCES;
+        }
+    };
+
+    private final int mEasing;
+    private final float mFactor;
+    /**
+     * Sampled values, or {@code null} in case evaluated directly.
+     */
+    private final float[] mSamples;
+
+    /**
+     * Returns shared instance for the easing.
+     *
+     * @param easing    One of {@link Easing} types.
+     * @param factor    Factor of the easing.
+     * @return  A {@link FastEasing}.
+     */
+    public static synchronized FastEasing obtain(final int easing, float factor) {
+        if (easing == Easing.LINEAR || easing == Easing.ACCELERATE_DECELERATE) {
+            // factor is ignored, so don't let it split instances
+            factor = 1.f;
+        }
+        final Long key = ((long) easing << 32) | (Float.floatToIntBits(factor) & 0xffffffffL);
+        FastEasing instance = sInstances.get(key);
+        if (instance == null) {
+            instance = new FastEasing(easing, factor);
+            sInstances.put(key, instance);
+        }
+        return instance;
+    }
+
+    /**
+     * @return Number of shared instances kept, for tests.
+     */
+    static synchronized int getCachedInstanceCount() {
+        return sInstances.size();
+    }
+
+    private FastEasing(final int easing, final float factor) {
+        mEasing = easing;
+        mFactor = factor;
+        mSamples = isPolynomial(easing, factor) ? null : sample(easing, factor);
+    }
+
+    /**
+     * @return One of {@link Easing} types.
+     */
+    public int getEasing() {
+        return mEasing;
+    }
+
+    /**
+     * @return Factor of the easing.
+     */
+    public float getFactor() {
+        return mFactor;
+    }
+
+    /**
+     * Evaluates easing function.
+     *
+     * @param input Fraction of the animation in range [0..1].
+     * @return  Interpolated fraction, within {@link #MAX_ERROR} from exact value.
+     */
+    public float getInterpolation(final float input) {
+        if (mSamples == null) {
+            return Easing.apply(mEasing, mFactor, input);
+        }
+
+        final int intervals = mSamples.length - 1;
+        if (input <= 0.f) {
+            return mSamples[0];
+        }
+        if (input >= 1.f) {
+            return mSamples[intervals];
+        }
+        final float position = input * intervals;
+        final int index = (int) position;
+        return mSamples[index] + (position - index) * (mSamples[index + 1] - mSamples[index]);
+    }
+
+    /**
+     * @return {@code true} in case easing doesn't need any transcendental math, so there is no need in a table.
+     */
+    private static boolean isPolynomial(final int easing, final float factor) {
+        switch (easing) {
+            case Easing.ACCELERATE:
+            case Easing.DECELERATE:
+                return factor == 1.f;
+
+            case Easing.ACCELERATE_DECELERATE:
+                return false;
+
+            case Easing.ANTICIPATE:
+            case Easing.LINEAR:
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Samples easing at the lowest resolution within {@link #MAX_ERROR}.
+     *
+     * @return  Samples, or {@code null} in case no resolution is good enough.
+     */
+    private static float[] sample(final int easing, final float factor) {
+        for (int intervals = MIN_INTERVALS; intervals <= MAX_INTERVALS; intervals *= 2) {
+            final float[] samples = new float[intervals + 1];
+            boolean finite = true;
+            for (int i = 0; i <= intervals && finite; ++i) {
+                samples[i] = Easing.apply(easing, factor, (float) i / intervals);
+                finite = !Float.isNaN(samples[i]) && !Float.isInfinite(samples[i]);
+            }
+            if (!finite) {
+                return null;
+            }
+            if (getMaxError(easing, factor, samples) <= MAX_ERROR) {
+                return samples;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Max difference between interpolated samples and exact easing, checked at a few points of each interval.
+     */
+    private static float getMaxError(final int easing, final float factor, final float[] samples) {
+        final int intervals = samples.length - 1;
+        float maxError = 0.f;
+        for (int i = 0; i < intervals; ++i) {
+            for (int j = 1; j < 4; ++j) {
+                final float fraction = j / 4.f;
+                final float input = (i + fraction) / intervals;
+                final float interpolated = samples[i] + fraction * (samples[i + 1] - samples[i]);
+                final float error = Math.abs(interpolated - Easing.apply(easing, factor, input));
+                if (!(error <= maxError)) {
+                    // also catches NaN
+                    maxError = Float.isNaN(error) ? Float.POSITIVE_INFINITY : error;
+                }
+            }
+        }
+        return maxError;
+    }
+}
@@ -0,0 +1,50 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+/**
+ * Source of animation time and frame ticks. Views and animations read time from it instead of a wall clock,
+ * so frames can be stepped deterministically, e.g. by {@link ManualFrameClock} in tests, benchmarks or offline rendering.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public interface FrameClock {
+
+    /**
+     * Frame tick receiver.
+     */
+    interface Callback {
+
+        /**
+         * Called once per frame while registered.
+         *
+         * @param frameTimeNanos Frame time in nanoseconds, on same time base as {@link FrameClock#getTimeMillis()}.
+         * @return  {@code true} to keep receiving frames, {@code false} if idle and should be unregistered.
+         */
+        boolean onFrame(long frameTimeNanos);
+    }
+
+    /**
+     * Register callback to be ticked on every frame. Registering same callback twice has no effect.
+     *
+     * @param callback  A {@link Callback}.
+     */
+    void register(Callback callback);
+
+    /**
+     * Unregister callback, so it's not ticked anymore.
+     *
+     * @param callback  A {@link Callback}.
+     */
+    void unregister(Callback callback);
+
+    /**
+     * @param callback  A {@link Callback}.
+     * @return  {@code true} if callback is registered.
+     */
+    boolean isRegistered(Callback callback);
+
+    /**
+     * @return Current animation time in [ms]. Stays the same while frame callbacks are ticked.
+     */
+    long getTimeMillis();
+}
@@ -0,0 +1,108 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+/**
+ * {@link FrameClock} stepped explicitly, without any wall clock waits. Time starts at 0 and only changes
+ * when advanced, ticking all registered callbacks with the new frame time.
+ *
+ * Not thread safe, should be used from one thread, same one that uses views or animations driven by it.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public final class ManualFrameClock implements FrameClock {
+
+    /**
+     * Default frame interval in [ns], 60 fps.
+     */
+    public static final long DEFAULT_FRAME_INTERVAL_NANOS = 1000000000L / 60;
+
+    private final long mFrameIntervalNanos;
+    private long mTimeNanos = 0;
+    private final CallbackList mCallbacks = new CallbackList();
+
+    /**
+     * Constructor, with frames {@link #DEFAULT_FRAME_INTERVAL_NANOS} apart.
+     */
+    public ManualFrameClock() {
+        this(DEFAULT_FRAME_INTERVAL_NANOS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param frameIntervalNanos    Time in [ns] {@link #step()} advances by, should be positive.
+     */
+    public ManualFrameClock(final long frameIntervalNanos) {
+        if (frameIntervalNanos <= 0) {
+            throw new IllegalArgumentException("Frame interval should be positive: " + frameIntervalNanos);
+        }
+
+        mFrameIntervalNanos = frameIntervalNanos;
+    }
+
+    @Override
+    public void register(final Callback callback) {
+        mCallbacks.add(callback);
+    }
+
+    @Override
+    public void unregister(final Callback callback) {
+        mCallbacks.remove(callback);
+    }
+
+    @Override
+    public boolean isRegistered(final Callback callback) {
+        return mCallbacks.contains(callback);
+    }
+
+    @Override
+    public long getTimeMillis() {
+        return mTimeNanos / 1000000L;
+    }
+
+    /**
+     * @return Current time in [ns].
+     */
+    public long getTimeNanos() {
+        return mTimeNanos;
+    }
+
+    /**
+     * Advances time by one frame interval and ticks registered callbacks.
+     */
+    public void step() {
+        advanceNanos(mFrameIntervalNanos);
+    }
+
+    /**
+     * Advances time by a number of frame intervals, ticking registered callbacks on every frame.
+     *
+     * @param frames    Number of frames, not negative.
+     */
+    public void step(final int frames) {
+        for (int i = 0; i < frames; ++i) {
+            step();
+        }
+    }
+
+    /**
+     * Advances time and ticks registered callbacks once, as a single possibly long frame.
+     *
+     * @param nanos Time in [ns], not negative.
+     */
+    public void advanceNanos(final long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("Time can't go backwards: " + nanos);
+        }
+
+        mTimeNanos += nanos;
+        mCallbacks.dispatch(mTimeNanos);
+    }
+
+    /**
+     * @return Number of registered callbacks.
+     */
+    public int getCallbackCount() {
+        return mCallbacks.size();
+    }
+}
@@ -0,0 +1,24 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+/**
+ * Spatial falloff of a {@link OpacityTimeline#RIPPLE} like opacity effect: opacity of an arc as a function of it's
+ * distance from the ripple center. Kernel is sampled once into a lookup table when animation is (re)built,
+ * so it might be expensive to evaluate.
+ *
+ * See {@link OpacityKernels} for built in kernels.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public interface OpacityKernel {
+
+    /**
+     * Returns opacity factor of an arc. Resulting opacity is {@code target + (initial - target) * factor},
+     * clamped to [target..255].
+     *
+     * @param distance  Signed distance of an arc from ripple center, in arcs. Positive for arcs with bigger index.
+     * @param arcCount  Number of arcs.
+     * @return  Opacity factor, 1 for initial opacity and 0 for target opacity.
+     */
+    float getFactor(float distance, int arcCount);
+}
@@ -0,0 +1,64 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+/**
+ * Built in {@link OpacityKernel}'s. All of them have radius of half of arc count.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public final class OpacityKernels {
+
+    /**
+     * Original ripple falloff, {@code 1 - (d / r) ^ (arcCount / 20)}. Behind the ripple center it depends on exponent:
+     * for fractional ones power is not defined and arcs stay at target opacity, for odd integer ones (arcCount 20, 60...)
+     * factor exceeds 1 and arcs are clamped to 255, for even integer ones (arcCount 40, 80...) falloff is mirrored.
+     */
+    public static final OpacityKernel POWER = new OpacityKernel() {
+        @Override
+        public float getFactor(float distance, int arcCount) {
+            final float funcXRange = arcCount / 2.f;
+            final float pow = arcCount / 20.f;
+            final float factor = (float) (1.f - Math.pow(distance, pow) / Math.pow(funcXRange, pow));
+            // fractional power of negative distance is NaN, such arcs stay at target opacity
+            return Float.isNaN(factor) ? 0.f : factor;
+        }
+    };
+
+    /**
+     * Bell shaped falloff on both sides of ripple center.
+     */
+    public static final OpacityKernel GAUSSIAN = new OpacityKernel() {
+        @Override
+        public float getFactor(float distance, int arcCount) {
+            final float sigma = arcCount / 4.f;
+            return (float) Math.exp(-distance * distance / (2.f * sigma * sigma));
+        }
+    };
+
+    /**
+     * Linear falloff on both sides of ripple center.
+     */
+    public static final OpacityKernel TRIANGULAR = new OpacityKernel() {
+        @Override
+        public float getFactor(float distance, int arcCount) {
+            return Math.max(0.f, 1.f - Math.abs(distance) / (arcCount / 2.f));
+        }
+    };
+
+    /**
+     * Smooth raised cosine falloff on both sides of ripple center.
+     */
+    public static final OpacityKernel COSINE = new OpacityKernel() {
+        @Override
+        public float getFactor(float distance, int arcCount) {
+            final float radius = arcCount / 2.f;
+            if (Math.abs(distance) >= radius) {
+                return 0.f;
+            }
+            return (float) (0.5 * (1.0 + Math.cos(Math.PI * distance / radius)));
+        }
+    };
+
+    private OpacityKernels() {
+    }
+}
@@ -0,0 +1,448 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Android-free part of opacity animation: curves of each opacity animation type and evaluation of
+ * opacities of all arcs at a play time.
+ *
+ * Used by {@code OpacityAnimation} in the library, and can be benchmarked or profiled on a plain JVM.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public final class OpacityTimeline {
+
+    /**
+     * Opacity animation types. Same values as in {@code OpacityAnimation}.
+     */
+    public static final int NONE = 0;
+    public static final int BLINKING = 1;
+    public static final int SHINY = 2;
+    public static final int AURA = 3;
+    public static final int RIPPLE = 4;
+
+    /**
+     * Animation durations in [ms] for opacity animation types.
+     */
+    private static long sOpacityAnimationDuration[] = {
+            0,
+            2000,
+            1000,
+            1000,
+            1000,
+    };
+
+    /**
+     * Number of ripple kernel samples per arc.
+     */
+    private static final int RIPPLE_TABLE_RESOLUTION = 32;
+
+    /**
+     * Number of arcs per arc factors of opacity curves are designed for. Further arcs repeat the pattern.
+     */
+    private static final int PATTERN_ARC_COUNT = 30;
+
+    /**
+     * Opacity values to animate between.
+     */
+    private int mInitialOpacity = 255;
+    private int mTargetOpacity = 150;
+
+    private int mType = NONE;
+    private int mArcCount;
+    private boolean mBaked = false;
+
+    /**
+     * Curves are recreated by {@link #reset()} only after their configuration changed, and tables after baking changed.
+     */
+    private boolean mCurvesValid = false;
+    private boolean mTablesBaked = false;
+
+    /**
+     * Animated values.
+     */
+    private int[] mAlphaOpacities = new int[0];
+    private final List<AnimationCurve> mOpacityCurveList = new ArrayList<>();
+    private final PackedCurves mOpacityTables = new PackedCurves();
+    private AnimationCurve mRippleEffectCurve;
+    private CurveTable mRippleEffectTable;
+
+    /**
+     * Ripple falloff sampled into opacities over distances from ripple center, starting at {@code mRippleTableStart}.
+     */
+    private OpacityKernel mRippleKernel = OpacityKernels.POWER;
+    private float[] mRippleTable = new float[0];
+    private float mRippleTableStart;
+
+    /**
+     * @param type  Any int.
+     * @return  {@code true} in case it's one of opacity animation types.
+     */
+    public static boolean isValidType(final int type) {
+        return type >= NONE && type <= RIPPLE;
+    }
+
+    /**
+     * Set animation type. Takes effect after {@link #reset()}.
+     *
+     * @param type  One of opacity animation types, see {@link #isValidType(int)}.
+     */
+    public void setType(final int type) {
+        if (!isValidType(type)) {
+            throw new IllegalArgumentException("Unknown opacity animation type: " + type);
+        }
+
+        if (mType != type) {
+            mCurvesValid = false;
+        }
+        mType = type;
+    }
+
+    /**
+     * @return Animation type.
+     */
+    public int getType() {
+        return mType;
+    }
+
+    /**
+     * Setup opacity values to animate between. Takes effect after {@link #reset()}.
+     *
+     * @param initialOpacity    An int in range [0..255].
+     * @param targetOpacity     An int in range [0..255].
+     */
+    public void setOpacityValues(final int initialOpacity, final int targetOpacity) {
+        if (mInitialOpacity != initialOpacity || mTargetOpacity != targetOpacity) {
+            mCurvesValid = false;
+        }
+        mInitialOpacity = initialOpacity;
+        mTargetOpacity = targetOpacity;
+    }
+
+    /**
+     * Set spatial falloff of {@link #RIPPLE} animation. Takes effect after {@link #reset()}.
+     *
+     * @param kernel    An {@link OpacityKernel}, see {@link OpacityKernels}.
+     */
+    public void setRippleKernel(final OpacityKernel kernel) {
+        if (kernel == null) {
+            throw new IllegalArgumentException("Kernel should not be null.");
+        }
+
+        if (mRippleKernel != kernel) {
+            mCurvesValid = false;
+        }
+        mRippleKernel = kernel;
+    }
+
+    /**
+     * @return Spatial falloff of {@link #RIPPLE} animation.
+     */
+    public OpacityKernel getRippleKernel() {
+        return mRippleKernel;
+    }
+
+    /**
+     * Set number of arcs. Takes effect after {@link #reset()}, nothing is animated until then.
+     *
+     * @param count Number of arcs.
+     */
+    public void setArcCount(final int count) {
+        if (mArcCount == count) {
+            return;
+        }
+
+        mArcCount = count;
+        mAlphaOpacities = new int[count];
+        // curves of previous number of arcs don't fit new array
+        mCurvesValid = false;
+        mOpacityCurveList.clear();
+        mOpacityTables.clear();
+        mRippleEffectCurve = null;
+        mRippleEffectTable = null;
+    }
+
+    /**
+     * Changes number of arcs right away, keeping curves and opacities of remaining arcs, so they continue
+     * without jumping. Curves are only created for added arcs, and dropped for removed ones. Ripple curve spans
+     * all arcs, so it's recreated, still continuing at the same play time.
+     * In case curves were not created yet, or are to be recreated anyway, same as {@link #setArcCount(int)}.
+     *
+     * @param count Number of arcs.
+     * @return  {@code true} in case arcs were resized incrementally, {@code false} in case {@link #reset()} is needed.
+     */
+    public boolean resizeArcs(final int count) {
+        if (mArcCount == count) {
+            return mCurvesValid;
+        }
+        if (!mCurvesValid) {
+            setArcCount(count);
+            return false;
+        }
+
+        final int oldCount = mArcCount;
+        mArcCount = count;
+        mAlphaOpacities = Arrays.copyOf(mAlphaOpacities, count);
+        if (count > oldCount) {
+            Arrays.fill(mAlphaOpacities, oldCount, count, mInitialOpacity);
+        }
+
+        if (mType == RIPPLE) {
+            initRippleCurve();
+            initRippleTable();
+            if (mTablesBaked) {
+                mRippleEffectTable = CurveTableCache.obtain(mRippleEffectCurve);
+            }
+            return true;
+        }
+        if (mType == NONE) {
+            return true;
+        }
+
+        while (mOpacityCurveList.size() > count) {
+            mOpacityCurveList.remove(mOpacityCurveList.size() - 1);
+        }
+        if (mTablesBaked) {
+            mOpacityTables.truncate(count);
+        }
+        for (int i = oldCount; i < count; ++i) {
+            switch (mType) {
+                case BLINKING:
+                    initBlinkingCurves(i);
+                    break;
+
+                case SHINY:
+                    initShinyCurves(i);
+                    break;
+
+                case AURA:
+                    initAuraCurves(i);
+                    break;
+            }
+            if (mTablesBaked) {
+                final AnimationCurve curve = mOpacityCurveList.get(i);
+                mOpacityTables.set(i, curve, CurveTableCache.obtain(curve));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Number of arcs.
+     */
+    public int getArcCount() {
+        return mArcCount;
+    }
+
+    /**
+     * Set whether curves are played from lookup tables of {@link CurveTableCache}. Takes effect after {@link #reset()}.
+     *
+     * @param baked {@code true} to use lookup tables.
+     */
+    public void setBaked(final boolean baked) {
+        mBaked = baked;
+    }
+
+    /**
+     * Resets opacities to initial ones. Curves of all arcs are recreated only in case type, number of arcs, opacity values
+     * or ripple kernel changed since last reset, otherwise they are reused, so restarting same animation allocates nothing.
+     *
+     * @return  {@code true} in case curves were recreated.
+     */
+    public boolean reset() {
+        Arrays.fill(mAlphaOpacities, mInitialOpacity);
+
+        final boolean curvesChanged = !mCurvesValid;
+        if (curvesChanged) {
+            createCurves();
+            mCurvesValid = true;
+        }
+
+        if (curvesChanged || mTablesBaked != mBaked) {
+            mOpacityTables.clear();
+            mRippleEffectTable = null;
+            if (mBaked) {
+                if (mRippleEffectCurve != null) {
+                    mRippleEffectTable = CurveTableCache.obtain(mRippleEffectCurve);
+                }
+                for (int i = 0; i < mOpacityCurveList.size(); ++i) {
+                    final AnimationCurve curve = mOpacityCurveList.get(i);
+                    mOpacityTables.set(i, curve, CurveTableCache.obtain(curve));
+                }
+            }
+            mTablesBaked = mBaked;
+        }
+        return curvesChanged;
+    }
+
+    private void createCurves() {
+        mOpacityCurveList.clear();
+        mRippleEffectCurve = null;
+
+        if (mType == RIPPLE) {
+            // single curve shared by all arcs in case of this animation
+            initRippleCurve();
+            initRippleTable();
+        } else if (mType != NONE) {
+            for (int i = 0; i < mArcCount; ++ i) {
+                switch (mType) {
+                    case BLINKING:
+                        initBlinkingCurves(i);
+                        break;
+
+                    case SHINY:
+                        initShinyCurves(i);
+                        break;
+
+                    case AURA:
+                        initAuraCurves(i);
+                        break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Evaluates opacities of all arcs at specified play time.
+     *
+     * @param playTime  Time in [ms] since animation start.
+     */
+    public void setCurrentPlayTime(final long playTime) {
+        if (mRippleEffectCurve != null) {
+            applyRipple(mBaked ? getTableValue(mRippleEffectTable, mRippleEffectCurve, playTime)
+                    : mRippleEffectCurve.getValue(playTime));
+            return;
+        }
+
+        if (mBaked) {
+            // primitive loop over packed tables, cost stays low for hundreds of arcs
+            mOpacityTables.evaluate(playTime, mAlphaOpacities);
+            return;
+        }
+
+        for (int i = 0; i < mOpacityCurveList.size(); ++i) {
+            mAlphaOpacities[i] = (int) mOpacityCurveList.get(i).getValue(playTime);
+        }
+    }
+
+    private static float getTableValue(final CurveTable table, final AnimationCurve curve, final long playTime) {
+        // table might be missing in case it didn't fit into CurveTableCache memory bound
+        return table != null ? table.getValue(playTime + curve.getPhase()) : curve.getValue(playTime);
+    }
+
+    /**
+     * @return Time in [ms] after which all curves repeat, or 0 if there is nothing to animate.
+     */
+    public long getPeriod() {
+        long period = mRippleEffectCurve != null ? mRippleEffectCurve.getPeriod() : 0;
+        for (int i = 0; i < mOpacityCurveList.size(); ++i) {
+            period = AnimationCurve.getCommonPeriod(period, mOpacityCurveList.get(i).getPeriod());
+        }
+        return period;
+    }
+
+    /**
+     * @return Number of arcs with their own curve created by last {@link #reset()}.
+     */
+    public int getCurveCount() {
+        return mOpacityCurveList.size();
+    }
+
+    /**
+     * @param index Index of arc.
+     * @return  Opacity curve of the arc.
+     */
+    public AnimationCurve getCurve(final int index) {
+        return mOpacityCurveList.get(index);
+    }
+
+    /**
+     * @return Curve of ripple center position shared by all arcs, or {@code null} if not a {@link #RIPPLE} animation.
+     */
+    public AnimationCurve getRippleCurve() {
+        return mRippleEffectCurve;
+    }
+
+    /**
+     * Returns opacities of all arcs. Array is updated in place, so it should not be kept between frames.
+     *
+     * @return  An array of size set by {@link #setArcCount(int)}.
+     */
+    public int[] getOpacities() {
+        return mAlphaOpacities;
+    }
+
+    private void initBlinkingCurves(final int index) {
+        mOpacityCurveList.add(new AnimationCurve(sOpacityAnimationDuration[mType], AnimationCurve.RESTART, Easing.ACCELERATE_DECELERATE, 1.f, 1.f,
+                mInitialOpacity, mTargetOpacity, mInitialOpacity));
+    }
+
+    private void initShinyCurves(final int index) {
+        final float opacityDecelerateFactor = 1.f + 0.8f * (index % PATTERN_ARC_COUNT + 1);
+        mOpacityCurveList.add(new AnimationCurve(sOpacityAnimationDuration[mType], AnimationCurve.REVERSE, Easing.DECELERATE, opacityDecelerateFactor, 1.f,
+                255, 50, 255));
+    }
+
+    private void initAuraCurves(final int index) {
+        final float opacityDecelerateFactor = 1.f + 0.8f * (index % PATTERN_ARC_COUNT + 1);
+        mOpacityCurveList.add(new AnimationCurve(sOpacityAnimationDuration[mType], AnimationCurve.REVERSE, Easing.ANTICIPATE, opacityDecelerateFactor, 1.f,
+                255, 50, 255, 50));
+    }
+
+    private void initRippleCurve() {
+        final float funcXRange = mArcCount / 2.f;
+        mRippleEffectCurve = new AnimationCurve(sOpacityAnimationDuration[mType], AnimationCurve.RESTART, Easing.ACCELERATE_DECELERATE, 1.f, 1.f,
+                (float) mArcCount + funcXRange, -funcXRange);
+    }
+
+    /**
+     * Samples ripple kernel over all distances from ripple center arcs might have, see {@link #initRippleCurve()}.
+     */
+    private void initRippleTable() {
+        final float funcXRange = mArcCount / 2.f;
+        final float opacityRange = (float) mInitialOpacity - mTargetOpacity;
+        // ripple center moves in [-funcXRange .. arcCount + funcXRange], one extra arc on each side for easing overshoot
+        mRippleTableStart = -mArcCount - funcXRange - 1.f;
+        final int sampleCount = (int) Math.ceil((2.f * mArcCount + 2.f * funcXRange + 2.f) * RIPPLE_TABLE_RESOLUTION) + 1;
+        if (mRippleTable.length != sampleCount) {
+            mRippleTable = new float[sampleCount];
+        }
+
+        for (int i = 0; i < sampleCount; ++i) {
+            final float distance = mRippleTableStart + (float) i / RIPPLE_TABLE_RESOLUTION;
+            final float opacity = mTargetOpacity + opacityRange * mRippleKernel.getFactor(distance, mArcCount);
+            mRippleTable[i] = Math.max(mTargetOpacity, Math.min(255.f, opacity));
+        }
+    }
+
+    /**
+     * Updates opacity of all arcs for current ripple position.
+     *
+     * @param rippleRadius  Current position of ripple center.
+     */
+    public void applyRipple(final float rippleRadius) {
+        final float[] table = mRippleTable;
+        final int lastIndex = table.length - 2;
+        if (lastIndex < 0) {
+            return;
+        }
+
+        float position = (-rippleRadius - mRippleTableStart) * RIPPLE_TABLE_RESOLUTION;
+        for (int i = 0; i < mArcCount; ++i) {
+            int index = (int) position;
+            float fraction = position - index;
+            if (index < 0) {
+                index = 0;
+                fraction = 0.f;
+            } else if (index > lastIndex) {
+                index = lastIndex;
+                fraction = 1.f;
+            }
+            mAlphaOpacities[i] = Math.round(table[index] + fraction * (table[index + 1] - table[index]));
+            position += RIPPLE_TABLE_RESOLUTION;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+import java.util.Arrays;
+
+/**
+ * Lookup tables of many curves packed into parallel primitive arrays, so all of them are evaluated by one loop
+ * over arrays instead of calls on per-arc objects. Samples are shared with {@link CurveTable}'s they were taken from,
+ * so packing costs a few references and numbers per curve.
+ *
+ * Evaluation gives exactly same values as {@link CurveTable#getValue(long)} with phase of the curve added to play time.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+final class PackedCurves {
+
+    private int mCount = 0;
+    private float[][] mSamples = new float[0][];
+    private int[] mIntervals = new int[0];
+    private long[] mPeriods = new long[0];
+    private long[] mPhases = new long[0];
+
+    /**
+     * Packs table of the curve at specified index, growing arrays in case needed.
+     *
+     * @param index Index of curve, not more than {@link #getCount()}.
+     * @param curve An {@link AnimationCurve}.
+     * @param table Table of the curve, or {@code null} in case it didn't fit into {@link CurveTableCache},
+     *              then curve is sampled into a table owned by this instance.
+     */
+    void set(final int index, final AnimationCurve curve, final CurveTable table) {
+        if (index >= mSamples.length) {
+            final int capacity = Math.max(index + 1, mSamples.length * 2);
+            mSamples = Arrays.copyOf(mSamples, capacity);
+            mIntervals = Arrays.copyOf(mIntervals, capacity);
+            mPeriods = Arrays.copyOf(mPeriods, capacity);
+            mPhases = Arrays.copyOf(mPhases, capacity);
+        }
+
+        final CurveTable packedTable = table != null ? table : new CurveTable(curve, CurveTableCache.getSampleRate());
+        mSamples[index] = packedTable.getSampleArray();
+        mIntervals[index] = packedTable.getIntervals();
+        mPeriods[index] = packedTable.getPeriod();
+        mPhases[index] = curve.getPhase();
+        mCount = Math.max(mCount, index + 1);
+    }
+
+    /**
+     * Drops curves starting at specified count.
+     *
+     * @param count Number of curves to keep.
+     */
+    void truncate(final int count) {
+        for (int i = count; i < mCount; ++i) {
+            mSamples[i] = null;
+        }
+        mCount = Math.min(mCount, count);
+    }
+
+    /**
+     * Drops all curves.
+     */
+    void clear() {
+        truncate(0);
+    }
+
+    /**
+     * @return Number of packed curves.
+     */
+    int getCount() {
+        return mCount;
+    }
+
+    /**
+     * Evaluates all curves at specified play time.
+     *
+     * @param playTime  Time in [ms] since animation start.
+     * @param outValues Array to fill, at least {@link #getCount()} in size.
+     */
+    void evaluate(final long playTime, final float[] outValues) {
+        for (int i = 0; i < mCount; ++i) {
+            outValues[i] = getValue(i, playTime);
+        }
+    }
+
+    /**
+     * Same as {@link #evaluate(long, float[])}, truncating values to ints.
+     *
+     * @param playTime  Time in [ms] since animation start.
+     * @param outValues Array to fill, at least {@link #getCount()} in size.
+     */
+    void evaluate(final long playTime, final int[] outValues) {
+        for (int i = 0; i < mCount; ++i) {
+            outValues[i] = (int) getValue(i, playTime);
+        }
+    }
+
+    private float getValue(final int index, final long playTime) {
+        final float[] samples = mSamples[index];
+        final int intervals = mIntervals[index];
+        if (intervals == 0) {
+            return samples[0];
+        }
+
+        final long period = mPeriods[index];
+        final long curveTime = playTime + mPhases[index];
+        final long time = curveTime > 0 ? curveTime % period : 0;
+        final float position = (float) time * intervals / period;
+        final int sample = (int) position;
+        final float fraction = position - sample;
+        return samples[sample] + fraction * (samples[sample + 1] - samples[sample]);
+    }
+}
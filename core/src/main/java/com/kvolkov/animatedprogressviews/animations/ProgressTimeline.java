@@ -0,0 +1,349 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Android-free part of progress animation: evaluation of alpha and beta angles of all arcs at a play time,
+ * with curves and mapping to arc start and sweep angles provided by {@link ArcAnimation} of current type.
+ *
+ * Used by {@code ProgressAnimation} in the library, and can be benchmarked or profiled on a plain JVM.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public final class ProgressTimeline {
+
+    /**
+     * Progress animation types. Same values as in {@code ProgressAnimation}.
+     */
+    public static final int OPACITY_ANIMATION_TEST_STUB = -1;
+    public static final int RACE_CONDITION = 0;
+    public static final int SWIRLY = 1;
+    public static final int WHIRPOOL = 2;
+    public static final int HYPERLOOP = 3;
+    public static final int METRONOME_1 = 4;
+    public static final int METRONOME_2 = 5;
+    public static final int METRONOME_3 = 6;
+    public static final int METRONOME_4 = 7;
+    public static final int BUTTERFLY_KNIFE = 8;
+    public static final int RAINBOW = 9;
+    public static final int GOTCHA = 10;
+
+    private int mType = RACE_CONDITION;
+    private ArcAnimation mAnimation = ArcAnimations.get(RACE_CONDITION);
+    private int mArcCount;
+    private boolean mBaked = false;
+
+    /**
+     * Curves are recreated by {@link #reset()} only after type or number of arcs changed, and tables after baking changed.
+     */
+    private boolean mCurvesValid = false;
+    private boolean mTablesBaked = false;
+
+    /**
+     * Number of arcs curves were created for, only matters for animations which {@link ArcAnimation#dependsOnArcCount()}.
+     */
+    private int mCurvesArcCount;
+
+    /**
+     * Animated values.
+     */
+    private float[] mAlphaAngles = new float[0];
+    private float[] mBetaAngles = new float[0];
+    private final List<AnimationCurve> mAlphaCurveList = new ArrayList<>();
+    private final List<AnimationCurve> mBetaCurveList = new ArrayList<>();
+
+    /**
+     * Tables of curves packed for evaluation by {@link #setCurrentPlayTime(long)}, only used while baked.
+     */
+    private final PackedCurves mAlphaTables = new PackedCurves();
+    private final PackedCurves mBetaTables = new PackedCurves();
+
+    /**
+     * @param type  Any int.
+     * @return  {@code true} in case it's one of progress animation types, or a type registered with {@link ArcAnimations}.
+     */
+    public static boolean isValidType(final int type) {
+        return ArcAnimations.get(type) != null;
+    }
+
+    /**
+     * Set animation type. Takes effect after {@link #reset()}.
+     *
+     * @param type  One of progress animation types, see {@link #isValidType(int)}.
+     */
+    public void setType(final int type) {
+        final ArcAnimation animation = ArcAnimations.get(type);
+        if (animation == null) {
+            throw new IllegalArgumentException("Unknown progress animation type: " + type);
+        }
+
+        if (mAnimation != animation) {
+            mCurvesValid = false;
+        }
+        mType = type;
+        mAnimation = animation;
+    }
+
+    /**
+     * @return Animation type.
+     */
+    public int getType() {
+        return mType;
+    }
+
+    /**
+     * Set number of arcs. Takes effect after {@link #reset()}, nothing is animated until then.
+     *
+     * @param count Number of arcs.
+     */
+    public void setArcCount(final int count) {
+        if (mArcCount == count) {
+            return;
+        }
+
+        mArcCount = count;
+        mAlphaAngles = new float[count];
+        mBetaAngles = new float[count];
+        // curves of previous number of arcs don't fit new arrays
+        mCurvesValid = false;
+        mAlphaCurveList.clear();
+        mBetaCurveList.clear();
+        mAlphaTables.clear();
+        mBetaTables.clear();
+    }
+
+    /**
+     * Changes number of arcs right away, keeping curves and animated values of remaining arcs, so they continue
+     * without jumping. Curves are only created for added arcs, and dropped for removed ones.
+     * In case curves were not created yet, or are to be recreated anyway, e.g. animation {@link ArcAnimation#dependsOnArcCount()},
+     * same as {@link #setArcCount(int)}.
+     *
+     * @param count Number of arcs.
+     * @return  {@code true} in case arcs were resized incrementally, {@code false} in case {@link #reset()} is needed.
+     */
+    public boolean resizeArcs(final int count) {
+        if (mArcCount == count) {
+            return mCurvesValid;
+        }
+        if (!mCurvesValid || mAnimation.dependsOnArcCount()) {
+            // curves of existing arcs would differ from ones created for the new count, start over
+            setArcCount(count);
+            return false;
+        }
+
+        final int oldCount = mArcCount;
+        mArcCount = count;
+        mAlphaAngles = Arrays.copyOf(mAlphaAngles, count);
+        mBetaAngles = Arrays.copyOf(mBetaAngles, count);
+        if (count > oldCount) {
+            Arrays.fill(mAlphaAngles, oldCount, count, mAnimation.getInitialAlpha());
+            Arrays.fill(mBetaAngles, oldCount, count, mAnimation.getInitialBeta());
+        }
+
+        if (mAlphaCurveList.isEmpty()) {
+            // nothing to animate
+            return true;
+        }
+
+        while (mAlphaCurveList.size() > count) {
+            final int last = mAlphaCurveList.size() - 1;
+            mAlphaCurveList.remove(last);
+            mBetaCurveList.remove(last);
+        }
+        if (mTablesBaked) {
+            mAlphaTables.truncate(count);
+            mBetaTables.truncate(count);
+        }
+        for (int i = oldCount; i < count; ++i) {
+            final AnimationCurve alphaCurve = mAnimation.createAlphaCurve(i, count);
+            final AnimationCurve betaCurve = mAnimation.createBetaCurve(i, count);
+            if (alphaCurve == null || betaCurve == null) {
+                // inconsistent with existing arcs, start over
+                mCurvesValid = false;
+                return false;
+            }
+            mAlphaCurveList.add(alphaCurve);
+            mBetaCurveList.add(betaCurve);
+            if (mTablesBaked) {
+                mAlphaTables.set(i, alphaCurve, CurveTableCache.obtain(alphaCurve));
+                mBetaTables.set(i, betaCurve, CurveTableCache.obtain(betaCurve));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Number of arcs.
+     */
+    public int getArcCount() {
+        return mArcCount;
+    }
+
+    /**
+     * Set whether curves are played from lookup tables of {@link CurveTableCache}. Takes effect after {@link #reset()}.
+     *
+     * @param baked {@code true} to use lookup tables.
+     */
+    public void setBaked(final boolean baked) {
+        mBaked = baked;
+    }
+
+    /**
+     * Resets animated values to initial ones. Curves of all arcs are recreated only in case type or number of arcs
+     * changed since last reset, or curves depending on number of arcs were created for another one,
+     * otherwise they are reused, so restarting same animation allocates nothing.
+     *
+     * @return  {@code true} in case curves were recreated.
+     */
+    public boolean reset() {
+        Arrays.fill(mAlphaAngles, mAnimation.getInitialAlpha());
+        Arrays.fill(mBetaAngles, mAnimation.getInitialBeta());
+
+        final boolean curvesChanged = !mCurvesValid
+                || (mAnimation.dependsOnArcCount() && mCurvesArcCount != mArcCount);
+        if (curvesChanged) {
+            createCurves();
+            mCurvesValid = true;
+        }
+
+        if (curvesChanged || mTablesBaked != mBaked) {
+            mAlphaTables.clear();
+            mBetaTables.clear();
+            if (mBaked) {
+                for (int i = 0; i < mAlphaCurveList.size(); ++i) {
+                    final AnimationCurve alphaCurve = mAlphaCurveList.get(i);
+                    final AnimationCurve betaCurve = mBetaCurveList.get(i);
+                    mAlphaTables.set(i, alphaCurve, CurveTableCache.obtain(alphaCurve));
+                    mBetaTables.set(i, betaCurve, CurveTableCache.obtain(betaCurve));
+                }
+            }
+            mTablesBaked = mBaked;
+        }
+        return curvesChanged;
+    }
+
+    private void createCurves() {
+        mAlphaCurveList.clear();
+        mBetaCurveList.clear();
+        mCurvesArcCount = mArcCount;
+        for (int i = 0; i < mArcCount; ++ i) {
+            final AnimationCurve alphaCurve = mAnimation.createAlphaCurve(i, mArcCount);
+            final AnimationCurve betaCurve = mAnimation.createBetaCurve(i, mArcCount);
+            if (alphaCurve == null || betaCurve == null) {
+                // nothing to animate, e.g. progress is ignored for testing opacity animations
+                mAlphaCurveList.clear();
+                mBetaCurveList.clear();
+                break;
+            }
+            mAlphaCurveList.add(alphaCurve);
+            mBetaCurveList.add(betaCurve);
+        }
+    }
+
+    /**
+     * Evaluates animated values of all arcs at specified play time.
+     *
+     * @param playTime  Time in [ms] since animation start.
+     */
+    public void setCurrentPlayTime(final long playTime) {
+        if (mBaked) {
+            // primitive loops over packed tables, cost stays low for hundreds of arcs
+            mAlphaTables.evaluate(playTime, mAlphaAngles);
+            mBetaTables.evaluate(playTime, mBetaAngles);
+            return;
+        }
+
+        for (int i = 0; i < mAlphaCurveList.size(); ++i) {
+            mAlphaAngles[i] = mAlphaCurveList.get(i).getValue(playTime);
+            mBetaAngles[i] = mBetaCurveList.get(i).getValue(playTime);
+        }
+    }
+
+    /**
+     * @return Time in [ms] after which all curves repeat, or 0 if there is nothing to animate.
+     */
+    public long getPeriod() {
+        long period = 0;
+        for (int i = 0; i < mAlphaCurveList.size(); ++i) {
+            period = AnimationCurve.getCommonPeriod(period, mAlphaCurveList.get(i).getPeriod());
+            period = AnimationCurve.getCommonPeriod(period, mBetaCurveList.get(i).getPeriod());
+        }
+        return period;
+    }
+
+    /**
+     * @return Number of arcs with curves created by last {@link #reset()}.
+     */
+    public int getCurveCount() {
+        return mAlphaCurveList.size();
+    }
+
+    /**
+     * @param index Index of arc.
+     * @return  Alpha angle curve of the arc.
+     */
+    public AnimationCurve getAlphaCurve(final int index) {
+        return mAlphaCurveList.get(index);
+    }
+
+    /**
+     * @param index Index of arc.
+     * @return  Beta angle curve of the arc.
+     */
+    public AnimationCurve getBetaCurve(final int index) {
+        return mBetaCurveList.get(index);
+    }
+
+    /**
+     * @return Initial alpha angle value, 0 for {@link #OPACITY_ANIMATION_TEST_STUB}.
+     */
+    public float getInitialAlphaValue() {
+        return mAnimation.getInitialAlpha();
+    }
+
+    /**
+     * @return Min alpha angle change worth applying, for animators updating values one by one.
+     */
+    public float getAlphaUpdateThreshold() {
+        return mAnimation.getAlphaUpdateThreshold();
+    }
+
+    /**
+     * @return Min beta angle change worth applying, for animators updating values one by one.
+     */
+    public float getBetaUpdateThreshold() {
+        return mAnimation.getBetaUpdateThreshold();
+    }
+
+    /**
+     * Returns animated alpha angle values of all arcs. Array is updated in place, so it should not be kept between frames.
+     *
+     * @return  An array of size set by {@link #setArcCount(int)}.
+     */
+    public float[] getAlphaAngles() {
+        return mAlphaAngles;
+    }
+
+    /**
+     * Returns animated beta angle values of all arcs. Array is updated in place, so it should not be kept between frames.
+     *
+     * @return  An array of size set by {@link #setArcCount(int)}.
+     */
+    public float[] getBetaAngles() {
+        return mBetaAngles;
+    }
+
+    /**
+     * Maps current alpha and beta angles to start and sweep angles of arcs.
+     *
+     * @param arcCount      Number of arcs, not more than set by {@link #setArcCount(int)}.
+     * @param startAngles   Array to fill with start angles, at least {@code arcCount} in size.
+     * @param sweepAngles   Array to fill with sweep angles, at least {@code arcCount} in size.
+     */
+    public void computeArcAngles(final int arcCount, final float[] startAngles, final float[] sweepAngles) {
+        mAnimation.computeArcAngles(arcCount, mAlphaAngles, mBetaAngles, startAngles, sweepAngles);
+    }
+}
@@ -0,0 +1,190 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Built in {@link ArcAnimation}'s should map alpha and beta angles to arcs same as the original per type switch
+ * of {@code ArcLoadingView.onDraw()}, and custom animations should be played like built in ones.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public class ArcAnimationsTest {
+
+    private static final int[] ARC_COUNTS = { 1, 5, 15, 30 };
+    private static final float INITIAL_ALPHA = 270.f;
+
+    /**
+     * Type not used by built in animations.
+     */
+    private static final int CUSTOM_TYPE = 1000;
+
+    /**
+     * Same as the original switch drawing an arc.
+     */
+    private static void computeOriginalArcAngle(int type, float alpha, float beta, float[] outAngles) {
+        switch (type) {
+            case ProgressTimeline.RACE_CONDITION:
+            case ProgressTimeline.SWIRLY:
+            case ProgressTimeline.WHIRPOOL:
+            case ProgressTimeline.HYPERLOOP:
+                outAngles[0] = alpha;
+                outAngles[1] = beta;
+                break;
+
+            case ProgressTimeline.METRONOME_1:
+            case ProgressTimeline.METRONOME_2:
+                outAngles[0] = INITIAL_ALPHA + alpha;
+                outAngles[1] = beta;
+                break;
+
+            case ProgressTimeline.METRONOME_3:
+            case ProgressTimeline.METRONOME_4:
+            case ProgressTimeline.BUTTERFLY_KNIFE:
+                outAngles[0] = INITIAL_ALPHA - beta;
+                outAngles[1] = alpha;
+                break;
+
+            case ProgressTimeline.RAINBOW:
+            case ProgressTimeline.GOTCHA:
+                outAngles[0] = INITIAL_ALPHA + beta;
+                outAngles[1] = -alpha;
+                break;
+
+            case ProgressTimeline.OPACITY_ANIMATION_TEST_STUB:
+            default:
+                outAngles[0] = 0;
+                outAngles[1] = 360;
+                break;
+        }
+    }
+
+    @Test
+    public void arcAnglesMatchOriginalDrawing() {
+        final Random random = new Random(42);
+        final float[] expected = new float[2];
+        for (int type = ProgressTimeline.OPACITY_ANIMATION_TEST_STUB; type <= ProgressTimeline.GOTCHA; ++type) {
+            final ArcAnimation animation = ArcAnimations.get(type);
+            assertNotNull("type " + type, animation);
+            if (type != ProgressTimeline.OPACITY_ANIMATION_TEST_STUB) {
+                assertEquals(INITIAL_ALPHA, animation.getInitialAlpha(), 0.f);
+            }
+
+            for (int arcCount : ARC_COUNTS) {
+                final float[] alphaAngles = new float[arcCount];
+                final float[] betaAngles = new float[arcCount];
+                for (int i = 0; i < arcCount; ++i) {
+                    alphaAngles[i] = random.nextFloat() * 1440.f - 360.f;
+                    betaAngles[i] = random.nextFloat() * 720.f - 360.f;
+                }
+                final float[] startAngles = new float[arcCount];
+                final float[] sweepAngles = new float[arcCount];
+                animation.computeArcAngles(arcCount, alphaAngles, betaAngles, startAngles, sweepAngles);
+
+                for (int i = 0; i < arcCount; ++i) {
+                    computeOriginalArcAngle(type, alphaAngles[i], betaAngles[i], expected);
+                    final String name = "type " + type + ", arcs " + arcCount + ", arc " + i;
+                    assertEquals(name + " start", expected[0], startAngles[i], 0.f);
+                    assertEquals(name + " sweep", expected[1], sweepAngles[i], 0.f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void customAnimationIsPlayedByTimeline() {
+        final ArcAnimation animation = new ArcAnimation() {
+            @Override
+            public float getInitialAlpha() {
+                return 0.f;
+            }
+
+            @Override
+            public float getInitialBeta() {
+                return 10.f;
+            }
+
+            @Override
+            public float getAlphaUpdateThreshold() {
+                return 0.f;
+            }
+
+            @Override
+            public float getBetaUpdateThreshold() {
+                return 0.f;
+            }
+
+            @Override
+            public AnimationCurve createAlphaCurve(int index, int arcCount) {
+                return new AnimationCurve(1000, AnimationCurve.RESTART, Easing.LINEAR, 1.f, 1.f, 0.f, 360.f);
+            }
+
+            @Override
+            public AnimationCurve createBetaCurve(int index, int arcCount) {
+                return new AnimationCurve(1000, AnimationCurve.RESTART, Easing.LINEAR, 1.f, 1.f, 10.f * (index + 1));
+            }
+
+            @Override
+            public boolean dependsOnArcCount() {
+                return false;
+            }
+
+            @Override
+            public void computeArcAngles(int arcCount, float[] alphaAngles, float[] betaAngles, float[] startAngles, float[] sweepAngles) {
+                System.arraycopy(alphaAngles, 0, startAngles, 0, arcCount);
+                System.arraycopy(betaAngles, 0, sweepAngles, 0, arcCount);
+            }
+        };
+        ArcAnimations.register(CUSTOM_TYPE, animation);
+        assertSame(animation, ArcAnimations.get(CUSTOM_TYPE));
+
+        try {
+            ArcAnimations.register(CUSTOM_TYPE, animation);
+            fail("Registering same type twice should fail");
+        } catch (IllegalArgumentException expectedException) {
+            // expected
+        }
+
+        final ProgressTimeline timeline = new ProgressTimeline();
+        timeline.setType(CUSTOM_TYPE);
+        timeline.setArcCount(3);
+        timeline.reset();
+        timeline.setCurrentPlayTime(250);
+        final float[] startAngles = new float[3];
+        final float[] sweepAngles = new float[3];
+        timeline.computeArcAngles(3, startAngles, sweepAngles);
+        for (int i = 0; i < 3; ++i) {
+            assertEquals(90.f, startAngles[i], 1e-2f);
+            assertEquals(10.f * (i + 1), sweepAngles[i], 0.f);
+        }
+    }
+
+    @Test
+    public void invalidRegistrationIsRejected() {
+        try {
+            ArcAnimations.register(CUSTOM_TYPE + 1, null);
+            fail("Registering null animation should fail");
+        } catch (IllegalArgumentException expectedException) {
+            // expected
+        }
+        try {
+            ArcAnimations.register(ProgressTimeline.RACE_CONDITION, ArcAnimations.get(ProgressTimeline.SWIRLY));
+            fail("Registering built in type should fail");
+        } catch (IllegalArgumentException expectedException) {
+            // expected
+        }
+        try {
+            new ProgressTimeline().setType(CUSTOM_TYPE + 1);
+            fail("Unknown type should be rejected");
+        } catch (IllegalArgumentException expectedException) {
+            // expected
+        }
+    }
+}
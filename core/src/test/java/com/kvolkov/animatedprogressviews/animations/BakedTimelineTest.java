@@ -0,0 +1,111 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link AnimationEngine#BAKED} timelines should play same curves as {@link AnimationEngine#TIMELINE} ones:
+ * at sample points of lookup tables values should be equal, and between them values should be interpolated
+ * between exact values of the curve at the neighbouring sample points.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public class BakedTimelineTest {
+
+    private static final int[] ARC_COUNTS = { 1, 5, 15, 30 };
+    private static final long PLAY_TIME = 12000;
+    private static final float MAX_SAMPLE_ERROR = 1e-3f;
+
+    /**
+     * Ripple center is interpolated, so opacities of arcs near it might differ by a few levels.
+     */
+    private static final int MAX_RIPPLE_OPACITY_ERROR = 5;
+
+    private static void assertInterpolated(final AnimationCurve curve, final long playTime, final float value,
+                                           final float maxError, final String name) {
+        final long period = curve.getPeriod();
+        final int intervals = Math.max(2, (int) Math.ceil(period * CurveTableCache.getSampleRate() / 1000.0));
+        final long curveTime = playTime + curve.getPhase();
+        final long time = curveTime > 0 ? curveTime % period : 0;
+        final float position = (float) time * intervals / period;
+        final int sample = (int) position;
+        final float start = curve.getValueAtPeriodFraction((float) sample / intervals);
+        final float end = curve.getValueAtPeriodFraction((float) (sample + 1) / intervals);
+        if (Float.isNaN(start) || Float.isInfinite(start) || Float.isNaN(end) || Float.isInfinite(end)) {
+            // curves of negative factors blow up to infinity, nothing to interpolate
+            return;
+        }
+
+        final float tolerance = maxError + Math.max(Math.abs(start), Math.abs(end)) * 1e-6f;
+        final String message = name + " at " + playTime + " ms";
+        if (position == sample) {
+            assertEquals(message, start, value, tolerance);
+            return;
+        }
+        assertTrue(message + ": " + value + " is not between " + start + " and " + end,
+                value >= Math.min(start, end) - tolerance && value <= Math.max(start, end) + tolerance);
+    }
+
+    @Test
+    public void bakedProgressMatchesTimeline() {
+        for (int type = ProgressTimeline.RACE_CONDITION; type <= ProgressTimeline.GOTCHA; ++type) {
+            for (int arcCount : ARC_COUNTS) {
+                final ProgressTimeline timeline = new ProgressTimeline();
+                timeline.setType(type);
+                timeline.setArcCount(arcCount);
+                timeline.reset();
+                final ProgressTimeline baked = new ProgressTimeline();
+                baked.setType(type);
+                baked.setArcCount(arcCount);
+                baked.setBaked(true);
+                baked.reset();
+
+                for (long time = 0; time <= PLAY_TIME; ++time) {
+                    baked.setCurrentPlayTime(time);
+                    for (int i = 0; i < arcCount; ++i) {
+                        final String name = "type " + type + ", arcs " + arcCount + ", arc " + i;
+                        assertInterpolated(timeline.getAlphaCurve(i), time, baked.getAlphaAngles()[i], MAX_SAMPLE_ERROR, name + " alpha");
+                        assertInterpolated(timeline.getBetaCurve(i), time, baked.getBetaAngles()[i], MAX_SAMPLE_ERROR, name + " beta");
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void bakedOpacityMatchesTimeline() {
+        for (int type = OpacityTimeline.BLINKING; type <= OpacityTimeline.RIPPLE; ++type) {
+            for (int arcCount : ARC_COUNTS) {
+                final OpacityTimeline timeline = new OpacityTimeline();
+                timeline.setType(type);
+                timeline.setArcCount(arcCount);
+                timeline.reset();
+                final OpacityTimeline baked = new OpacityTimeline();
+                baked.setType(type);
+                baked.setArcCount(arcCount);
+                baked.setBaked(true);
+                baked.reset();
+
+                for (long time = 0; time <= PLAY_TIME; ++time) {
+                    timeline.setCurrentPlayTime(time);
+                    baked.setCurrentPlayTime(time);
+                    final String name = "type " + type + ", arcs " + arcCount;
+                    if (type == OpacityTimeline.RIPPLE) {
+                        for (int i = 0; i < arcCount; ++i) {
+                            assertEquals(name + ", arc " + i + " at " + time + " ms",
+                                    timeline.getOpacities()[i], baked.getOpacities()[i], MAX_RIPPLE_OPACITY_ERROR);
+                        }
+                        continue;
+                    }
+                    for (int i = 0; i < arcCount; ++i) {
+                        // opacities are truncated to ints
+                        assertInterpolated(timeline.getCurve(i), time, baked.getOpacities()[i], 1.f, name + ", arc " + i);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Curves of built in animations played by {@link ProgressTimeline} should reproduce ones of the original
+ * {@code ValueAnimator} based {@code ProgressAnimation}. Its animators are described here as they were set up,
+ * and evaluated the same way framework animators, keyframe sets and interpolators do.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public class BuiltInAnimationsTest {
+
+    private static final int[] ARC_COUNTS = { 1, 5, 15, 30 };
+    private static final long TIME_STEP = 7;
+
+    /**
+     * Framework interpolators.
+     */
+    private static final int LINEAR = 0;
+    private static final int ACCELERATE = 1;
+    private static final int DECELERATE = 2;
+    private static final int ACCELERATE_DECELERATE = 3;
+
+    private static final long[] DURATIONS = { 3000, 6000, 5000, 5000, 1000, 1000, 1000, 1000, 1000, 1000, 1500 };
+    private static final float[] PEAK_BETA = { 180.f, 180.f, 180.f, 90.f, 60.f, 60.f, 60.f, 60.f, 270.f, 360.f, 360.f };
+    private static final float INITIAL_ALPHA = 270.f;
+    private static final float INITIAL_BETA = 0.1f;
+
+    /**
+     * Setup of a single original animator.
+     */
+    private static final class Animator {
+
+        final long mDuration;
+        final boolean mReverse;
+        final int mInterpolator;
+        final float mFactor;
+        final float mMultiplier;
+        final float[] mValues;
+
+        Animator(long duration, boolean reverse, int interpolator, float factor, float multiplier, float... values) {
+            mDuration = duration;
+            mReverse = reverse;
+            mInterpolator = interpolator;
+            mFactor = factor;
+            mMultiplier = multiplier;
+            mValues = values;
+        }
+
+        /**
+         * Same as {@code ValueAnimator} started at zero time, seen at specified play time. Fraction of iteration
+         * is computed from integer time, since float rounding of it is not a part of the curve.
+         */
+        float getValue(long playTime) {
+            final long iteration = playTime / mDuration;
+            float iterationFraction = (float) (playTime - iteration * mDuration) / mDuration;
+            if (mReverse && (iteration & 1) == 1) {
+                iterationFraction = 1.f - iterationFraction;
+            }
+            return getKeyframeValue(interpolate(iterationFraction)) * mMultiplier;
+        }
+
+        /**
+         * Same as framework interpolators.
+         */
+        private float interpolate(float input) {
+            switch (mInterpolator) {
+                case ACCELERATE:
+                    return mFactor == 1.f ? input * input : (float) Math.pow(input, 2.0 * mFactor);
+                case DECELERATE:
+                    return mFactor == 1.f ? 1.f - (1.f - input) * (1.f - input) : (float) (1.0 - Math.pow(1.0 - input, 2 * mFactor));
+                case ACCELERATE_DECELERATE:
+                    return (float) (Math.cos((input + 1) * Math.PI) / 2.0f) + 0.5f;
+                case LINEAR:
+                default:
+                    return input;
+            }
+        }
+
+        /**
+         * Same as framework float keyframe set with evenly spaced keyframes.
+         */
+        private float getKeyframeValue(float fraction) {
+            final int intervals = mValues.length - 1;
+            if (intervals == 1) {
+                return mValues[0] + fraction * (mValues[1] - mValues[0]);
+            }
+
+            int interval;
+            if (fraction <= 0.f) {
+                interval = 0;
+            } else if (fraction >= 1.f) {
+                interval = intervals - 1;
+            } else {
+                interval = 0;
+                while (fraction >= (float) (interval + 1) / intervals) {
+                    ++interval;
+                }
+            }
+            final float prevFraction = (float) interval / intervals;
+            final float nextFraction = (float) (interval + 1) / intervals;
+            final float intervalFraction = (fraction - prevFraction) / (nextFraction - prevFraction);
+            return mValues[interval] + intervalFraction * (mValues[interval + 1] - mValues[interval]);
+        }
+
+        /**
+         * @return Max change of value per change of eased fraction.
+         */
+        float getMaxSlope() {
+            float slope = 0.f;
+            for (int i = 1; i < mValues.length; ++i) {
+                slope = Math.max(slope, Math.abs(mValues[i] - mValues[i - 1]) * (mValues.length - 1));
+            }
+            return slope * Math.abs(mMultiplier);
+        }
+    }
+
+    private static Animator createAlphaAnimator(int type, int index, int arcCount) {
+        final long duration = DURATIONS[type];
+        final float a = INITIAL_ALPHA;
+        switch (type) {
+            case ProgressTimeline.RACE_CONDITION: {
+                final float factor = 0.05f * (index + 1);
+                return new Animator(duration, false, DECELERATE, (index % 2 == 0) ? 1.f + factor : 1.f - factor, 1.f,
+                        a, 360.f + a, 360.f * 2.f + a, 360.f * 3.f + a);
+            }
+            case ProgressTimeline.SWIRLY:
+                return new Animator(duration, true, DECELERATE, 1.f - 0.05f * index, 1.f,
+                        a, 360.f + a, 360.f * 2.f + a, 360.f * 3.f + a, 360.f * 3.5f + a);
+            case ProgressTimeline.WHIRPOOL:
+                return new Animator(duration, false, DECELERATE, 1.f + 0.1f * (index + 1), 1.f,
+                        a, 360.f + a, 360.f * 2.f + a, 360.f * 3.f + a, 360.f * 4.f + a, 360.f * 5.f + a, 360.f * 6.f + a);
+            case ProgressTimeline.HYPERLOOP: {
+                final float arcCountScaleFactor = 5.f / arcCount;
+                return new Animator(duration, false, ACCELERATE, 1.f - arcCountScaleFactor * 0.1f * (index + 1.f) * (index + 1.f), 1.f,
+                        a, 360.f - a, 360.f * 2.f + a, 360.f * 3.f - a, 360.f * 4.f + a);
+            }
+            case ProgressTimeline.METRONOME_1:
+                return new Animator(duration, true, ACCELERATE_DECELERATE, 1.f, 1.f, -0.f, 0.f);
+            case ProgressTimeline.METRONOME_2:
+                return new Animator(duration, true, ACCELERATE_DECELERATE, 1.f, 1.f, -5.f, 5.f, -5.f);
+            case ProgressTimeline.METRONOME_3:
+                return new Animator(duration, true, ACCELERATE_DECELERATE, 1.f, 1.f, 10.f, INITIAL_BETA, 10.f, INITIAL_BETA, 10.f);
+            case ProgressTimeline.METRONOME_4:
+                return new Animator(duration, true, ACCELERATE_DECELERATE, 1.f, 1.f, INITIAL_BETA, 20.f, INITIAL_BETA);
+            case ProgressTimeline.BUTTERFLY_KNIFE:
+                return new Animator(duration, true, ACCELERATE, 1.f + 0.05f * (index * index), 1.f, INITIAL_BETA, 20.f, INITIAL_BETA);
+            case ProgressTimeline.RAINBOW:
+                return new Animator(duration, true, ACCELERATE_DECELERATE, 1.f, 1.f, INITIAL_BETA, 180.f);
+            case ProgressTimeline.GOTCHA:
+            default:
+                return new Animator(duration, true, ACCELERATE_DECELERATE, 1.f, 1.f, INITIAL_BETA, 360.f);
+        }
+    }
+
+    private static Animator createBetaAnimator(int type, int index, int arcCount) {
+        final long duration = DURATIONS[type];
+        final float peak = PEAK_BETA[type];
+        switch (type) {
+            case ProgressTimeline.RACE_CONDITION: {
+                final float factor = 0.05f * (index + 1);
+                return new Animator(duration, false, DECELERATE, (index % 2 == 0) ? 1.f + factor : 1.f - factor, 1.f,
+                        INITIAL_BETA, peak, INITIAL_BETA);
+            }
+            case ProgressTimeline.SWIRLY:
+                return new Animator(duration, true, DECELERATE, 1.f + 0.05f * index, 1.f, INITIAL_BETA, peak, INITIAL_BETA);
+            case ProgressTimeline.WHIRPOOL:
+                return new Animator(duration, false, DECELERATE, 1.f - 0.05f * (index + 1), 1.f, INITIAL_BETA, peak, INITIAL_BETA);
+            case ProgressTimeline.HYPERLOOP: {
+                final float arcCountScaleFactor = 5.f / arcCount;
+                final float factor = 1.f - arcCountScaleFactor *  0.1f * ( (float) (index + 1) * (index + 1) );
+                return new Animator(duration, true, ACCELERATE, factor, 1.f + 0.01f * (index + 1.f), INITIAL_BETA, peak, INITIAL_BETA);
+            }
+            case ProgressTimeline.METRONOME_1:
+            case ProgressTimeline.METRONOME_2:
+            case ProgressTimeline.METRONOME_3:
+            case ProgressTimeline.METRONOME_4:
+            case ProgressTimeline.BUTTERFLY_KNIFE:
+                return new Animator(duration, true, ACCELERATE_DECELERATE, 1.f, 1.f, peak, -peak);
+            case ProgressTimeline.RAINBOW:
+            case ProgressTimeline.GOTCHA:
+            default:
+                return new Animator(duration, false, LINEAR, 1.f, 1.f, 0.f, peak);
+        }
+    }
+
+    private static void assertCurve(Animator expected, AnimationCurve actual, String name) {
+        final float tolerance = FastEasing.MAX_ERROR * expected.getMaxSlope() + 1e-3f;
+        for (long time = 0; time <= expected.mDuration * 4; time += TIME_STEP) {
+            final float expectedValue = expected.getValue(time);
+            final float actualValue = actual.getValue(time);
+            if (Float.compare(expectedValue, actualValue) == 0
+                    || (isNotFinite(expectedValue) && isNotFinite(actualValue))) {
+                // exactly same, or both blow up with negative factors of far arcs
+                continue;
+            }
+            assertEquals(name + " at " + time + " ms", expectedValue, actualValue,
+                    tolerance + Math.abs(expectedValue) * 1e-5f);
+        }
+    }
+
+    private static boolean isNotFinite(float value) {
+        return Float.isNaN(value) || Float.isInfinite(value);
+    }
+
+    @Test
+    public void curvesReproduceOriginalAnimators() {
+        final ProgressTimeline timeline = new ProgressTimeline();
+        for (int type = ProgressTimeline.RACE_CONDITION; type <= ProgressTimeline.GOTCHA; ++type) {
+            timeline.setType(type);
+            for (int arcCount : ARC_COUNTS) {
+                timeline.setArcCount(arcCount);
+                timeline.reset();
+                assertEquals(arcCount, timeline.getCurveCount());
+                assertEquals(INITIAL_ALPHA, timeline.getInitialAlphaValue(), 0.f);
+                for (int i = 0; i < arcCount; ++i) {
+                    final String name = "type " + type + ", arcs " + arcCount + ", arc " + i;
+                    assertCurve(createAlphaAnimator(type, i, arcCount), timeline.getAlphaCurve(i), name + " alpha");
+                    assertCurve(createBetaAnimator(type, i, arcCount), timeline.getBetaCurve(i), name + " beta");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testStubHasNoCurves() {
+        final ProgressTimeline timeline = new ProgressTimeline();
+        timeline.setType(ProgressTimeline.OPACITY_ANIMATION_TEST_STUB);
+        for (int arcCount : ARC_COUNTS) {
+            timeline.setArcCount(arcCount);
+            timeline.reset();
+            assertEquals(0, timeline.getCurveCount());
+            assertTrue(timeline.getPeriod() == 0);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link CallbackList} should tick callbacks in order of registration, and handle callbacks registering or
+ * unregistering others, or themselves, while being ticked.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public class CallbackListTest {
+
+    /**
+     * Records frames it was ticked on into a shared log.
+     */
+    private static class RecordingCallback implements FrameClock.Callback {
+
+        private final String mName;
+        private final List<String> mLog;
+        private boolean mKeepTicking = true;
+
+        RecordingCallback(final String name, final List<String> log) {
+            mName = name;
+            mLog = log;
+        }
+
+        @Override
+        public boolean onFrame(long frameTimeNanos) {
+            mLog.add(mName + "@" + frameTimeNanos);
+            onTicked();
+            return mKeepTicking;
+        }
+
+        void onTicked() {
+        }
+    }
+
+    private final List<String> mLog = new ArrayList<>();
+    private final CallbackList mCallbacks = new CallbackList();
+
+    private void assertLog(final String... entries) {
+        final List<String> expected = new ArrayList<>();
+        for (String entry : entries) {
+            expected.add(entry);
+        }
+        assertEquals(expected, mLog);
+        mLog.clear();
+    }
+
+    @Test
+    public void addingSameCallbackTwiceHasNoEffect() {
+        final RecordingCallback a = new RecordingCallback("a", mLog);
+        mCallbacks.add(a);
+        mCallbacks.add(a);
+        assertEquals(1, mCallbacks.size());
+
+        mCallbacks.dispatch(1);
+        assertLog("a@1");
+
+        mCallbacks.remove(a);
+        assertTrue(mCallbacks.isEmpty());
+        assertFalse(mCallbacks.contains(a));
+    }
+
+    @Test
+    public void idleCallbacksAreRemovedKeepingOrder() {
+        final int count = 100;
+        final RecordingCallback[] callbacks = new RecordingCallback[count];
+        for (int i = 0; i < count; ++i) {
+            callbacks[i] = new RecordingCallback(String.valueOf(i), mLog);
+            callbacks[i].mKeepTicking = i % 2 == 0;
+            mCallbacks.add(callbacks[i]);
+        }
+
+        mCallbacks.dispatch(1);
+        assertEquals(count, mLog.size());
+        mLog.clear();
+        assertEquals(count / 2, mCallbacks.size());
+
+        mCallbacks.dispatch(2);
+        for (int i = 0; i < count / 2; ++i) {
+            assertEquals((i * 2) + "@2", mLog.get(i));
+        }
+        assertEquals(count / 2, mLog.size());
+        for (int i = 0; i < count; ++i) {
+            assertEquals("callback " + i, i % 2 == 0, mCallbacks.contains(callbacks[i]));
+        }
+    }
+
+    @Test
+    public void callbackUnregisteredDuringFrameIsNotTicked() {
+        final RecordingCallback c = new RecordingCallback("c", mLog);
+        final RecordingCallback a = new RecordingCallback("a", mLog) {
+            @Override
+            void onTicked() {
+                mCallbacks.remove(c);
+            }
+        };
+        final RecordingCallback b = new RecordingCallback("b", mLog);
+        mCallbacks.add(a);
+        mCallbacks.add(b);
+        mCallbacks.add(c);
+
+        mCallbacks.dispatch(1);
+        assertLog("a@1", "b@1");
+        assertEquals(2, mCallbacks.size());
+
+        mCallbacks.dispatch(2);
+        assertLog("a@2", "b@2");
+    }
+
+    @Test
+    public void callbackUnregisteringItselfIsNotTickedAgain() {
+        final RecordingCallback b = new RecordingCallback("b", mLog);
+        final RecordingCallback a = new RecordingCallback("a", mLog) {
+            @Override
+            void onTicked() {
+                mCallbacks.remove(this);
+            }
+        };
+        mCallbacks.add(a);
+        mCallbacks.add(b);
+
+        mCallbacks.dispatch(1);
+        assertLog("a@1", "b@1");
+        assertFalse(mCallbacks.contains(a));
+
+        mCallbacks.dispatch(2);
+        assertLog("b@2");
+    }
+
+    @Test
+    public void callbackRegisteredDuringFrameIsTickedFromNextOne() {
+        final RecordingCallback c = new RecordingCallback("c", mLog);
+        final RecordingCallback a = new RecordingCallback("a", mLog) {
+            @Override
+            void onTicked() {
+                mCallbacks.add(c);
+            }
+        };
+        final RecordingCallback b = new RecordingCallback("b", mLog);
+        mCallbacks.add(a);
+        mCallbacks.add(b);
+
+        mCallbacks.dispatch(1);
+        assertLog("a@1", "b@1");
+        assertEquals(3, mCallbacks.size());
+
+        mCallbacks.dispatch(2);
+        assertLog("a@2", "b@2", "c@2");
+    }
+
+    @Test
+    public void callbackReregisteredDuringFrameIsTickedFromNextOne() {
+        final RecordingCallback b = new RecordingCallback("b", mLog);
+        final RecordingCallback a = new RecordingCallback("a", mLog) {
+            private boolean mReregistered = false;
+
+            @Override
+            void onTicked() {
+                if (!mReregistered) {
+                    mCallbacks.remove(b);
+                    mCallbacks.add(b);
+                    mReregistered = true;
+                }
+            }
+        };
+        mCallbacks.add(a);
+        mCallbacks.add(b);
+
+        mCallbacks.dispatch(1);
+        assertLog("a@1");
+        assertEquals(2, mCallbacks.size());
+
+        mCallbacks.dispatch(2);
+        assertLog("a@2", "b@2");
+        assertEquals(2, mCallbacks.size());
+    }
+
+    @Test
+    public void idleCallbackReregisteringItselfIsRemoved() {
+        final RecordingCallback a = new RecordingCallback("a", mLog) {
+            @Override
+            void onTicked() {
+                mCallbacks.remove(this);
+                mCallbacks.add(this);
+            }
+        };
+        a.mKeepTicking = false;
+        mCallbacks.add(a);
+
+        mCallbacks.dispatch(1);
+        assertLog("a@1");
+        assertTrue(mCallbacks.isEmpty());
+
+        mCallbacks.dispatch(2);
+        assertLog();
+    }
+}
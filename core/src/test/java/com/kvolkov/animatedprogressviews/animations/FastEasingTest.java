@@ -0,0 +1,81 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link FastEasing} should stay within {@link FastEasing#MAX_ERROR} from exact {@link Easing} for every easing
+ * and factor used by built in animations.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public class FastEasingTest {
+
+    private static final int SAMPLES = 10000;
+    private static final int MAX_ARC_COUNT = 30;
+
+    private static void assertWithinMaxError(final AnimationCurve curve, final String name) {
+        final FastEasing fastEasing = curve.getFastEasing();
+        for (int i = 0; i <= SAMPLES; ++i) {
+            final float input = (float) i / SAMPLES;
+            final float exact = Easing.apply(curve.getEasing(), curve.getEasingFactor(), input);
+            final float value = fastEasing.getInterpolation(input);
+            if (Float.compare(value, exact) == 0) {
+                // also covers infinite values of negative factors, which are evaluated exactly
+                continue;
+            }
+            final float error = Math.abs(value - exact);
+            assertTrue(name + ", easing " + curve.getEasing() + ", factor " + curve.getEasingFactor()
+                    + ", input " + input + ": error " + error, error <= FastEasing.MAX_ERROR);
+        }
+    }
+
+    @Test
+    public void progressEasingsAreWithinMaxError() {
+        final ProgressTimeline timeline = new ProgressTimeline();
+        for (int type = ProgressTimeline.OPACITY_ANIMATION_TEST_STUB; type <= ProgressTimeline.GOTCHA; ++type) {
+            timeline.setType(type);
+            for (int arcCount = 1; arcCount <= MAX_ARC_COUNT; ++arcCount) {
+                timeline.setArcCount(arcCount);
+                timeline.reset();
+                for (int i = 0; i < timeline.getCurveCount(); ++i) {
+                    final String name = "progress type " + type + ", arcs " + arcCount + ", arc " + i;
+                    assertWithinMaxError(timeline.getAlphaCurve(i), name + " alpha");
+                    assertWithinMaxError(timeline.getBetaCurve(i), name + " beta");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void opacityEasingsAreWithinMaxError() {
+        final OpacityTimeline timeline = new OpacityTimeline();
+        for (int type = OpacityTimeline.NONE; type <= OpacityTimeline.RIPPLE; ++type) {
+            timeline.setType(type);
+            for (int arcCount = 1; arcCount <= MAX_ARC_COUNT; ++arcCount) {
+                timeline.setArcCount(arcCount);
+                timeline.reset();
+                for (int i = 0; i < timeline.getCurveCount(); ++i) {
+                    assertWithinMaxError(timeline.getCurve(i), "opacity type " + type + ", arcs " + arcCount + ", arc " + i);
+                }
+                if (timeline.getRippleCurve() != null) {
+                    assertWithinMaxError(timeline.getRippleCurve(), "opacity type " + type + ", arcs " + arcCount + ", ripple");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void instancesAreSharedAndBounded() {
+        assertSame(FastEasing.obtain(Easing.DECELERATE, 1.5f), FastEasing.obtain(Easing.DECELERATE, 1.5f));
+
+        for (int i = 0; i < FastEasing.MAX_CACHED_INSTANCES * 2; ++i) {
+            FastEasing.obtain(Easing.ACCELERATE, 1.f + i / 1000.f);
+        }
+        assertEquals(FastEasing.MAX_CACHED_INSTANCES, FastEasing.getCachedInstanceCount());
+    }
+}
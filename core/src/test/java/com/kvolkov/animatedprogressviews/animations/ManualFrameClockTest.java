@@ -0,0 +1,120 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link ManualFrameClock} should only advance when stepped, and tick callbacks registered at that moment,
+ * including ones registering or unregistering each other while being ticked.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public class ManualFrameClockTest {
+
+    private static final long FRAME_INTERVAL_NANOS = 10000000L;
+
+    @Test
+    public void stepsTicksCallbacksWithFrameTime() {
+        final ManualFrameClock clock = new ManualFrameClock(FRAME_INTERVAL_NANOS);
+        final List<Long> frames = new ArrayList<>();
+        clock.register(new FrameClock.Callback() {
+            @Override
+            public boolean onFrame(long frameTimeNanos) {
+                frames.add(frameTimeNanos);
+                return frames.size() < 3;
+            }
+        });
+        assertEquals(0, clock.getTimeMillis());
+
+        clock.step(5);
+        assertEquals(5 * FRAME_INTERVAL_NANOS, clock.getTimeNanos());
+        assertEquals(50, clock.getTimeMillis());
+        assertEquals(3, frames.size());
+        for (int i = 0; i < frames.size(); ++i) {
+            assertEquals((i + 1) * FRAME_INTERVAL_NANOS, (long) frames.get(i));
+        }
+        assertEquals(0, clock.getCallbackCount());
+
+        clock.advanceNanos(7);
+        assertEquals(5 * FRAME_INTERVAL_NANOS + 7, clock.getTimeNanos());
+    }
+
+    @Test
+    public void callbacksRegisterAndUnregisterEachOtherWhileTicked() {
+        final ManualFrameClock clock = new ManualFrameClock(FRAME_INTERVAL_NANOS);
+        final int[] ticks = new int[3];
+        final FrameClock.Callback third = new FrameClock.Callback() {
+            @Override
+            public boolean onFrame(long frameTimeNanos) {
+                ++ticks[2];
+                return true;
+            }
+        };
+        final FrameClock.Callback second = new FrameClock.Callback() {
+            @Override
+            public boolean onFrame(long frameTimeNanos) {
+                ++ticks[1];
+                return true;
+            }
+        };
+        final FrameClock.Callback first = new FrameClock.Callback() {
+            @Override
+            public boolean onFrame(long frameTimeNanos) {
+                ++ticks[0];
+                // swap second for third on first frame, and unregister itself on second one
+                if (ticks[0] == 1) {
+                    clock.unregister(second);
+                    clock.register(third);
+                } else {
+                    clock.unregister(this);
+                }
+                return true;
+            }
+        };
+        clock.register(first);
+        clock.register(second);
+
+        clock.step();
+        assertEquals(1, ticks[0]);
+        assertEquals(0, ticks[1]);
+        assertEquals(0, ticks[2]);
+        assertFalse(clock.isRegistered(second));
+        assertTrue(clock.isRegistered(third));
+        assertEquals(2, clock.getCallbackCount());
+
+        clock.step();
+        assertEquals(2, ticks[0]);
+        assertEquals(1, ticks[2]);
+        assertFalse(clock.isRegistered(first));
+        assertEquals(1, clock.getCallbackCount());
+
+        clock.step(3);
+        assertEquals(2, ticks[0]);
+        assertEquals(0, ticks[1]);
+        assertEquals(4, ticks[2]);
+    }
+
+    @Test
+    public void invalidArgumentsAreRejected() {
+        try {
+            new ManualFrameClock(0);
+            fail("Frame interval should be positive");
+        } catch (IllegalArgumentException expectedException) {
+            // expected
+        }
+        try {
+            new ManualFrameClock().advanceNanos(-1);
+            fail("Time should not go backwards");
+        } catch (IllegalArgumentException expectedException) {
+            // expected
+        }
+    }
+}
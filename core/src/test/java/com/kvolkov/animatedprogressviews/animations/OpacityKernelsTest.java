@@ -0,0 +1,95 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link OpacityKernels#POWER} ripple table should reproduce opacities of the original ripple animator,
+ * including arcs behind ripple center, where fractional power of negative distance is not defined.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public class OpacityKernelsTest {
+
+    /**
+     * Odd and even integer exponents are included, those don't produce NaN behind ripple center.
+     */
+    private static final int[] ARC_COUNTS = { 1, 5, 15, 20, 30, 40 };
+    private static final int INITIAL_OPACITY = 255;
+    private static final int TARGET_OPACITY = 150;
+
+    /**
+     * Ripple positions are checked on a grid of table samples, so no interpolation is involved.
+     */
+    private static final float RIPPLE_STEP = 1.f / 8.f;
+
+    /**
+     * Same as the original ripple animator update.
+     */
+    private static int computeOriginalOpacity(int index, float rippleRadius, int arcCount) {
+        final float opacityRange = (float) INITIAL_OPACITY - TARGET_OPACITY;
+        final float funcXRange = arcCount / 2.f;
+        final float pow = arcCount / 20.f;
+        final float xVal = (float) index - rippleRadius;
+        final float opacityArcFactor = (float) (1.f - Math.pow(xVal, pow) / Math.pow(funcXRange, pow));
+        int rippleOpacityValue = TARGET_OPACITY + Math.round(opacityRange * opacityArcFactor);
+        if (rippleOpacityValue > 255) {
+            rippleOpacityValue = 255;
+        } else if (rippleOpacityValue < TARGET_OPACITY) {
+            rippleOpacityValue = TARGET_OPACITY;
+        }
+        return rippleOpacityValue;
+    }
+
+    @Test
+    public void rippleTableMatchesOriginalFormula() {
+        for (int arcCount : ARC_COUNTS) {
+            final OpacityTimeline timeline = new OpacityTimeline();
+            timeline.setType(OpacityTimeline.RIPPLE);
+            timeline.setOpacityValues(INITIAL_OPACITY, TARGET_OPACITY);
+            timeline.setArcCount(arcCount);
+            timeline.reset();
+
+            final float funcXRange = arcCount / 2.f;
+            for (float rippleRadius = -funcXRange; rippleRadius <= arcCount + funcXRange; rippleRadius += RIPPLE_STEP) {
+                timeline.applyRipple(rippleRadius);
+                final int[] opacities = timeline.getOpacities();
+                for (int i = 0; i < arcCount; ++i) {
+                    assertEquals("arcs " + arcCount + ", ripple " + rippleRadius + ", arc " + i,
+                            computeOriginalOpacity(i, rippleRadius, arcCount), opacities[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void undefinedPowerFactorKeepsTargetOpacity() {
+        // 5 / 20 is a fractional exponent, power of negative distance is NaN
+        assertEquals(0.f, OpacityKernels.POWER.getFactor(-1.f, 5), 0.f);
+        assertEquals(TARGET_OPACITY, computeOriginalOpacity(3, 4.f, 5));
+
+        final OpacityTimeline timeline = new OpacityTimeline();
+        timeline.setType(OpacityTimeline.RIPPLE);
+        timeline.setOpacityValues(INITIAL_OPACITY, TARGET_OPACITY);
+        timeline.setArcCount(5);
+        timeline.reset();
+        timeline.applyRipple(4.f);
+        assertEquals(TARGET_OPACITY, timeline.getOpacities()[3]);
+    }
+
+    @Test
+    public void oddIntegerPowerSaturatesBehindRippleCenter() {
+        // 20 / 20 is an integer exponent, factor behind ripple center exceeds 1
+        assertEquals(2.f, OpacityKernels.POWER.getFactor(-10.f, 20), 1e-6f);
+
+        final OpacityTimeline timeline = new OpacityTimeline();
+        timeline.setType(OpacityTimeline.RIPPLE);
+        timeline.setOpacityValues(INITIAL_OPACITY, TARGET_OPACITY);
+        timeline.setArcCount(20);
+        timeline.reset();
+        timeline.applyRipple(15.f);
+        assertEquals(255, timeline.getOpacities()[5]);
+    }
+}
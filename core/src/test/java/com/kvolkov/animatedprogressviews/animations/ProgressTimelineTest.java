@@ -0,0 +1,52 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Resizing of {@link ProgressTimeline} should give same curves as a timeline created for the new number of arcs.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public class ProgressTimelineTest {
+
+    private static ProgressTimeline createTimeline(final int type, final int arcCount) {
+        final ProgressTimeline timeline = new ProgressTimeline();
+        timeline.setType(type);
+        timeline.setArcCount(arcCount);
+        timeline.reset();
+        return timeline;
+    }
+
+    private static void assertSameCurves(final ProgressTimeline expected, final ProgressTimeline actual) {
+        assertEquals(expected.getArcCount(), actual.getArcCount());
+        assertEquals(expected.getCurveCount(), actual.getCurveCount());
+        for (int i = 0; i < expected.getCurveCount(); ++i) {
+            assertEquals("Alpha curve " + i, expected.getAlphaCurve(i), actual.getAlphaCurve(i));
+            assertEquals("Beta curve " + i, expected.getBetaCurve(i), actual.getBetaCurve(i));
+        }
+    }
+
+    @Test
+    public void resizeRebuildsCurvesOfAnimationDependingOnArcCount() {
+        final ProgressTimeline timeline = createTimeline(ProgressTimeline.HYPERLOOP, 5);
+
+        assertFalse(timeline.resizeArcs(8));
+        timeline.reset();
+
+        assertSameCurves(createTimeline(ProgressTimeline.HYPERLOOP, 8), timeline);
+    }
+
+    @Test
+    public void resizeKeepsCurvesOfAnimationNotDependingOnArcCount() {
+        final ProgressTimeline timeline = createTimeline(ProgressTimeline.RACE_CONDITION, 5);
+
+        assertTrue(timeline.resizeArcs(8));
+
+        assertSameCurves(createTimeline(ProgressTimeline.RACE_CONDITION, 8), timeline);
+    }
+}
@@ -0,0 +1,296 @@
+package com.kvolkov.animatedprogressviews;
+
+import android.graphics.Bitmap;
+import android.support.annotation.Nullable;
+import android.util.LruCache;
+
+import com.kvolkov.animatedprogressviews.animations.OpacityKernel;
+
+import java.util.Arrays;
+
+/**
+ * Process-wide cache of rendered frames shared by {@link ArcLoadingView}'s with identical configuration.
+ * All animations are periodic, so one period of frames is rendered once per configuration into bitmaps,
+ * and every view with a matching {@link Key} just draws current frame bitmap.
+ *
+ * Frames are rendered lazily, when first needed. Least recently used configurations are evicted to keep all
+ * cached frames within byte budget. Configurations which don't fit into the budget are not cached at all.
+ *
+ * Should be used from the main thread only.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public final class ArcFrameCache {
+
+    public static final int DEFAULT_MAX_BYTES = 8 * 1024 * 1024;
+    public static final int DEFAULT_FRAME_RATE = 30;
+
+    private static ArcFrameCache sInstance;
+
+    private final LruCache<Key, Entry> mEntries;
+    private int mFrameRate = DEFAULT_FRAME_RATE;
+
+    /**
+     * @return Shared instance.
+     */
+    public static ArcFrameCache getInstance() {
+        if (sInstance == null) {
+            sInstance = new ArcFrameCache();
+        }
+        return sInstance;
+    }
+
+    private ArcFrameCache() {
+        mEntries = new LruCache<Key, Entry>(DEFAULT_MAX_BYTES) {
+            @Override
+            protected int sizeOf(Key key, Entry entry) {
+                return entry.getByteCount();
+            }
+
+            @Override
+            protected void entryRemoved(boolean evicted, Key key, Entry oldValue, Entry newValue) {
+                oldValue.release();
+            }
+        };
+    }
+
+    /**
+     * Set byte budget for all cached frames. Evicts least recently used configurations to fit in.
+     *
+     * @param maxBytes  Max number of bytes used by cached frames.
+     */
+    public void setMaxBytes(int maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Should be positive.");
+        }
+
+        mEntries.resize(maxBytes);
+    }
+
+    /**
+     * @return Max number of bytes used by cached frames.
+     */
+    public int getMaxBytes() {
+        return mEntries.maxSize();
+    }
+
+    /**
+     * Set number of frames rendered per second of animation. Clears the cache.
+     *
+     * @param frameRate Frames per second, in range [1..60].
+     */
+    public void setFrameRate(int frameRate) {
+        if (frameRate < 1 || frameRate > 60) {
+            throw new IllegalArgumentException("Should be in range [1..60]");
+        }
+
+        mFrameRate = frameRate;
+        clear();
+    }
+
+    /**
+     * @return Number of frames rendered per second of animation.
+     */
+    public int getFrameRate() {
+        return mFrameRate;
+    }
+
+    /**
+     * Removes all cached frames.
+     */
+    public void clear() {
+        mEntries.evictAll();
+    }
+
+    /**
+     * Returns cache entry for configuration, creating an empty one if needed.
+     *
+     * @param key       Configuration of the view.
+     * @param period    Time in [ms] after which animation repeats.
+     * @return  An {@link Entry}, or {@code null} in case frames of this configuration don't fit into byte budget.
+     */
+    @Nullable
+    Entry obtain(Key key, long period) {
+        Entry entry = mEntries.get(key);
+        if (entry != null) {
+            return entry;
+        }
+
+        if (period <= 0 || key.mWidth <= 0 || key.mHeight <= 0) {
+            return null;
+        }
+        final int frameCount = (int) Math.max(1, Math.ceil(period * mFrameRate / 1000.0));
+        final long byteCount = (long) frameCount * key.mWidth * key.mHeight * 4;
+        if (byteCount > mEntries.maxSize()) {
+            return null;
+        }
+
+        entry = new Entry(period, frameCount, key.mWidth, key.mHeight);
+        mEntries.put(key, entry);
+        return entry;
+    }
+
+    /**
+     * Rendered frames of one period of a configuration.
+     */
+    static final class Entry {
+
+        private final long mPeriod;
+        private final int mWidth;
+        private final int mHeight;
+        private final Bitmap[] mFrames;
+        private boolean mReleased = false;
+
+        private Entry(long period, int frameCount, int width, int height) {
+            mPeriod = period;
+            mWidth = width;
+            mHeight = height;
+            mFrames = new Bitmap[frameCount];
+        }
+
+        /**
+         * @return {@code false} in case entry was evicted from cache, so it's frames can't be used anymore.
+         */
+        boolean isValid() {
+            return !mReleased;
+        }
+
+        /**
+         * @param playTime  Time in [ms] since animation start.
+         * @return  Index of frame to display.
+         */
+        int getFrameIndex(long playTime) {
+            final long time = playTime > 0 ? playTime % mPeriod : 0;
+            return (int) (time * mFrames.length / mPeriod);
+        }
+
+        /**
+         * @param index Index of frame.
+         * @return  Play time in [ms] at which frame should be rendered.
+         */
+        long getFrameTime(int index) {
+            return index * mPeriod / mFrames.length;
+        }
+
+        /**
+         * @param index Index of frame.
+         * @return  Rendered frame or {@code null} if not rendered yet.
+         */
+        @Nullable
+        Bitmap getFrame(int index) {
+            return mFrames[index];
+        }
+
+        /**
+         * Allocates bitmap for a frame to render into.
+         *
+         * @param index Index of frame.
+         * @return  Transparent bitmap of configuration size, stored as frame.
+         */
+        Bitmap createFrame(int index) {
+            final Bitmap frame = Bitmap.createBitmap(mWidth, mHeight, Bitmap.Config.ARGB_8888);
+            mFrames[index] = frame;
+            return frame;
+        }
+
+        private int getByteCount() {
+            return mFrames.length * mWidth * mHeight * 4;
+        }
+
+        /**
+         * Drops frames, so they are reclaimed by GC. Frames are not recycled, since views might still draw them
+         * from display lists recorded before eviction, e.g. while paused, and those are replayed without {@code onDraw()}.
+         */
+        private void release() {
+            mReleased = true;
+            Arrays.fill(mFrames, null);
+        }
+    }
+
+    /**
+     * Configuration of a view affecting rendered frames.
+     */
+    static final class Key {
+
+        private final int mProgressAnimationType;
+        private final int mOpacityAnimationType;
+        private final OpacityKernel mRippleKernel;
+        private final int mAnimationEngine;
+        private final int mArcCount;
+        private final int mRenderedArcCount;
+        private final boolean mLowDetail;
+        private final boolean mHighArcCount;
+        private final float mArcSpacing;
+        private final float mArcStrokeWidth;
+        private final int mPrimaryColor;
+        @Nullable
+        private final int[] mColors;
+        private final int mWidth;
+        private final int mHeight;
+
+        Key(int progressAnimationType, int opacityAnimationType, OpacityKernel rippleKernel, int animationEngine, int arcCount,
+            int renderedArcCount, boolean lowDetail, boolean highArcCount, float arcSpacing, float arcStrokeWidth,
+            int primaryColor, @Nullable int[] colors, int width, int height) {
+            mProgressAnimationType = progressAnimationType;
+            mOpacityAnimationType = opacityAnimationType;
+            mRippleKernel = rippleKernel;
+            mAnimationEngine = animationEngine;
+            mArcCount = arcCount;
+            mRenderedArcCount = renderedArcCount;
+            mLowDetail = lowDetail;
+            mHighArcCount = highArcCount;
+            mArcSpacing = arcSpacing;
+            mArcStrokeWidth = arcStrokeWidth;
+            mPrimaryColor = primaryColor;
+            mColors = colors;
+            mWidth = width;
+            mHeight = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            final Key key = (Key) o;
+            return mProgressAnimationType == key.mProgressAnimationType
+                    && mOpacityAnimationType == key.mOpacityAnimationType
+                    && mRippleKernel.equals(key.mRippleKernel)
+                    && mAnimationEngine == key.mAnimationEngine
+                    && mArcCount == key.mArcCount
+                    && mRenderedArcCount == key.mRenderedArcCount
+                    && mLowDetail == key.mLowDetail
+                    && mHighArcCount == key.mHighArcCount
+                    && Float.compare(mArcSpacing, key.mArcSpacing) == 0
+                    && Float.compare(mArcStrokeWidth, key.mArcStrokeWidth) == 0
+                    && mPrimaryColor == key.mPrimaryColor
+                    && mWidth == key.mWidth
+                    && mHeight == key.mHeight
+                    && Arrays.equals(mColors, key.mColors);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = mProgressAnimationType;
+            result = 31 * result + mOpacityAnimationType;
+            result = 31 * result + mRippleKernel.hashCode();
+            result = 31 * result + mAnimationEngine;
+            result = 31 * result + mArcCount;
+            result = 31 * result + mRenderedArcCount;
+            result = 31 * result + (mLowDetail ? 1 : 0);
+            result = 31 * result + (mHighArcCount ? 1 : 0);
+            result = 31 * result + Float.floatToIntBits(mArcSpacing);
+            result = 31 * result + Float.floatToIntBits(mArcStrokeWidth);
+            result = 31 * result + mPrimaryColor;
+            result = 31 * result + Arrays.hashCode(mColors);
+            result = 31 * result + mWidth;
+            result = 31 * result + mHeight;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.kvolkov.animatedprogressviews;
+
+/**
+ * Frame metrics of an {@link ArcLoadingView}, collected once enabled with {@link ArcLoadingView#setFrameMetricsEnabled(boolean)}.
+ *
+ * Obtained as a snapshot with {@link ArcLoadingView#getFrameMetrics(ArcFrameMetrics)}, which copies current values
+ * into a reusable instance, so it can be exported periodically without allocating.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public final class ArcFrameMetrics {
+
+    /**
+     * Upper bounds in [ns] of time histogram buckets. Last bucket holds everything above.
+     */
+    private static final long[] BUCKET_UPPER_BOUNDS = {
+            50000L,
+            100000L,
+            250000L,
+            500000L,
+            1000000L,
+            2000000L,
+            4000000L,
+            8000000L,
+            16000000L,
+            Long.MAX_VALUE,
+    };
+
+    private long mFramesDrawn;
+    private long mFramesSkipped;
+    private long mInvisibleTicks;
+    private int mLiveAnimators;
+    private int mLiveCurves;
+    private final TimeHistogram mUpdateTime = new TimeHistogram();
+    private final TimeHistogram mDrawTime = new TimeHistogram();
+
+    /**
+     * @return Number of frames drawn by {@code onDraw()}.
+     */
+    public long getFramesDrawn() {
+        return mFramesDrawn;
+    }
+
+    /**
+     * @return Number of frames skipped without invalidating, since no arc changed visibly.
+     */
+    public long getFramesSkipped() {
+        return mFramesSkipped;
+    }
+
+    /**
+     * @return Number of animation ticks while the view was not visible on screen, e.g. fully transparent or scrolled out.
+     */
+    public long getInvisibleTicks() {
+        return mInvisibleTicks;
+    }
+
+    /**
+     * @return Number of running {@code ValueAnimator}'s, in case of {@code AnimationEngine.ANIMATORS} engine.
+     */
+    public int getLiveAnimators() {
+        return mLiveAnimators;
+    }
+
+    /**
+     * @return Number of curves evaluated on every frame, in case of a time based engine.
+     */
+    public int getLiveCurves() {
+        return mLiveCurves;
+    }
+
+    /**
+     * @return Histogram of time spent updating animated values once per frame.
+     */
+    public TimeHistogram getUpdateTime() {
+        return mUpdateTime;
+    }
+
+    /**
+     * @return Histogram of time spent in {@code onDraw()}.
+     */
+    public TimeHistogram getDrawTime() {
+        return mDrawTime;
+    }
+
+    void onFrameDrawn(long drawTimeNanos) {
+        ++mFramesDrawn;
+        mDrawTime.record(drawTimeNanos);
+    }
+
+    void onFrameSkipped() {
+        ++mFramesSkipped;
+    }
+
+    void onInvisibleTick() {
+        ++mInvisibleTicks;
+    }
+
+    void onFrameUpdated(long updateTimeNanos) {
+        mUpdateTime.record(updateTimeNanos);
+    }
+
+    void setLiveCounts(int animators, int curves) {
+        mLiveAnimators = animators;
+        mLiveCurves = curves;
+    }
+
+    void set(ArcFrameMetrics metrics) {
+        mFramesDrawn = metrics.mFramesDrawn;
+        mFramesSkipped = metrics.mFramesSkipped;
+        mInvisibleTicks = metrics.mInvisibleTicks;
+        mLiveAnimators = metrics.mLiveAnimators;
+        mLiveCurves = metrics.mLiveCurves;
+        mUpdateTime.set(metrics.mUpdateTime);
+        mDrawTime.set(metrics.mDrawTime);
+    }
+
+    void reset() {
+        mFramesDrawn = 0;
+        mFramesSkipped = 0;
+        mInvisibleTicks = 0;
+        mUpdateTime.reset();
+        mDrawTime.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "ArcFrameMetrics{drawn=" + mFramesDrawn + ", skipped=" + mFramesSkipped
+                + ", invisibleTicks=" + mInvisibleTicks + ", animators=" + mLiveAnimators + ", curves=" + mLiveCurves
+                + ", update=" + mUpdateTime + ", draw=" + mDrawTime + "}";
+    }
+
+    /**
+     * Histogram of durations with fixed buckets, from below 50 [us] to above 16 [ms].
+     */
+    public static final class TimeHistogram {
+
+        private final long[] mCounts = new long[BUCKET_UPPER_BOUNDS.length];
+        private long mTotalCount;
+        private long mTotalNanos;
+        private long mMaxNanos;
+
+        /**
+         * @return Number of buckets.
+         */
+        public int getBucketCount() {
+            return mCounts.length;
+        }
+
+        /**
+         * @param index Index of bucket.
+         * @return  Upper bound of bucket in [ns], exclusive. {@link Long#MAX_VALUE} for the last bucket.
+         */
+        public long getBucketUpperBoundNanos(int index) {
+            return BUCKET_UPPER_BOUNDS[index];
+        }
+
+        /**
+         * @param index Index of bucket.
+         * @return  Number of durations recorded in bucket.
+         */
+        public long getCount(int index) {
+            return mCounts[index];
+        }
+
+        /**
+         * @return Number of durations recorded.
+         */
+        public long getTotalCount() {
+            return mTotalCount;
+        }
+
+        /**
+         * @return Sum of durations recorded in [ns].
+         */
+        public long getTotalNanos() {
+            return mTotalNanos;
+        }
+
+        /**
+         * @return Longest duration recorded in [ns].
+         */
+        public long getMaxNanos() {
+            return mMaxNanos;
+        }
+
+        /**
+         * @return Mean duration in [ns], or 0 if nothing recorded.
+         */
+        public long getMeanNanos() {
+            return mTotalCount > 0 ? mTotalNanos / mTotalCount : 0;
+        }
+
+        void record(long nanos) {
+            int index = 0;
+            while (nanos >= BUCKET_UPPER_BOUNDS[index] && index < BUCKET_UPPER_BOUNDS.length - 1) {
+                ++index;
+            }
+            ++mCounts[index];
+            ++mTotalCount;
+            mTotalNanos += nanos;
+            if (nanos > mMaxNanos) {
+                mMaxNanos = nanos;
+            }
+        }
+
+        void set(TimeHistogram histogram) {
+            System.arraycopy(histogram.mCounts, 0, mCounts, 0, mCounts.length);
+            mTotalCount = histogram.mTotalCount;
+            mTotalNanos = histogram.mTotalNanos;
+            mMaxNanos = histogram.mMaxNanos;
+        }
+
+        void reset() {
+            for (int i = 0; i < mCounts.length; ++i) {
+                mCounts[i] = 0;
+            }
+            mTotalCount = 0;
+            mTotalNanos = 0;
+            mMaxNanos = 0;
+        }
+
+        @Override
+        public String toString() {
+            return "{count=" + mTotalCount + ", meanNs=" + getMeanNanos() + ", maxNs=" + mMaxNanos + "}";
+        }
+    }
+}
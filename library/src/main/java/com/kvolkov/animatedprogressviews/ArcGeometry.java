@@ -0,0 +1,98 @@
+package com.kvolkov.animatedprogressviews;
+
+import android.graphics.RectF;
+
+/**
+ * Rects of concentric arcs fitting into a square in the middle of the view, shared by {@link ArcLoadingView}
+ * and {@link ArcLoadingTextureView}. Rects of all arcs are insets of the outer bounds by a multiple of spacing,
+ * so only outer bounds are kept and rect of an arc is computed on request into a single reused {@link RectF},
+ * allocating nothing and costing the same for hundreds of arcs as for a few.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+final class ArcGeometry {
+
+    private final RectF mRect = new RectF();
+    private int mArcCount = 0;
+    private float mSpacing = 0.f;
+    private int mWidth = 0;
+    private int mHeight = 0;
+
+    /**
+     * Outer bounds, and inset of each next arc.
+     */
+    private float mLeft;
+    private float mTop;
+    private float mRight;
+    private float mBottom;
+    private float mArcRadiusDiff;
+
+    /**
+     * Updates bounds for provided layout. Rect of an arc doesn't depend on number of arcs,
+     * so in case only number of arcs changed, nothing is recomputed.
+     *
+     * @param arcCount  Number of arcs.
+     * @param spacing   Spacing between arcs.
+     * @param width     Width of the view.
+     * @param height    Height of the view.
+     * @return  {@code true} in case anything changed.
+     */
+    boolean update(int arcCount, float spacing, int width, int height) {
+        final boolean layoutChanged = spacing != mSpacing || width != mWidth || height != mHeight;
+        if (!layoutChanged && arcCount == mArcCount) {
+            return false;
+        }
+
+        mArcCount = arcCount;
+        if (!layoutChanged) {
+            return true;
+        }
+        mSpacing = spacing;
+        mWidth = width;
+        mHeight = height;
+
+        final int prefferedDimension = Math.min(width, height);
+        final boolean isWider = width >= height;
+        final float sideDiff = isWider ? (width - prefferedDimension) / 2.f
+                : (height - prefferedDimension) / 2.f;
+
+        mArcRadiusDiff = spacing * 2.f;
+        mLeft = isWider ? sideDiff : 0.f;
+        mTop = isWider ? 0.f : sideDiff;
+        mRight = width - (isWider ? sideDiff : 0.f);
+        mBottom = height - (isWider ? 0.f : sideDiff);
+        return true;
+    }
+
+    /**
+     * @return Number of arcs with valid rects.
+     */
+    int getArcCount() {
+        return mArcCount;
+    }
+
+    /**
+     * Computes rect of an arc. Each next arc is inside of the previous one.
+     *
+     * @param index Index of arc, less than {@link #getArcCount()}.
+     * @return  Rect of the arc, owned by this geometry and overwritten by next call, so should not be kept.
+     */
+    RectF getRect(int index) {
+        final float inset = mArcRadiusDiff * (index + 1);
+        mRect.set(mLeft + inset, mTop + inset, mRight - inset, mBottom - inset);
+        return mRect;
+    }
+
+    /**
+     * Size of a square view with wrap_content, leaving innermost arc a diameter of two spacings plus stroke width.
+     *
+     * @param arcCount      Number of arcs.
+     * @param spacing       Spacing between arcs.
+     * @param strokeWidth   Stroke width of arcs.
+     * @return  Size in pixels.
+     */
+    static int getDesiredSize(int arcCount, float spacing, float strokeWidth) {
+        return (int) Math.ceil(spacing * 4.f * (arcCount + 1) + strokeWidth);
+    }
+}
@@ -0,0 +1,330 @@
+package com.kvolkov.animatedprogressviews;
+
+import android.support.annotation.IntRange;
+import android.support.annotation.Nullable;
+
+import com.kvolkov.animatedprogressviews.animations.AnimationEngine;
+import com.kvolkov.animatedprogressviews.animations.ArcAnimations;
+import com.kvolkov.animatedprogressviews.animations.CallbackList;
+import com.kvolkov.animatedprogressviews.animations.FrameClock;
+import com.kvolkov.animatedprogressviews.animations.OpacityAnimation;
+import com.kvolkov.animatedprogressviews.animations.OpacityKernel;
+import com.kvolkov.animatedprogressviews.animations.OpacityKernels;
+import com.kvolkov.animatedprogressviews.animations.ProgressAnimation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Group of {@link ArcLoadingView}'s sharing single animation state. Animations of the group are evaluated once per frame,
+ * and member views only read animated values and draw them, so all members stay phase-locked.
+ *
+ * Group animates while at least one of member views is attached, visible and not paused.
+ * Animation type, engine, ripple kernel and frame clock of member views are ignored while they are in a group,
+ * number of arcs is set by the group and limited to [1..30], even for members in high arc count mode.
+ * Members keep their own target frame rate and level of detail, skipping group frames above their rate.
+ *
+ * Should be used from the main thread only.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public final class ArcLoadingGroup {
+
+    private static final int DEFAULT_ARC_COUNT = 5;
+
+    private final ProgressAnimation mProgressAnimation = new ProgressAnimation(ProgressAnimation.OPACITY_ANIMATION_TEST_STUB);
+    private final OpacityAnimation mOpacityAnimation = new OpacityAnimation(OpacityAnimation.NONE);
+    private int mArcCount = DEFAULT_ARC_COUNT;
+    @Nullable
+    private FrameClock mFrameClock;
+
+    /**
+     * Member views, members which can be seen at the moment, and frame callbacks of the latter ones.
+     */
+    private final List<ArcLoadingView> mViews = new ArrayList<>();
+    private final List<ArcLoadingView> mAnimatingViews = new ArrayList<>();
+    private final CallbackList mAnimatingViewCallbacks = new CallbackList();
+
+    private boolean mRunning = false;
+    private boolean mRestartPending = true;
+    private long mAnimationStartTime;
+    private long mSuspendedPlayTime;
+
+    private final FrameClock.Callback mFrameCallback = new FrameClock.Callback() {
+        @Override
+        public boolean onFrame(long frameTimeNanos) {
+            if (!mRunning) {
+                return false;
+            }
+
+            if (mProgressAnimation.getEngine() != AnimationEngine.ANIMATORS || mFrameClock != null) {
+                final long playTime = getPlayTime();
+                mProgressAnimation.setCurrentPlayTime(playTime);
+                mOpacityAnimation.setCurrentPlayTime(playTime);
+            }
+
+            mAnimatingViewCallbacks.dispatch(frameTimeNanos);
+            return true;
+        }
+    };
+
+    public ArcLoadingGroup() {
+        mProgressAnimation.setAnimatorsCount(mArcCount);
+        mOpacityAnimation.setAnimatorsCount(mArcCount);
+    }
+
+    /**
+     * Adds view to the group. View leaves it's previous group, if any, and takes number of arcs of this group,
+     * which replaces it's own one, including one above 30 in high arc count mode. Color list of the view is cleared
+     * in case it doesn't match number of arcs of the group, so primary color is used instead.
+     *
+     * @param view  An {@link ArcLoadingView}.
+     */
+    public void addView(ArcLoadingView view) {
+        if (mViews.contains(view)) {
+            return;
+        }
+
+        final ArcLoadingGroup previousGroup = view.getGroup();
+        if (previousGroup != null) {
+            previousGroup.removeView(view);
+        }
+        mViews.add(view);
+        view.setGroup(this);
+    }
+
+    /**
+     * Removes view from the group, so it runs it's own animations again.
+     *
+     * @param view  An {@link ArcLoadingView}.
+     */
+    public void removeView(ArcLoadingView view) {
+        if (!mViews.remove(view)) {
+            return;
+        }
+
+        onViewStopped(view);
+        view.setGroup(null);
+    }
+
+    /**
+     * @return Number of member views.
+     */
+    public int getViewCount() {
+        return mViews.size();
+    }
+
+    /**
+     * Setup progress animation type.
+     *
+     * @param animationType Should be of public static values in {@link ProgressAnimation}, or a type registered with {@link ArcAnimations}.
+     */
+    public void setProgressAnimationType(int animationType) {
+        mProgressAnimation.setType(animationType);
+        restart();
+    }
+
+    /**
+     * @return Progress animation type.
+     */
+    public int getProgressAnimationType() {
+        return mProgressAnimation.getType();
+    }
+
+    /**
+     * Setup opacity animation type.
+     *
+     * @param animationType Should be one of public static values from {@link OpacityAnimation}.
+     */
+    public void setOpacityAnimationType(int animationType) {
+        mOpacityAnimation.setType(animationType);
+        restart();
+    }
+
+    /**
+     * @return Opacity animation type.
+     */
+    public int getOpacityAnimationType() {
+        return mOpacityAnimation.getType();
+    }
+
+    /**
+     * Setup spatial falloff of {@link OpacityAnimation#RIPPLE} opacity animation.
+     *
+     * @param kernel    An {@link OpacityKernel}, e.g. one of {@link OpacityKernels}. {@link OpacityKernels#POWER} by default.
+     */
+    public void setRippleKernel(OpacityKernel kernel) {
+        mOpacityAnimation.setRippleKernel(kernel);
+        restart();
+    }
+
+    /**
+     * Setup animation engine.
+     *
+     * @param engine    Should be one of public static values from {@link AnimationEngine}.
+     */
+    public void setAnimationEngine(int engine) {
+        mProgressAnimation.setEngine(engine);
+        mOpacityAnimation.setEngine(engine);
+        restart();
+    }
+
+    /**
+     * @return One of public static values from {@link AnimationEngine}.
+     */
+    public int getAnimationEngine() {
+        return mProgressAnimation.getEngine();
+    }
+
+    /**
+     * Set number of arcs of the group and all member views. While animating, remaining arcs keep their state and timing,
+     * and only added arcs are initialized. Color lists of members not matching new number of arcs are cleared.
+     *
+     * @param arcs  Number in range [1..30].
+     *
+     * @throws IllegalArgumentException In case out of specified range.
+     */
+    public void setArcCount(@IntRange(from = 1, to = 30) int arcs) throws IllegalArgumentException {
+        if (arcs < 1 || arcs > 30) {
+            throw new IllegalArgumentException("Should be in range [1..30]");
+        }
+
+        mArcCount = arcs;
+        mProgressAnimation.resizeAnimators(mArcCount);
+        mOpacityAnimation.resizeAnimators(mArcCount);
+        if (mProgressAnimation.getEngine() != AnimationEngine.ANIMATORS || mFrameClock != null) {
+            final long playTime = getPlayTime();
+            mProgressAnimation.setCurrentPlayTime(playTime);
+            mOpacityAnimation.setCurrentPlayTime(playTime);
+        }
+        for (int i = 0; i < mViews.size(); ++i) {
+            mViews.get(i).onGroupArcCountChanged();
+        }
+    }
+
+    /**
+     * @return Number of arcs. Should be an int in range [1..30].
+     */
+    @IntRange(from = 1, to = 30)
+    public int getArcCount() {
+        return mArcCount;
+    }
+
+    /**
+     * Set source of animation time and frame ticks, see {@link ArcLoadingView#setFrameClock(FrameClock)}.
+     *
+     * @param clock A {@link FrameClock}, or {@code null} for shared vsync driven {@link ChoreographerFrameClock}.
+     */
+    public void setFrameClock(@Nullable FrameClock clock) {
+        getFrameClock().unregister(mFrameCallback);
+        mRunning = false;
+        mFrameClock = clock;
+        mProgressAnimation.setFrameClock(clock);
+        mOpacityAnimation.setFrameClock(clock);
+        restart();
+    }
+
+    /**
+     * @return {@link FrameClock} ticking this group.
+     */
+    public FrameClock getFrameClock() {
+        return mFrameClock != null ? mFrameClock : ChoreographerFrameClock.getInstance();
+    }
+
+    ProgressAnimation getProgressAnimation() {
+        return mProgressAnimation;
+    }
+
+    OpacityAnimation getOpacityAnimation() {
+        return mOpacityAnimation;
+    }
+
+    /**
+     * Called by member view once it can be seen, so group should animate.
+     */
+    void onViewStarted(ArcLoadingView view) {
+        if (!mAnimatingViews.contains(view)) {
+            mAnimatingViews.add(view);
+            mAnimatingViewCallbacks.add(view.getGroupFrameCallback());
+        }
+        updateAnimationState();
+    }
+
+    /**
+     * Called by member view once it can't be seen anymore.
+     */
+    void onViewStopped(ArcLoadingView view) {
+        mAnimatingViews.remove(view);
+        mAnimatingViewCallbacks.remove(view.getGroupFrameCallback());
+        updateAnimationState();
+    }
+
+    /**
+     * @return Current animation play time in [ms]. Frozen while suspended.
+     */
+    private long getPlayTime() {
+        if (!mRunning) {
+            return mSuspendedPlayTime;
+        }
+        return getFrameClock().getTimeMillis() - mAnimationStartTime;
+    }
+
+    /**
+     * Restarts animations. In case no member can be seen at the moment, restart is deferred until one can.
+     */
+    private void restart() {
+        if (mAnimatingViews.isEmpty()) {
+            mRestartPending = true;
+            suspend();
+            return;
+        }
+
+        mRestartPending = false;
+        mAnimationStartTime = getFrameClock().getTimeMillis();
+        mProgressAnimation.restart();
+        mOpacityAnimation.restart();
+        mRunning = true;
+        getFrameClock().register(mFrameCallback);
+        for (int i = 0; i < mAnimatingViews.size(); ++i) {
+            mAnimatingViews.get(i).onGroupRestarted();
+        }
+    }
+
+    /**
+     * Runs animations while any member can be seen, and suspends them otherwise.
+     */
+    private void updateAnimationState() {
+        if (mAnimatingViews.isEmpty()) {
+            suspend();
+            return;
+        }
+
+        if (mRestartPending) {
+            restart();
+            return;
+        }
+
+        if (!mRunning) {
+            // continue from the frame where animations were suspended
+            mAnimationStartTime = getFrameClock().getTimeMillis() - mSuspendedPlayTime;
+            mRunning = true;
+            mProgressAnimation.resume();
+            mOpacityAnimation.resume();
+            getFrameClock().register(mFrameCallback);
+        }
+    }
+
+    /**
+     * Stops frame updates and pauses animations keeping current frame.
+     */
+    private void suspend() {
+        getFrameClock().unregister(mFrameCallback);
+        if (mRunning) {
+            mSuspendedPlayTime = getPlayTime();
+            mRunning = false;
+            mProgressAnimation.pause();
+            mOpacityAnimation.pause();
+        }
+    }
+}
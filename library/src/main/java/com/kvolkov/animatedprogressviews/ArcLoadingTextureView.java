@@ -0,0 +1,495 @@
+package com.kvolkov.animatedprogressviews;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PorterDuff;
+import android.graphics.SurfaceTexture;
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Message;
+import android.os.Process;
+import android.os.SystemClock;
+import android.support.annotation.ColorInt;
+import android.support.annotation.FloatRange;
+import android.support.annotation.IntRange;
+import android.support.annotation.Nullable;
+import android.support.annotation.RequiresApi;
+import android.util.AttributeSet;
+import android.view.Choreographer;
+import android.view.TextureView;
+import android.view.View;
+
+import com.kvolkov.animatedprogressviews.animations.AnimationEngine;
+import com.kvolkov.animatedprogressviews.animations.ArcAnimations;
+import com.kvolkov.animatedprogressviews.animations.OpacityAnimation;
+import com.kvolkov.animatedprogressviews.animations.ProgressAnimation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Same animated arc progress view as {@link ArcLoadingView}, but drawn entirely on a dedicated render thread
+ * into a {@link TextureView}. Keeps animating smoothly while the main thread is busy.
+ *
+ * Supports the same XML attributes as {@link ArcLoadingView}, except ones of features listed below.
+ * Only time based animation engines are supported, {@link AnimationEngine#ANIMATORS} is replaced with {@link AnimationEngine#TIMELINE}.
+ *
+ * Not supported, unlike {@link ArcLoadingView}:
+ * <ul>
+ *     <li>high arc count mode, so number of arcs is limited to [1..30] and {@code highArcCount} attribute is ignored;</li>
+ *     <li>level of detail, all arcs are always drawn in full detail and {@code levelOfDetail} attributes are ignored;</li>
+ *     <li>measuring of {@code wrap_content}, default {@link TextureView} measuring is used, so size should be set explicitly.</li>
+ * </ul>
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public class ArcLoadingTextureView extends TextureView implements TextureView.SurfaceTextureListener {
+
+    /**
+     * Drawing consts.
+     */
+    private static final int DEFAULT_ARC_COUNT = 5;
+    private static final float DEFAULT_ARC_SPACING = 5;
+    private static final float DEFAULT_ARC_STROKE_WIDTH = 5;
+    private static final int DEFAULT_ARC_COLOR = Color.argb(255, 0, 0, 200);
+
+    /**
+     * Everything below is shared with render thread and guarded by {@code mLock}.
+     */
+    private final Object mLock = new Object();
+
+    /**
+     * Animation stuff.
+     */
+    private ProgressAnimation mProgressAnimation;
+    private OpacityAnimation mOpacityAnimation;
+    private long mAnimationStartTime;
+    private long mSuspendedPlayTime;
+    private boolean mRestartPending = true;
+
+    /**
+     * Drawing stuff.
+     */
+    @IntRange(from = 1, to = 30)
+    private int mArcCount = DEFAULT_ARC_COUNT;
+    @FloatRange(from = 0.f, to = 100.f)
+    private float mArcSpacing = DEFAULT_ARC_SPACING;
+    @FloatRange(from = 0.f, to = 500.f)
+    private float mArcStrokeWidth = DEFAULT_ARC_STROKE_WIDTH;
+    @ColorInt
+    private int mPrimaryColor = DEFAULT_ARC_COLOR;
+    @Nullable
+    private List<Integer> mColorList = null;
+
+    private final ArcGeometry mArcGeometry = new ArcGeometry();
+    private final Paint mArcPaint = new Paint();
+    private final Path mArcPath = new Path();
+    private float[] mArcStartAngles = new float[0];
+    private float[] mArcSweepAngles = new float[0];
+    private int mSurfaceWidth;
+    private int mSurfaceHeight;
+    private boolean mGeometryPending = true;
+
+    /**
+     * Render thread, alive while surface is available.
+     */
+    @Nullable
+    private RenderThread mRenderThread;
+    private boolean mRendering = false;
+
+    public ArcLoadingTextureView(Context context) {
+        super(context);
+        initView(null);
+    }
+
+    public ArcLoadingTextureView(Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+        initView(attrs);
+    }
+
+    public ArcLoadingTextureView(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        initView(attrs);
+    }
+
+    @RequiresApi(Build.VERSION_CODES.LOLLIPOP)
+    public ArcLoadingTextureView(Context context, @Nullable AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+        super(context, attrs, defStyleAttr, defStyleRes);
+        initView(attrs);
+    }
+
+    protected void initView(@Nullable AttributeSet attrs) {
+        mProgressAnimation = new ProgressAnimation(ProgressAnimation.OPACITY_ANIMATION_TEST_STUB);
+        mOpacityAnimation = new OpacityAnimation(OpacityAnimation.NONE);
+        mProgressAnimation.setEngine(AnimationEngine.TIMELINE);
+        mOpacityAnimation.setEngine(AnimationEngine.TIMELINE);
+        mProgressAnimation.setAnimatorsCount(mArcCount);
+        mOpacityAnimation.setAnimatorsCount(mArcCount);
+
+        if (attrs != null) {
+            // same attributes as ArcLoadingView
+            TypedArray a = getContext().getTheme().obtainStyledAttributes(
+                    attrs,
+                    R.styleable.ArcLoadingView,
+                    0, 0);
+
+            try {
+                setAnimationEngine(a.getInt(R.styleable.ArcLoadingView_animationEngine, AnimationEngine.TIMELINE));
+                setArcCount(a.getInteger(R.styleable.ArcLoadingView_arcCount, DEFAULT_ARC_COUNT));
+                setArcSpacing(a.getFloat(R.styleable.ArcLoadingView_arcSpacing, DEFAULT_ARC_SPACING));
+                setArcStrokeWidth(a.getFloat(R.styleable.ArcLoadingView_arcStrokeWidth, DEFAULT_ARC_STROKE_WIDTH));
+                setPrimaryColor(a.getColor(R.styleable.ArcLoadingView_defaultColor, DEFAULT_ARC_COLOR));
+                setProgressAnimationType(a.getInt(R.styleable.ArcLoadingView_progressAnimation, ProgressAnimation.OPACITY_ANIMATION_TEST_STUB));
+                setOpacityAnimationType(a.getInt(R.styleable.ArcLoadingView_opacityAnimation, OpacityAnimation.NONE));
+            } finally {
+                a.recycle();
+            }
+        }
+
+        mArcPaint.setStyle(Paint.Style.STROKE);
+        mArcPaint.setStrokeCap(Paint.Cap.ROUND);
+        mArcPaint.setAntiAlias(true);
+
+        setOpaque(false);
+        setSurfaceTextureListener(this);
+    }
+
+    /**
+     * Setup progress animation type.
+     *
+     * @param animationType Should be one of public static values from {@link ProgressAnimation}, or a type registered with {@link ArcAnimations}.
+     */
+    public void setProgressAnimationType(int animationType) {
+        synchronized (mLock) {
+            mProgressAnimation.setType(animationType);
+            mRestartPending = true;
+        }
+    }
+
+    /**
+     * Setup opacity animation type.
+     *
+     * @param animationType Should be one of public static values from {@link OpacityAnimation}.
+     */
+    public void setOpacityAnimationType(int animationType) {
+        synchronized (mLock) {
+            mOpacityAnimation.setType(animationType);
+            mRestartPending = true;
+        }
+    }
+
+    /**
+     * Setup animation engine. {@link AnimationEngine#ANIMATORS} is not supported and replaced with {@link AnimationEngine#TIMELINE}.
+     *
+     * @param engine    Should be one of public static values from {@link AnimationEngine}.
+     */
+    public void setAnimationEngine(int engine) {
+        final int timeBasedEngine = engine == AnimationEngine.ANIMATORS ? AnimationEngine.TIMELINE : engine;
+        synchronized (mLock) {
+            mProgressAnimation.setEngine(timeBasedEngine);
+            mOpacityAnimation.setEngine(timeBasedEngine);
+            mRestartPending = true;
+        }
+    }
+
+    /**
+     * Set number of arcs. Remaining arcs keep animating without a restart, only added arcs are initialized.
+     *
+     * @param arcs  Number in range [1..30].
+     *
+     * @throws IllegalArgumentException In case out of specified range.
+     */
+    public void setArcCount(@IntRange(from = 1, to = 30) int arcs) throws IllegalArgumentException {
+        if (arcs < 1 || arcs > 30) {
+            throw new IllegalArgumentException("Should be in range [1..30]");
+        }
+
+        synchronized (mLock) {
+            mArcCount = arcs;
+            mProgressAnimation.resizeAnimators(mArcCount);
+            mOpacityAnimation.resizeAnimators(mArcCount);
+            if (mColorList != null && mColorList.size() != mArcCount) {
+                mColorList = null;
+            }
+            if (!mGeometryPending) {
+                // only rects of added arcs are computed
+                mArcGeometry.update(mArcCount, mArcSpacing, mSurfaceWidth, mSurfaceHeight);
+            }
+        }
+    }
+
+    /**
+     * @return Number of arcs. Should be an int in range [1..30].
+     */
+    @IntRange(from = 1, to = 30)
+    public int getArcCount() {
+        synchronized (mLock) {
+            return mArcCount;
+        }
+    }
+
+    /**
+     * Set spacing between arcs.
+     *
+     * @param spacing  Number in range [0.f .. 100.f].
+     *
+     * @throws IllegalArgumentException In case out of specified range.
+     */
+    public void setArcSpacing(@FloatRange(from = 0.f, to = 100.f) float spacing) {
+        if (spacing < 0.f || spacing > 100.f) {
+            throw new IllegalArgumentException("Should be in range [0.f .. 100.f]");
+        }
+
+        synchronized (mLock) {
+            mArcSpacing = spacing;
+            mGeometryPending = true;
+        }
+    }
+
+    /**
+     * Set stroke width of the arc.
+     *
+     * @param width  Number in range [0.f .. 500.f].
+     *
+     * @throws IllegalArgumentException In case out of specified range.
+     */
+    public void setArcStrokeWidth(@FloatRange(from = 0.f, to = 500.f) float width) {
+        if (width < 0.f || width > 500.f) {
+            throw new IllegalArgumentException("Should be in range [0.f .. 500.f]");
+        }
+
+        synchronized (mLock) {
+            mArcStrokeWidth = width;
+            mGeometryPending = true;
+        }
+    }
+
+    /**
+     * Setup primary color for the arcs. Clears color list set with {@link #setColorList(List)}.
+     *
+     * @param color  A {@link ColorInt}.
+     */
+    public void setPrimaryColor(@ColorInt int color) {
+        synchronized (mLock) {
+            mColorList = null;
+            mPrimaryColor = color;
+        }
+    }
+
+    /**
+     * Setup color list to use separate color for each arc.
+     *
+     * @param colorList List of colors for each arc. Can be null.
+     *                  If set to null, primary color will be used while drawing.
+     *
+     * @throws IllegalArgumentException List size should be same as number of arcs. Thrown in case it doesn't.
+     */
+    public void setColorList(@Nullable List<Integer> colorList) throws IllegalArgumentException {
+        synchronized (mLock) {
+            if (colorList == null) {
+                mColorList = null;
+                return;
+            }
+
+            if (colorList.size() != mArcCount) {
+                throw new IllegalArgumentException("Color list should contain number of items equal to ArcCount.");
+            }
+            mColorList = new ArrayList<>(colorList);
+        }
+    }
+
+    @Override
+    public void onSurfaceTextureAvailable(SurfaceTexture surface, int width, int height) {
+        synchronized (mLock) {
+            mSurfaceWidth = width;
+            mSurfaceHeight = height;
+            mGeometryPending = true;
+        }
+
+        mRenderThread = new RenderThread();
+        mRenderThread.start();
+        mRenderThread.prepareHandler();
+        updateRenderingState();
+    }
+
+    @Override
+    public void onSurfaceTextureSizeChanged(SurfaceTexture surface, int width, int height) {
+        synchronized (mLock) {
+            mSurfaceWidth = width;
+            mSurfaceHeight = height;
+            mGeometryPending = true;
+        }
+    }
+
+    @Override
+    public boolean onSurfaceTextureDestroyed(SurfaceTexture surface) {
+        if (mRenderThread != null) {
+            updateRenderingState(false);
+            mRenderThread.quit();
+            try {
+                // surface is released once this returns, so wait for a frame in progress
+                mRenderThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            mRenderThread = null;
+        }
+        return true;
+    }
+
+    @Override
+    public void onSurfaceTextureUpdated(SurfaceTexture surface) {
+        // nothing to do
+    }
+
+    @Override
+    protected void onVisibilityChanged(View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+
+        updateRenderingState();
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+
+        updateRenderingState();
+    }
+
+    private void updateRenderingState() {
+        updateRenderingState(mRenderThread != null && getWindowVisibility() == VISIBLE && isShown());
+    }
+
+    /**
+     * Starts or stops rendering frames on render thread. Animation time is frozen while not rendering.
+     *
+     * @param rendering {@code true} to render frames.
+     */
+    private void updateRenderingState(boolean rendering) {
+        if (mRenderThread == null || mRendering == rendering) {
+            return;
+        }
+
+        mRendering = rendering;
+        synchronized (mLock) {
+            if (rendering) {
+                mAnimationStartTime = SystemClock.uptimeMillis() - mSuspendedPlayTime;
+            } else {
+                mSuspendedPlayTime = SystemClock.uptimeMillis() - mAnimationStartTime;
+            }
+        }
+        mRenderThread.setRendering(rendering);
+    }
+
+    /**
+     * Draws single frame on the surface. Called on render thread.
+     *
+     * @param frameTimeNanos    Frame time provided by {@link Choreographer}.
+     */
+    private void drawFrame(long frameTimeNanos) {
+        final Canvas canvas = lockCanvas();
+        if (canvas == null) {
+            return;
+        }
+
+        try {
+            canvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+            synchronized (mLock) {
+                if (mRestartPending) {
+                    mRestartPending = false;
+                    mProgressAnimation.restart();
+                    mOpacityAnimation.restart();
+                    mAnimationStartTime = frameTimeNanos / 1000000L;
+                }
+                if (mGeometryPending) {
+                    mGeometryPending = false;
+                    mArcPaint.setStrokeWidth(mArcStrokeWidth);
+                    mArcGeometry.update(mArcCount, mArcSpacing, mSurfaceWidth, mSurfaceHeight);
+                }
+                if (mArcStartAngles.length != mArcCount) {
+                    mArcStartAngles = new float[mArcCount];
+                    mArcSweepAngles = new float[mArcCount];
+                }
+
+                // Choreographer frame time uses same clock as SystemClock.uptimeMillis()
+                final long playTime = frameTimeNanos / 1000000L - mAnimationStartTime;
+                mProgressAnimation.setCurrentPlayTime(playTime);
+                mOpacityAnimation.setCurrentPlayTime(playTime);
+                mProgressAnimation.computeArcAngles(mArcCount, mArcStartAngles, mArcSweepAngles);
+                ArcRenderer.drawArcs(canvas, mArcGeometry, mArcCount, mArcStartAngles, mArcSweepAngles,
+                        mOpacityAnimation.getAnimatedValues(), mColorList, mPrimaryColor, mArcPaint, mArcPath);
+            }
+        } finally {
+            unlockCanvasAndPost(canvas);
+        }
+    }
+
+    /**
+     * Thread rendering frames in sync with vsync using it's own {@link Choreographer}.
+     */
+    private final class RenderThread extends HandlerThread implements Choreographer.FrameCallback, Handler.Callback {
+
+        private static final int MSG_START = 1;
+        private static final int MSG_STOP = 2;
+
+        private Handler mHandler;
+        private Choreographer mChoreographer;
+        private boolean mRunning = false;
+
+        RenderThread() {
+            super("ArcLoadingRenderThread", Process.THREAD_PRIORITY_DISPLAY);
+        }
+
+        /**
+         * Should be called right after thread is started.
+         */
+        void prepareHandler() {
+            mHandler = new Handler(getLooper(), this);
+        }
+
+        void setRendering(boolean rendering) {
+            mHandler.sendEmptyMessage(rendering ? MSG_START : MSG_STOP);
+        }
+
+        @Override
+        protected void onLooperPrepared() {
+            mChoreographer = Choreographer.getInstance();
+        }
+
+        @Override
+        public boolean handleMessage(Message msg) {
+            switch (msg.what) {
+                case MSG_START:
+                    if (!mRunning) {
+                        mRunning = true;
+                        mChoreographer.postFrameCallback(this);
+                    }
+                    return true;
+
+                case MSG_STOP:
+                    if (mRunning) {
+                        mRunning = false;
+                        mChoreographer.removeFrameCallback(this);
+                    }
+                    return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            if (!mRunning) {
+                return;
+            }
+
+            drawFrame(frameTimeNanos);
+            mChoreographer.postFrameCallback(this);
+        }
+    }
+}
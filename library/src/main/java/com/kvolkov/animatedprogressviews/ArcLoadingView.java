@@ -2,12 +2,14 @@ package com.kvolkov.animatedprogressviews;
 
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
 import android.graphics.RectF;
 import android.os.Build;
-import android.os.Handler;
 import android.support.annotation.ColorInt;
 import android.support.annotation.FloatRange;
 import android.support.annotation.IntRange;
@@ -15,8 +17,16 @@ import android.support.annotation.Nullable;
 import android.support.annotation.RequiresApi;
 import android.util.AttributeSet;
 import android.view.View;
+import android.view.ViewGroup;
+import android.view.WindowManager;
 
+import com.kvolkov.animatedprogressviews.animations.AnimationCurve;
+import com.kvolkov.animatedprogressviews.animations.AnimationEngine;
+import com.kvolkov.animatedprogressviews.animations.ArcAnimations;
+import com.kvolkov.animatedprogressviews.animations.FrameClock;
 import com.kvolkov.animatedprogressviews.animations.OpacityAnimation;
+import com.kvolkov.animatedprogressviews.animations.OpacityKernel;
+import com.kvolkov.animatedprogressviews.animations.OpacityKernels;
 import com.kvolkov.animatedprogressviews.animations.ProgressAnimation;
 
 import java.util.ArrayList;
@@ -28,6 +38,8 @@ import java.util.List;
  *  - {@link ProgressAnimation} for animating arcs.
  *  - {@link OpacityAnimation} for adding special effects generated by opacity animations for arcs.
  *
+ * Several views can be added to an {@link ArcLoadingGroup} to share single animation state and stay phase-locked.
+ *
  * @author Kirill Volkov (https://github.com/vulko).
  *         Copyright (C). All rights reserved.
  */
@@ -42,17 +54,41 @@ public class ArcLoadingView extends View {
     private static final float DEFAULT_ARC_STROKE_WIDTH = 5;
     private static final int DEFAULT_ARC_COLOR = Color.argb(255, 0, 0, 200);
 
+    /**
+     * Default thresholds of level of detail in [dp], see {@link #setLevelOfDetailThresholds(float, float)}.
+     */
+    private static final float DEFAULT_LOD_MIN_DP_PER_ARC = 3.f;
+    private static final float DEFAULT_LOD_LOW_DETAIL_SIZE_DP = 40.f;
+
+    /**
+     * Max number of arcs, and max number of arcs in high arc count mode, see {@link #setHighArcCountEnabled(boolean)}.
+     */
+    public static final int MAX_ARC_COUNT = 30;
+    public static final int MAX_HIGH_ARC_COUNT = 500;
+
+    /**
+     * Min change of arc angle in degrees considered to be visible.
+     */
+    private static final float MIN_VISIBLE_ANGLE_CHANGE = 0.1f;
+
+    /**
+     * Target frame rate updating on every display frame, see {@link #setTargetFrameRate(int)}.
+     */
+    public static final int FRAME_RATE_NATIVE = FrameRateController.NATIVE;
+
     /**
      * Animation stuff.
      */
     protected ProgressAnimation mProgressAnimation;
     protected OpacityAnimation mOpacityAnimation;
+    private long mAnimationStartTime;
 
     /**
      * Drawing stuff.
      */
-    @IntRange(from = 1, to = 30)
+    @IntRange(from = 1, to = MAX_HIGH_ARC_COUNT)
     protected int mArcCount;
+    private boolean mHighArcCountEnabled = false;
     @FloatRange(from = 0.f, to = 100.f)
     protected float mArcSpacing = DEFAULT_ARC_SPACING;
     @FloatRange(from = 0.f, to = 500.f)
@@ -62,22 +98,109 @@ public class ArcLoadingView extends View {
 
     @Nullable
     protected List<Integer> mColorList = null;
+    private final ArcGeometry mArcGeometry = new ArcGeometry();
+    /**
+     * Rects of arcs for subclasses, see {@link #updateArcRectList()}.
+     */
     protected List<RectF> mArcRectList = new ArrayList<>();
     protected Paint mArcPaint;
+    private final Path mArcPath = new Path();
+    private final ArcRenderer.OpacityBuckets mOpacityBuckets = new ArcRenderer.OpacityBuckets();
+
+    /**
+     * Start and sweep angles of arcs for current frame, and values last invalidated for drawing.
+     */
+    private float[] mArcStartAngles = new float[0];
+    private float[] mArcSweepAngles = new float[0];
+    private float[] mDrawnStartAngles = new float[0];
+    private float[] mDrawnSweepAngles = new float[0];
+    private int[] mDrawnOpacities = new int[0];
+    private boolean mDrawnValuesValid = false;
+    private final RectF mDirtyBounds = new RectF();
+    private final Rect mDirtyRect = new Rect();
 
 
     /**
-     * Self updating mechanism.
+     * Self updating mechanism, ticked by {@link FrameClock}, shared {@link ChoreographerFrameClock} unless other one is set.
      */
+    private FrameClock mFrameClock;
     private boolean mInitialized = false;
-    private Handler mHandler = new Handler();
-    private Runnable mUpdateRunnable = new Runnable() {
+    private boolean mAttached = false;
+    private boolean mPaused = false;
+    private boolean mSuspended = false;
+    private boolean mRestartPending = true;
+    private long mSuspendedPlayTime;
+
+    private final FrameClock.Callback mFrameCallback = new FrameClock.Callback() {
+        @Override
+        public boolean onFrame(long frameTimeNanos) {
+            if (!mInitialized) {
+                return false;
+            }
+            if (!isAnimating()) {
+                // draw static arcs once for current configuration, then nothing to redraw until restarted
+                mDrawnValuesValid = false;
+                invalidateChangedArcs();
+                return false;
+            }
+            if (!mFrameRateController.onFrame(frameTimeNanos)) {
+                // not this frame, in case of target frame rate lower than display refresh rate
+                return true;
+            }
+            if (mFrameMetrics != null) {
+                updateFrameWithMetrics(mFrameMetrics);
+            } else {
+                updateFrame();
+            }
+            return true;
+        }
+    };
+
+    private final FrameRateController mFrameRateController = new FrameRateController();
+
+    /**
+     * Level of detail drawn at current size, see {@link #setLevelOfDetailEnabled(boolean)}.
+     */
+    private LevelOfDetail mLevelOfDetail;
+
+    /**
+     * Batched configuration, see {@link #beginConfig()}.
+     */
+    private int mConfigDepth = 0;
+    private boolean mConfigRestartPending = false;
+    private boolean mConfigReMeasurePending = false;
+
+    /**
+     * Shared rendered frames, see {@link ArcFrameCache}.
+     */
+    private boolean mFrameCacheEnabled = false;
+    private boolean mFrameCacheLookupPending = true;
+    @Nullable
+    private ArcFrameCache.Entry mFrameCacheEntry;
+    @Nullable
+    private Canvas mFrameCanvas;
+
+    /**
+     * Opt-in frame metrics, {@code null} while disabled. See {@link #setFrameMetricsEnabled(boolean)}.
+     */
+    @Nullable
+    private ArcFrameMetrics mFrameMetrics;
+    private final Rect mVisibleRect = new Rect();
+
+    /**
+     * Group sharing animation state with this view, {@code null} unless added to one. See {@link ArcLoadingGroup}.
+     */
+    @Nullable
+    private ArcLoadingGroup mGroup;
+
+    private final FrameClock.Callback mGroupFrameCallback = new FrameClock.Callback() {
         @Override
-        public void run() {
-            mHandler.postDelayed(mUpdateRunnable, 16);
-            if (mInitialized) {
-                invalidate();
+        public boolean onFrame(long frameTimeNanos) {
+            // membership is tracked by the group, see updateGroupMembership()
+            if (mFrameRateController.onFrame(frameTimeNanos)) {
+                onGroupFrame();
             }
+            return true;
         }
     };
 
@@ -105,6 +228,11 @@ public class ArcLoadingView extends View {
     protected void initView(@Nullable AttributeSet attrs) {
         mProgressAnimation = new ProgressAnimation(ProgressAnimation.OPACITY_ANIMATION_TEST_STUB);
         mOpacityAnimation = new OpacityAnimation(OpacityAnimation.NONE);
+        final float density = getResources().getDisplayMetrics().density;
+        mLevelOfDetail = new LevelOfDetail(DEFAULT_LOD_MIN_DP_PER_ARC * density, DEFAULT_LOD_LOW_DETAIL_SIZE_DP * density);
+
+        // apply all attributes as a single change, see beginConfig()
+        beginConfig();
 
         if (attrs != null) {
             TypedArray a = getContext().getTheme().obtainStyledAttributes(
@@ -113,12 +241,21 @@ public class ArcLoadingView extends View {
                     0, 0);
 
             try {
+                setAnimationEngine(a.getInt(R.styleable.ArcLoadingView_animationEngine, AnimationEngine.ANIMATORS));
+                setHighArcCountEnabled(a.getBoolean(R.styleable.ArcLoadingView_highArcCount, false));
                 setArcCount(a.getInteger(R.styleable.ArcLoadingView_arcCount, DEFAULT_ARC_COUNT));
                 setArcSpacing(a.getFloat(R.styleable.ArcLoadingView_arcSpacing, DEFAULT_ARC_SPACING));
                 setArcStrokeWidth(a.getFloat(R.styleable.ArcLoadingView_arcStrokeWidth, DEFAULT_ARC_STROKE_WIDTH));
                 setPrimaryColor(a.getColor(R.styleable.ArcLoadingView_defaultColor, DEFAULT_ARC_COLOR));
                 setProgressAnimationType(a.getInt(R.styleable.ArcLoadingView_progressAnimation, ProgressAnimation.OPACITY_ANIMATION_TEST_STUB));
                 setOpacityAnimationType(a.getInt(R.styleable.ArcLoadingView_opacityAnimation, OpacityAnimation.NONE));
+                setFrameCacheEnabled(a.getBoolean(R.styleable.ArcLoadingView_frameCache, false));
+                setTargetFrameRate(a.getInt(R.styleable.ArcLoadingView_targetFrameRate, FRAME_RATE_NATIVE));
+                setAdaptiveFrameRateEnabled(a.getBoolean(R.styleable.ArcLoadingView_adaptiveFrameRate, false));
+                setLevelOfDetailThresholds(
+                        a.getDimension(R.styleable.ArcLoadingView_levelOfDetailMinPixelsPerArc, mLevelOfDetail.getMinPixelsPerArc()),
+                        a.getDimension(R.styleable.ArcLoadingView_levelOfDetailLowDetailSize, mLevelOfDetail.getLowDetailSize()));
+                setLevelOfDetailEnabled(a.getBoolean(R.styleable.ArcLoadingView_levelOfDetail, false));
             } finally {
                 a.recycle();
             }
@@ -135,6 +272,40 @@ public class ArcLoadingView extends View {
         mArcPaint.setStrokeWidth(mArcStrokeWidth);
 
         mInitialized = true;
+        commitConfig();
+    }
+
+    /**
+     * Starts batched configuration. Until matching {@link #commitConfig()} is called, setters only store new values,
+     * and animations are rebuilt and layout is requested at most once when configuration is committed.
+     * Calls might be nested, changes are applied when the outermost configuration is committed.
+     */
+    public void beginConfig() {
+        ++mConfigDepth;
+    }
+
+    /**
+     * Applies all changes made since {@link #beginConfig()} with a single animation rebuild and at most one layout request.
+     *
+     * @throws IllegalStateException In case {@link #beginConfig()} wasn't called before.
+     */
+    public void commitConfig() throws IllegalStateException {
+        if (mConfigDepth == 0) {
+            throw new IllegalStateException("commitConfig() called without beginConfig().");
+        }
+        if (--mConfigDepth > 0) {
+            return;
+        }
+
+        final boolean reMeasure = mConfigReMeasurePending;
+        final boolean restart = mConfigRestartPending;
+        mConfigReMeasurePending = false;
+        mConfigRestartPending = false;
+        if (reMeasure) {
+            restartAndReMeasure();
+        } else if (restart) {
+            restart();
+        }
     }
 
     /**
@@ -151,6 +322,8 @@ public class ArcLoadingView extends View {
         }
         if (colorList == null) {
             mColorList = null;
+            resetFrameCache();
+            invalidate();
             return;
         }
 
@@ -167,27 +340,249 @@ public class ArcLoadingView extends View {
     }
 
     /**
-     * Posts {@code mUpdateRunnable} to {@code mHandler}'s queue to trigger periodic redraws.
+     * Registers {@code mFrameCallback} with {@link FrameClock} to trigger redraws once per frame.
      */
     private void startUpdates() {
-        mHandler.postDelayed(mUpdateRunnable, 16);
+        mFrameRateController.reset();
+        getFrameClock().register(mFrameCallback);
     }
 
     /**
-     * Restarts animation.
+     * Unregisters {@code mFrameCallback} from {@link FrameClock}.
+     */
+    private void stopUpdates() {
+        getFrameClock().unregister(mFrameCallback);
+    }
+
+    /**
+     * @return {@code true} in case any of the animations changes the picture over time.
+     */
+    private boolean isAnimating() {
+        return mProgressAnimation.getType() != ProgressAnimation.OPACITY_ANIMATION_TEST_STUB
+                || mOpacityAnimation.getType() != OpacityAnimation.NONE;
+    }
+
+    /**
+     * @return {@code true} in case view is attached, visible and not paused, so animations should run.
+     */
+    private boolean canAnimate() {
+        return mInitialized && mAttached && !mPaused
+                && getWindowVisibility() == VISIBLE && isShown();
+    }
+
+    /**
+     * @return Current animation play time in [ms]. Frozen while animations are suspended.
+     */
+    private long getPlayTime() {
+        if (mSuspended) {
+            return mSuspendedPlayTime;
+        }
+        return getFrameClock().getTimeMillis() - mAnimationStartTime;
+    }
+
+    /**
+     * Restarts animation. In case view can't be seen at the moment, restart is deferred until it can.
      */
     private void restart() {
-        if (mInitialized) {
-            mProgressAnimation.restart();
-            mOpacityAnimation.restart();
-            startUpdates();
+        if (mConfigDepth > 0) {
+            mConfigRestartPending = true;
+            return;
+        }
+        if (!mInitialized) {
+            return;
+        }
+
+        // configuration changed, so redraw even in case nothing animates
+        invalidate();
+        if (mGroup != null) {
+            // animations are restarted by the group
+            updateGroupMembership();
+            return;
+        }
+
+        if (!canAnimate()) {
+            // no need to rebuild anything while nobody can see it, see updateAnimationState()
+            mRestartPending = true;
+            suspendAnimations();
+            return;
+        }
+
+        mRestartPending = false;
+        mSuspended = false;
+        resetFrameCache();
+        mAnimationStartTime = getFrameClock().getTimeMillis();
+        mProgressAnimation.restart();
+        mOpacityAnimation.restart();
+        startUpdates();
+    }
+
+    /**
+     * Suspends or resumes animations depending on attached state, visibility and explicit pause.
+     * Guarantees at most one registered frame callback while animating and none while suspended.
+     */
+    private void updateAnimationState() {
+        if (!mInitialized) {
+            return;
+        }
+
+        if (mGroup != null) {
+            updateGroupMembership();
+            return;
+        }
+
+        if (!canAnimate()) {
+            suspendAnimations();
+            return;
+        }
+
+        if (mRestartPending) {
+            restart();
+            return;
+        }
+
+        if (mSuspended) {
+            mSuspended = false;
+            // continue from the frame where animations were suspended
+            mAnimationStartTime = getFrameClock().getTimeMillis() - mSuspendedPlayTime;
+            mProgressAnimation.resume();
+            mOpacityAnimation.resume();
+        }
+        startUpdates();
+    }
+
+    /**
+     * Stops frame updates and pauses animations keeping current frame.
+     */
+    private void suspendAnimations() {
+        stopUpdates();
+        if (!mSuspended) {
+            mSuspendedPlayTime = getPlayTime();
+            mSuspended = true;
+            mProgressAnimation.pause();
+            mOpacityAnimation.pause();
+        }
+    }
+
+    /**
+     * Pause animations. View keeps displaying current frame until {@link #resume()} is called.
+     */
+    public void pause() {
+        mPaused = true;
+        updateAnimationState();
+    }
+
+    /**
+     * Resume animations paused with {@link #pause()}.
+     * Animations will actually run only while view is attached to window and visible.
+     */
+    public void resume() {
+        mPaused = false;
+        updateAnimationState();
+    }
+
+    /**
+     * @return {@code true} in case animations were paused with {@link #pause()}.
+     */
+    public boolean isPaused() {
+        return mPaused;
+    }
+
+    /**
+     * Lets the group know whether this view can be seen, so it animates while any of it's members can.
+     */
+    private void updateGroupMembership() {
+        if (canAnimate()) {
+            mGroup.onViewStarted(this);
+        } else {
+            mGroup.onViewStopped(this);
+        }
+    }
+
+    /**
+     * Joins or leaves a group, see {@link ArcLoadingGroup#addView(ArcLoadingView)}.
+     * Own animations are stopped while in a group and restarted once view leaves it.
+     *
+     * @param group An {@link ArcLoadingGroup}, or {@code null} to run own animations.
+     */
+    void setGroup(@Nullable ArcLoadingGroup group) {
+        stopUpdates();
+        mProgressAnimation.stop();
+        mOpacityAnimation.stop();
+        mSuspended = false;
+        mRestartPending = true;
+
+        mGroup = group;
+        if (group != null) {
+            applyArcCount(group.getArcCount());
         }
+        resetFrameCache();
+        restartAndReMeasure();
+    }
+
+    /**
+     * @return {@link ArcLoadingGroup} this view is a member of, or {@code null}.
+     */
+    @Nullable
+    public ArcLoadingGroup getGroup() {
+        return mGroup;
+    }
+
+    /**
+     * Called by the group when it's number of arcs changes.
+     */
+    void onGroupArcCountChanged() {
+        applyArcCount(mGroup.getArcCount());
+        requestLayoutIfWrapsContent();
+    }
+
+    /**
+     * Called by the group when it's animations restart.
+     */
+    void onGroupRestarted() {
+        mFrameRateController.reset();
+        resetFrameCache();
+    }
+
+    /**
+     * @return Callback ticked by the group once per frame after it's animations were advanced.
+     */
+    FrameClock.Callback getGroupFrameCallback() {
+        return mGroupFrameCallback;
+    }
+
+    private void onGroupFrame() {
+        if (!mInitialized) {
+            return;
+        }
+        if (mFrameMetrics != null) {
+            updateFrameWithMetrics(mFrameMetrics);
+        } else {
+            updateFrame();
+        }
+    }
+
+    /**
+     * @return {@link ProgressAnimation} arcs are drawn from, the group one while in a group.
+     */
+    private ProgressAnimation getActiveProgressAnimation() {
+        return mGroup != null ? mGroup.getProgressAnimation() : mProgressAnimation;
+    }
+
+    /**
+     * @return {@link OpacityAnimation} arcs are drawn from, the group one while in a group.
+     */
+    private OpacityAnimation getActiveOpacityAnimation() {
+        return mGroup != null ? mGroup.getOpacityAnimation() : mOpacityAnimation;
     }
 
     /**
      * Restarts animation and remeasures layout.
      */
     private void restartAndReMeasure() {
+        if (mConfigDepth > 0) {
+            mConfigReMeasurePending = true;
+            return;
+        }
         if (mInitialized) {
             restart();
             requestLayout();
@@ -206,13 +601,328 @@ public class ArcLoadingView extends View {
 
         if (mPrimaryColor != color) {
             mPrimaryColor = color;
+            resetFrameCache();
+            invalidate();
+        }
+    }
+
+    /**
+     * Enable drawing frames from {@link ArcFrameCache} shared by all views with identical configuration.
+     * Works only with time based animation engines, ignored by {@link AnimationEngine#ANIMATORS}.
+     *
+     * @param enabled   {@code true} to use shared rendered frames.
+     */
+    public void setFrameCacheEnabled(boolean enabled) {
+        mFrameCacheEnabled = enabled;
+        resetFrameCache();
+    }
+
+    /**
+     * @return {@code true} in case frames are drawn from {@link ArcFrameCache}.
+     */
+    public boolean isFrameCacheEnabled() {
+        return mFrameCacheEnabled;
+    }
+
+    /**
+     * Set target frame rate of the view. Animations advance by real elapsed time, so animation speed is the same
+     * at any frame rate, lower rates just save some work for small or unimportant spinners.
+     *
+     * @param frameRate One of 24, 30, 60 or {@link #FRAME_RATE_NATIVE} to update on every display frame.
+     *
+     * @throws IllegalArgumentException In case of any other value.
+     */
+    public void setTargetFrameRate(int frameRate) throws IllegalArgumentException {
+        if (frameRate != FRAME_RATE_NATIVE && frameRate != 24 && frameRate != 30 && frameRate != 60) {
+            throw new IllegalArgumentException("Should be one of 24, 30, 60 or FRAME_RATE_NATIVE");
+        }
+
+        mFrameRateController.setTargetFrameRate(frameRate);
+    }
+
+    /**
+     * @return Target frame rate, one of 24, 30, 60 or {@link #FRAME_RATE_NATIVE}.
+     */
+    public int getTargetFrameRate() {
+        return mFrameRateController.getTargetFrameRate();
+    }
+
+    /**
+     * Enable adaptive frame rate. Frame rate is stepped down below target while recent frames miss their deadline,
+     * and stepped back up to target once they are on time again.
+     *
+     * @param enabled   {@code true} to adapt frame rate to jank.
+     */
+    public void setAdaptiveFrameRateEnabled(boolean enabled) {
+        mFrameRateController.setAdaptive(enabled);
+    }
+
+    /**
+     * @return {@code true} in case adaptive frame rate is enabled.
+     */
+    public boolean isAdaptiveFrameRateEnabled() {
+        return mFrameRateController.isAdaptive();
+    }
+
+    /**
+     * @return Frame rate used at the moment, lower than target in case adaptive frame rate stepped it down.
+     *          {@link #FRAME_RATE_NATIVE} in case view updates on every display frame.
+     */
+    public int getCurrentFrameRate() {
+        return mFrameRateController.getCurrentFrameRate();
+    }
+
+    /**
+     * Enable automatic level of detail. Depending on measured size of the view:
+     *  - Arcs packed closer than min pixels per arc, or not fitting into the view at all, are not drawn,
+     *    only outermost arcs are. Animations of all arcs keep running, so hidden arcs reappear in their current state.
+     *  - Views smaller than low detail size are drawn without anti-aliasing and round caps, at 30 fps at most.
+     * Full detail is restored once the view is large enough again.
+     *
+     * @param enabled   {@code true} to adapt detail to size of the view.
+     */
+    public void setLevelOfDetailEnabled(boolean enabled) {
+        mLevelOfDetail.setEnabled(enabled);
+        updateArcGeometry();
+    }
+
+    /**
+     * @return {@code true} in case level of detail adapts to size of the view.
+     */
+    public boolean isLevelOfDetailEnabled() {
+        return mLevelOfDetail.isEnabled();
+    }
+
+    /**
+     * Set thresholds of level of detail, see {@link #setLevelOfDetailEnabled(boolean)}. 3dp per arc and 40dp by default.
+     *
+     * @param minPixelsPerArc   Min radius of the view in pixels per drawn arc, 0 to draw all arcs which fit into the view.
+     * @param lowDetailSize     Size of smaller side of the view in pixels, below which it's drawn in low detail.
+     *
+     * @throws IllegalArgumentException In case any of thresholds is negative.
+     */
+    public void setLevelOfDetailThresholds(float minPixelsPerArc, float lowDetailSize) throws IllegalArgumentException {
+        if (minPixelsPerArc < 0.f || lowDetailSize < 0.f) {
+            throw new IllegalArgumentException("Thresholds should not be negative");
+        }
+
+        mLevelOfDetail.setThresholds(minPixelsPerArc, lowDetailSize);
+        updateArcGeometry();
+    }
+
+    /**
+     * @return Min radius of the view in pixels per drawn arc.
+     */
+    public float getLevelOfDetailMinPixelsPerArc() {
+        return mLevelOfDetail.getMinPixelsPerArc();
+    }
+
+    /**
+     * @return Size of smaller side of the view in pixels, below which it's drawn in low detail.
+     */
+    public float getLevelOfDetailLowDetailSize() {
+        return mLevelOfDetail.getLowDetailSize();
+    }
+
+    /**
+     * @return Number of outermost arcs drawn at current size, same as {@link #getArcCount()} at full detail.
+     */
+    public int getRenderedArcCount() {
+        final int renderedArcCount = mLevelOfDetail.getRenderedArcCount();
+        return renderedArcCount > 0 ? Math.min(renderedArcCount, mArcCount) : mArcCount;
+    }
+
+    /**
+     * @return {@code true} in case view is drawn without anti-aliasing and round caps at a lower frame rate.
+     */
+    public boolean isLowDetail() {
+        return mLevelOfDetail.isLowDetail();
+    }
+
+    /**
+     * Set source of animation time and frame ticks. Restarts animation.
+     * A {@link com.kvolkov.animatedprogressviews.animations.ManualFrameClock} steps frames deterministically,
+     * e.g. to replay exact frames in tests or render frames offline, for all engines including
+     * {@link AnimationEngine#ANIMATORS}.
+     *
+     * @param clock A {@link FrameClock}, or {@code null} for shared vsync driven {@link ChoreographerFrameClock}.
+     */
+    public void setFrameClock(@Nullable FrameClock clock) {
+        stopUpdates();
+        mFrameClock = clock;
+        mProgressAnimation.setFrameClock(clock);
+        mOpacityAnimation.setFrameClock(clock);
+        restart();
+    }
+
+    /**
+     * @return {@link FrameClock} ticking this view.
+     */
+    public FrameClock getFrameClock() {
+        return mFrameClock != null ? mFrameClock : ChoreographerFrameClock.getInstance();
+    }
+
+    /**
+     * Enable collecting {@link ArcFrameMetrics}. Metrics are cleared when disabled.
+     * While disabled, metrics cost nothing but a null check per frame.
+     *
+     * @param enabled   {@code true} to collect frame metrics.
+     */
+    public void setFrameMetricsEnabled(boolean enabled) {
+        if (enabled == (mFrameMetrics != null)) {
+            return;
         }
+
+        mFrameMetrics = enabled ? new ArcFrameMetrics() : null;
+    }
+
+    /**
+     * @return {@code true} in case frame metrics are collected.
+     */
+    public boolean isFrameMetricsEnabled() {
+        return mFrameMetrics != null;
+    }
+
+    /**
+     * Copies current frame metrics into provided instance, so it can be reused between calls.
+     *
+     * @param outMetrics    An {@link ArcFrameMetrics} to copy values into.
+     * @return  {@code outMetrics}, empty in case metrics are not enabled.
+     */
+    public ArcFrameMetrics getFrameMetrics(ArcFrameMetrics outMetrics) {
+        if (mFrameMetrics == null) {
+            outMetrics.reset();
+            outMetrics.setLiveCounts(0, 0);
+            return outMetrics;
+        }
+
+        if (mGroup != null) {
+            // shared animations are accounted to the group, not to each of it's members
+            mFrameMetrics.setLiveCounts(0, 0);
+        } else {
+            mFrameMetrics.setLiveCounts(
+                    mProgressAnimation.getLiveAnimatorCount() + mOpacityAnimation.getLiveAnimatorCount(),
+                    mProgressAnimation.getLiveCurveCount() + mOpacityAnimation.getLiveCurveCount());
+        }
+        outMetrics.set(mFrameMetrics);
+        return outMetrics;
+    }
+
+    /**
+     * Clears collected frame metrics, e.g. after they were exported.
+     */
+    public void resetFrameMetrics() {
+        if (mFrameMetrics != null) {
+            mFrameMetrics.reset();
+        }
+    }
+
+    /**
+     * Drops current {@link ArcFrameCache} entry and last drawn values, so both are refreshed for new configuration.
+     */
+    private void resetFrameCache() {
+        mFrameCacheEntry = null;
+        mFrameCacheLookupPending = true;
+        mDrawnValuesValid = false;
+    }
+
+    /**
+     * Advances time based animations to current play time, and invalidates only in case something visible changed.
+     * Called once per frame.
+     */
+    private void updateFrame() {
+        if (mGroup != null) {
+            // group animations are already advanced for this frame
+            invalidateChangedArcs();
+            return;
+        }
+
+        final boolean timeBased = mProgressAnimation.getEngine() != AnimationEngine.ANIMATORS;
+        if (timeBased && mFrameCacheEnabled && (mFrameCacheEntry != null || mFrameCacheLookupPending)) {
+            // frame is drawn from cache in onDraw()
+            invalidate();
+            return;
+        }
+
+        if (timeBased || mFrameClock != null) {
+            final long playTime = getPlayTime();
+            mProgressAnimation.setCurrentPlayTime(playTime);
+            mOpacityAnimation.setCurrentPlayTime(playTime);
+        }
+        invalidateChangedArcs();
+    }
+
+    /**
+     * Same as {@link #updateFrame()}, measuring it.
+     *
+     * @param metrics   Enabled {@link ArcFrameMetrics}.
+     */
+    private void updateFrameWithMetrics(ArcFrameMetrics metrics) {
+        if (getAlpha() == 0.f || !getGlobalVisibleRect(mVisibleRect)) {
+            metrics.onInvisibleTick();
+        }
+
+        final long startTime = System.nanoTime();
+        updateFrame();
+        metrics.onFrameUpdated(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Compares current arc values with values last invalidated for drawing, and invalidates union bounds of changed arcs.
+     * Nothing is invalidated in case no arc moved visibly.
+     */
+    private void invalidateChangedArcs() {
+        updateArcAngles();
+        final int[] opacities = getActiveOpacityAnimation().getAnimatedValues();
+        final int renderedArcCount = getRenderedArcCount();
+
+        if (!mDrawnValuesValid || mDrawnStartAngles.length != mArcCount || mArcGeometry.getArcCount() < mArcCount) {
+            if (mDrawnStartAngles.length != mArcCount) {
+                mDrawnStartAngles = new float[mArcCount];
+                mDrawnSweepAngles = new float[mArcCount];
+                mDrawnOpacities = new int[mArcCount];
+            }
+            System.arraycopy(mArcStartAngles, 0, mDrawnStartAngles, 0, renderedArcCount);
+            System.arraycopy(mArcSweepAngles, 0, mDrawnSweepAngles, 0, renderedArcCount);
+            System.arraycopy(opacities, 0, mDrawnOpacities, 0, renderedArcCount);
+            mDrawnValuesValid = true;
+            invalidate();
+            return;
+        }
+
+        boolean changed = false;
+        mDirtyBounds.setEmpty();
+        for (int i = 0; i < renderedArcCount; ++i) {
+            if (Math.abs(mArcStartAngles[i] - mDrawnStartAngles[i]) >= MIN_VISIBLE_ANGLE_CHANGE
+                    || Math.abs(mArcSweepAngles[i] - mDrawnSweepAngles[i]) >= MIN_VISIBLE_ANGLE_CHANGE
+                    || opacities[i] != mDrawnOpacities[i]) {
+                mDrawnStartAngles[i] = mArcStartAngles[i];
+                mDrawnSweepAngles[i] = mArcSweepAngles[i];
+                mDrawnOpacities[i] = opacities[i];
+                mDirtyBounds.union(mArcGeometry.getRect(i));
+                changed = true;
+            }
+        }
+
+        if (!changed) {
+            // skip frame
+            if (mFrameMetrics != null) {
+                mFrameMetrics.onFrameSkipped();
+            }
+            return;
+        }
+
+        // arcs are stroked around their rects, and round caps stick out by half of stroke as well
+        final float outset = mArcStrokeWidth / 2.f + 1.f;
+        mDirtyRect.set((int) Math.floor(mDirtyBounds.left - outset), (int) Math.floor(mDirtyBounds.top - outset),
+                (int) Math.ceil(mDirtyBounds.right + outset), (int) Math.ceil(mDirtyBounds.bottom + outset));
+        invalidate(mDirtyRect);
     }
 
     /**
      * Setup progress animation type.
      *
-     * @param animationType Should be of public static values in {@link ProgressAnimation}.
+     * @param animationType Should be of public static values in {@link ProgressAnimation}, or a type registered with {@link ArcAnimations}.
      */
     public void setProgressAnimationType(int animationType) {
         mProgressAnimation.setType(animationType);
@@ -230,34 +940,214 @@ public class ArcLoadingView extends View {
     }
 
     /**
-     * Set number of arcs.
+     * Setup spatial falloff of {@link OpacityAnimation#RIPPLE} opacity animation.
+     *
+     * @param kernel    An {@link OpacityKernel}, e.g. one of {@link OpacityKernels}. {@link OpacityKernels#POWER} by default.
+     */
+    public void setRippleKernel(OpacityKernel kernel) {
+        mOpacityAnimation.setRippleKernel(kernel);
+        restart();
+    }
+
+    /**
+     * Setup animation engine.
+     *
+     * @param engine    Should be one of public static values from {@link AnimationEngine}.
+     *
+     * @throws IllegalStateException In case of {@link AnimationEngine#ANIMATORS} in high arc count mode.
+     */
+    public void setAnimationEngine(int engine) throws IllegalStateException {
+        if (mHighArcCountEnabled && engine == AnimationEngine.ANIMATORS) {
+            throw new IllegalStateException("ANIMATORS engine can't be used in high arc count mode");
+        }
+
+        mProgressAnimation.setEngine(engine);
+        mOpacityAnimation.setEngine(engine);
+        restart();
+    }
+
+    /**
+     * @return One of public static values from {@link AnimationEngine}.
+     */
+    public int getAnimationEngine() {
+        return mProgressAnimation.getEngine();
+    }
+
+    /**
+     * Set number of arcs. While animating, remaining arcs keep their state and timing,
+     * and only added arcs are initialized, joining animation at current play time.
      *
-     * @param arcs  Number in range [1..30].
+     * @param arcs  Number in range [1..30], or [1..500] in high arc count mode, see {@link #setHighArcCountEnabled(boolean)}.
      *
      * @throws IllegalArgumentException In case out of specified range.
+     * @throws IllegalStateException In case view is in an {@link ArcLoadingGroup}, which sets number of arcs.
+     */
+    public void setArcCount(@IntRange(from = 1, to = MAX_HIGH_ARC_COUNT) int arcs) throws IllegalArgumentException, IllegalStateException {
+        final int maxArcCount = mHighArcCountEnabled ? MAX_HIGH_ARC_COUNT : MAX_ARC_COUNT;
+        if (arcs < 1 || arcs > maxArcCount) {
+            throw new IllegalArgumentException("Should be in range [1.." + maxArcCount + "]");
+        }
+        if (mGroup != null) {
+            throw new IllegalStateException("Number of arcs is set by ArcLoadingGroup");
+        }
+
+        if (mInitialized && mConfigDepth == 0 && !mRestartPending) {
+            resizeArcs(arcs);
+            return;
+        }
+
+        applyArcCount(arcs);
+        restartAndReMeasure();
+    }
+
+    /**
+     * Changes number of arcs of started animations without restarting them.
+     *
+     * @param arcs  Number in valid range, see {@link #setArcCount(int)}.
+     */
+    private void resizeArcs(int arcs) {
+        mArcCount = arcs;
+        clearMismatchedColorList();
+        mProgressAnimation.resizeAnimators(mArcCount);
+        mOpacityAnimation.resizeAnimators(mArcCount);
+        if (mProgressAnimation.getEngine() != AnimationEngine.ANIMATORS || mFrameClock != null) {
+            // evaluate added arcs right away, in case no frame comes before next draw
+            final long playTime = getPlayTime();
+            mProgressAnimation.setCurrentPlayTime(playTime);
+            mOpacityAnimation.setCurrentPlayTime(playTime);
+        }
+        updateArcGeometry();
+        requestLayoutIfWrapsContent();
+    }
+
+    /**
+     * Updates {@link ArcGeometry} and {@link LevelOfDetail} for current size, spacing and number of arcs,
+     * and redraws in case anything changed.
+     */
+    private void updateArcGeometry() {
+        final boolean geometryChanged = mArcGeometry.update(mArcCount, mArcSpacing, getWidth(), getHeight());
+        final boolean detailChanged = mLevelOfDetail.update(mArcCount, mArcSpacing, getWidth(), getHeight());
+        if (detailChanged) {
+            applyLevelOfDetail();
+        }
+        if (geometryChanged) {
+            updateArcRectList();
+        }
+        if (geometryChanged || detailChanged) {
+            resetFrameCache();
+            invalidate();
+        }
+    }
+
+    /**
+     * Copies rects of arcs from {@link ArcGeometry} into {@code mArcRectList}, reusing rect instances,
+     * so subclasses see rects of all arcs for current size. Not used for drawing.
+     */
+    private void updateArcRectList() {
+        final int count = mArcGeometry.getArcCount();
+        while (mArcRectList.size() > count) {
+            mArcRectList.remove(mArcRectList.size() - 1);
+        }
+        for (int i = 0; i < count; ++i) {
+            if (i == mArcRectList.size()) {
+                mArcRectList.add(new RectF());
+            }
+            mArcRectList.get(i).set(mArcGeometry.getRect(i));
+        }
+    }
+
+    /**
+     * Sets up paint and frame rate for current {@link LevelOfDetail}.
+     */
+    private void applyLevelOfDetail() {
+        final boolean lowDetail = mLevelOfDetail.isLowDetail();
+        if (mArcPaint != null) {
+            mArcPaint.setAntiAlias(!lowDetail);
+            mArcPaint.setStrokeCap(lowDetail ? Paint.Cap.BUTT : Paint.Cap.ROUND);
+        }
+        mFrameRateController.setMaxFrameRate(lowDetail ? LevelOfDetail.LOW_DETAIL_FRAME_RATE : FRAME_RATE_NATIVE);
+    }
+
+    /**
+     * Measured size with wrap_content depends on number of arcs, so layout is requested only in such case.
      */
-    public void setArcCount(@IntRange(from = 1, to = 30) int arcs) throws IllegalArgumentException {
-        if (arcs < 1 || arcs > 30) {
-            throw new IllegalArgumentException("Should be in range [1..30]");
+    private void requestLayoutIfWrapsContent() {
+        final ViewGroup.LayoutParams params = getLayoutParams();
+        if (params != null && (params.width == ViewGroup.LayoutParams.WRAP_CONTENT
+                || params.height == ViewGroup.LayoutParams.WRAP_CONTENT)) {
+            requestLayout();
         }
+    }
 
+    /**
+     * Sets number of arcs and animators, without restarting.
+     *
+     * @param arcs  Number in valid range, see {@link #setArcCount(int)}.
+     */
+    private void applyArcCount(int arcs) {
         mArcCount = arcs;
+        clearMismatchedColorList();
 
         // setup new number of animators before they will get reinitialized after calling restart()
         mProgressAnimation.setAnimatorsCount(mArcCount);
         mOpacityAnimation.setAnimatorsCount(mArcCount);
+        updateArcGeometry();
+    }
 
-        restartAndReMeasure();
+    /**
+     * Color list is set for a specific number of arcs, so it's dropped once number of arcs changes,
+     * and primary color is used instead.
+     */
+    private void clearMismatchedColorList() {
+        if (mColorList != null && mColorList.size() != mArcCount) {
+            mColorList = null;
+            resetFrameCache();
+        }
     }
 
     /**
-     * @return Number of arcs. Should be an int in range [1..30].
+     * @return Number of arcs. Should be an int in range [1..30], or [1..500] in high arc count mode.
      */
-    @IntRange(from = 1, to = 30)
+    @IntRange(from = 1, to = MAX_HIGH_ARC_COUNT)
     public int getArcCount() {
         return mArcCount;
     }
 
+    /**
+     * Enable high arc count mode, allowing up to {@link #MAX_HIGH_ARC_COUNT} thin concentric arcs.
+     * Per frame cost stays linear in number of arcs with a small constant: curves of all arcs are evaluated
+     * from packed lookup tables in primitive loops, rects of arcs are computed without any per arc objects,
+     * and arcs of primary color are drawn in a few batches, with opacity quantized to 16 levels.
+     *
+     * Built in animations repeat their pattern of 30 arcs further out. {@link AnimationEngine#ANIMATORS} engine
+     * needs two animators per arc, so it's switched to {@link AnimationEngine#BAKED}.
+     * Once disabled, number of arcs is limited to 30 again.
+     *
+     * @param enabled   {@code true} to allow hundreds of arcs.
+     */
+    public void setHighArcCountEnabled(boolean enabled) {
+        if (mHighArcCountEnabled == enabled) {
+            return;
+        }
+
+        mHighArcCountEnabled = enabled;
+        if (enabled && mProgressAnimation.getEngine() == AnimationEngine.ANIMATORS) {
+            setAnimationEngine(AnimationEngine.BAKED);
+        }
+        if (!enabled && mArcCount > MAX_ARC_COUNT) {
+            setArcCount(MAX_ARC_COUNT);
+        }
+        resetFrameCache();
+        invalidate();
+    }
+
+    /**
+     * @return {@code true} in case high arc count mode is enabled.
+     */
+    public boolean isHighArcCountEnabled() {
+        return mHighArcCountEnabled;
+    }
+
     /**
      * Set spacing between arcs.
      *
@@ -271,6 +1161,7 @@ public class ArcLoadingView extends View {
         }
 
         mArcSpacing = spacing;
+        updateArcGeometry();
 
         restartAndReMeasure();
     }
@@ -289,6 +1180,9 @@ public class ArcLoadingView extends View {
         }
 
         mArcStrokeWidth = width;
+        if (mArcPaint != null) {
+            mArcPaint.setStrokeWidth(mArcStrokeWidth);
+        }
 
         restartAndReMeasure();
     }
@@ -298,58 +1192,41 @@ public class ArcLoadingView extends View {
         super.onAttachedToWindow();
 
         // start animating when attached to window
+        mAttached = true;
+        final WindowManager windowManager = (WindowManager) getContext().getSystemService(Context.WINDOW_SERVICE);
+        if (windowManager != null) {
+            mFrameRateController.setDisplayRefreshRate(windowManager.getDefaultDisplay().getRefreshRate());
+        }
         restart();
     }
 
     @Override
-    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
-        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+    protected void onVisibilityChanged(View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
 
-        final int widthSize = MeasureSpec.getSize(widthMeasureSpec);
-        final int heightSize = MeasureSpec.getSize(heightMeasureSpec);
-
-        setMeasuredDimension(widthSize, heightSize);
-
-        if (widthSize == 0 || heightSize == 0) {
-            // ignore calls from onMeasure when view is not yet measured
-            return;
-        }
+        updateAnimationState();
+    }
 
-        final int prefferedDimension = Math.min(widthSize, heightSize);
-        // preffered stroke width to match drawing exactly with the number of arcs and specified padding
-        final int arcs = mArcCount + 1; // + 1 since no need to see circle in the middle
-        final float leftSpace = prefferedDimension - mArcSpacing * arcs;
-        final float prefferedStrokeWidth; // TODO: so far ignored, but mb should be used so arcs can't overlap. Or mb leave overlap effect to play with params.
-        if (leftSpace >= 0.f) {
-            prefferedStrokeWidth = leftSpace / arcs;
-        } else {
-            prefferedStrokeWidth = mArcSpacing;
-        }
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
 
-        final boolean isWider = widthSize >= heightSize;
-        final float sideDiff = isWider ? (widthSize - prefferedDimension) / 2.f
-                : (heightSize - prefferedDimension) / 2.f;
+        updateAnimationState();
+    }
 
-        //mArcStrokeWidth = prefferedStrokeWidth;
-        if (mArcPaint != null) {
-            mArcPaint.setStrokeWidth(mArcStrokeWidth);
-        }
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        // with wrap_content view is just large enough for all arcs, arc rects are computed in onSizeChanged()
+        final int desiredSize = ArcGeometry.getDesiredSize(mArcCount, mArcSpacing, mArcStrokeWidth);
+        setMeasuredDimension(resolveSize(Math.max(desiredSize, getSuggestedMinimumWidth()), widthMeasureSpec),
+                resolveSize(Math.max(desiredSize, getSuggestedMinimumHeight()), heightMeasureSpec));
+    }
 
-        // Init rects for arcs
-        mArcRectList.clear();
-        final float arcRadiusDiff = mArcSpacing * 2.f;
-        final float initialLeft = isWider ? sideDiff : 0.f,
-                initialTop = isWider ? 0.f : sideDiff,
-                initialRight = widthSize - (isWider ? sideDiff : 0.f),
-                initialBottom = heightSize - (isWider ? 0.f : sideDiff);
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
 
-        for (int i = 0; i < mArcCount; ++i) {
-            final float left = initialLeft + arcRadiusDiff * (i + 1),
-                    top = initialTop + arcRadiusDiff * (i + 1),
-                    right = initialRight - arcRadiusDiff * (i + 1),
-                    bottom = initialBottom - arcRadiusDiff * (i + 1);
-            mArcRectList.add(new RectF(left, top, right, bottom));
-        }
+        updateArcGeometry();
     }
 
     @Override
@@ -361,62 +1238,130 @@ public class ArcLoadingView extends View {
 
         super.onDraw(canvas);
 
-        for (int i = 0; i < mArcCount; ++i) {
-            canvas.save();
+        if (mFrameMetrics == null) {
+            drawFrame(canvas);
+            return;
+        }
+
+        final long startTime = System.nanoTime();
+        drawFrame(canvas);
+        mFrameMetrics.onFrameDrawn(System.nanoTime() - startTime);
+    }
 
-            if (mColorList != null) {
-                mArcPaint.setColor(mColorList.get(i));
-            } else {
-                mArcPaint.setColor(mPrimaryColor);
+    /**
+     * Draws current frame, from {@link ArcFrameCache} if enabled.
+     *
+     * @param canvas    A {@link Canvas} to draw on.
+     */
+    private void drawFrame(Canvas canvas) {
+        if (mProgressAnimation.getEngine() != AnimationEngine.ANIMATORS && mFrameCacheEnabled && mGroup == null) {
+            final long playTime = getPlayTime();
+            if (drawCachedFrame(canvas, playTime)) {
+                return;
             }
-            mArcPaint.setAlpha(mOpacityAnimation.getAnimatedValue(i));
-            switch (mProgressAnimation.getType()) {
-                case ProgressAnimation.RACE_CONDITION:
-                    canvas.drawArc(mArcRectList.get(i), mProgressAnimation.getAlphaAnimatedValue(i), mProgressAnimation.getBetaAnimatedValue(i), false, mArcPaint);
-                    break;
-
-                case ProgressAnimation.SWIRLY:
-                case ProgressAnimation.WHIRPOOL:
-                case ProgressAnimation.HYPERLOOP:
-                    canvas.drawArc(mArcRectList.get(i), mProgressAnimation.getAlphaAnimatedValue(i), mProgressAnimation.getBetaAnimatedValue(i), false, mArcPaint);
-                    break;
-
-                case ProgressAnimation.METRONOME_1:
-                case ProgressAnimation.METRONOME_2:
-                    canvas.drawArc(mArcRectList.get(i), mProgressAnimation.getInitialAlphaValue() + mProgressAnimation.getAlphaAnimatedValue(i), mProgressAnimation.getBetaAnimatedValue(i), false, mArcPaint);
-                    break;
-
-                case ProgressAnimation.METRONOME_3:
-                case ProgressAnimation.METRONOME_4:
-                    canvas.drawArc(mArcRectList.get(i), mProgressAnimation.getInitialAlphaValue() - mProgressAnimation.getBetaAnimatedValue(i), mProgressAnimation.getAlphaAnimatedValue(i), false, mArcPaint);
-                    break;
-
-                case ProgressAnimation.BUTTERFLY_KNIFE:
-                    canvas.drawArc(mArcRectList.get(i), mProgressAnimation.getInitialAlphaValue() - mProgressAnimation.getBetaAnimatedValue(i), mProgressAnimation.getAlphaAnimatedValue(i), false, mArcPaint);
-                    break;
-
-                case ProgressAnimation.RAINBOW:
-                case ProgressAnimation.GOTCHA:
-                    canvas.drawArc(mArcRectList.get(i), mProgressAnimation.getInitialAlphaValue() + mProgressAnimation.getBetaAnimatedValue(i), -mProgressAnimation.getAlphaAnimatedValue(i), false, mArcPaint);
-                    break;
-
-                case ProgressAnimation.OPACITY_ANIMATION_TEST_STUB:
-                    canvas.drawArc(mArcRectList.get(i), 0, 360, false, mArcPaint);
-                    break;
+            // values might have been overwritten while rendering cached frames
+            mProgressAnimation.setCurrentPlayTime(playTime);
+            mOpacityAnimation.setCurrentPlayTime(playTime);
+        }
+
+        drawArcs(canvas);
+    }
+
+    /**
+     * Draws frame for specified play time from {@link ArcFrameCache}, rendering it first if needed.
+     *
+     * @param canvas    A {@link Canvas} to draw on.
+     * @param playTime  Time in [ms] since animation start.
+     * @return  {@code false} in case frames of current configuration can't be cached, so nothing was drawn.
+     */
+    private boolean drawCachedFrame(Canvas canvas, long playTime) {
+        if (mFrameCacheEntry == null || !mFrameCacheEntry.isValid()) {
+            if (mFrameCacheEntry == null && !mFrameCacheLookupPending) {
+                // already known this configuration is not cached
+                return false;
+            }
+            mFrameCacheLookupPending = false;
+            mFrameCacheEntry = ArcFrameCache.getInstance().obtain(createFrameCacheKey(),
+                    AnimationCurve.getCommonPeriod(mProgressAnimation.getPeriod(), mOpacityAnimation.getPeriod()));
+            if (mFrameCacheEntry == null) {
+                return false;
+            }
+        }
+
+        final int index = mFrameCacheEntry.getFrameIndex(playTime);
+        Bitmap frame = mFrameCacheEntry.getFrame(index);
+        if (frame == null) {
+            frame = mFrameCacheEntry.createFrame(index);
+            if (mFrameCanvas == null) {
+                mFrameCanvas = new Canvas();
+            }
+            final long frameTime = mFrameCacheEntry.getFrameTime(index);
+            mProgressAnimation.setCurrentPlayTime(frameTime);
+            mOpacityAnimation.setCurrentPlayTime(frameTime);
+            mFrameCanvas.setBitmap(frame);
+            drawArcs(mFrameCanvas);
+            mFrameCanvas.setBitmap(null);
+        }
+        canvas.drawBitmap(frame, 0, 0, null);
+        return true;
+    }
+
+    private ArcFrameCache.Key createFrameCacheKey() {
+        int[] colors = null;
+        if (mColorList != null) {
+            colors = new int[mColorList.size()];
+            for (int i = 0; i < colors.length; ++i) {
+                colors[i] = mColorList.get(i);
             }
+        }
+        return new ArcFrameCache.Key(mProgressAnimation.getType(), mOpacityAnimation.getType(),
+                mOpacityAnimation.getRippleKernel(), mProgressAnimation.getEngine(),
+                mArcCount, getRenderedArcCount(), mLevelOfDetail.isLowDetail(), mHighArcCountEnabled, mArcSpacing, mArcStrokeWidth, mPrimaryColor, colors, getWidth(), getHeight());
+    }
+
+    /**
+     * Draws all arcs using current animated values.
+     *
+     * @param canvas    A {@link Canvas} to draw on.
+     */
+    private void drawArcs(Canvas canvas) {
+        updateArcAngles();
+        final int renderedArcCount = getRenderedArcCount();
+        if (mHighArcCountEnabled && mColorList == null) {
+            ArcRenderer.drawArcsBatched(canvas, mArcGeometry, renderedArcCount, mArcStartAngles, mArcSweepAngles,
+                    getActiveOpacityAnimation().getAnimatedValues(), mPrimaryColor, mArcPaint, mArcPath, mOpacityBuckets);
+            return;
+        }
+        ArcRenderer.drawArcs(canvas, mArcGeometry, renderedArcCount, mArcStartAngles, mArcSweepAngles,
+                getActiveOpacityAnimation().getAnimatedValues(), mColorList, mPrimaryColor, mArcPaint, mArcPath);
+    }
 
-            canvas.restore();
+    /**
+     * Computes start and sweep angles of drawn arcs from current animated values into {@code mArcStartAngles}
+     * and {@code mArcSweepAngles}.
+     */
+    private void updateArcAngles() {
+        if (mArcStartAngles.length != mArcCount) {
+            mArcStartAngles = new float[mArcCount];
+            mArcSweepAngles = new float[mArcCount];
         }
+        getActiveProgressAnimation().computeArcAngles(getRenderedArcCount(), mArcStartAngles, mArcSweepAngles);
     }
 
     @Override
     protected void onDetachedFromWindow() {
         super.onDetachedFromWindow();
 
-        // TODO: manage mem stub
+        // release animators, they will be rebuilt once attached again
+        mAttached = false;
+        stopUpdates();
         mProgressAnimation.stop();
         mOpacityAnimation.stop();
-        mInitialized = false;
+        mSuspended = false;
+        mRestartPending = true;
+        if (mGroup != null) {
+            mGroup.onViewStopped(this);
+        }
     }
 
 
@@ -0,0 +1,176 @@
+package com.kvolkov.animatedprogressviews;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.support.annotation.ColorInt;
+import android.support.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * Arc drawing shared by {@link ArcLoadingView} and {@link ArcLoadingTextureView}, with rects of arcs provided by {@link ArcGeometry}.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+final class ArcRenderer {
+
+    /**
+     * Number of opacity levels arcs are batched into by {@link #drawArcsBatched}, including transparent one.
+     */
+    static final int OPACITY_LEVELS = 16;
+
+    private ArcRenderer() {
+    }
+
+    /**
+     * Draws arcs. Arcs sharing same color and fully opaque are drawn as a single path, without any visual difference.
+     *
+     * @param canvas        A {@link Canvas} to draw on.
+     * @param geometry      {@link ArcGeometry} with rects of at least {@code arcCount} arcs.
+     * @param arcCount      Number of arcs.
+     * @param startAngles   Start angles of arcs.
+     * @param sweepAngles   Sweep angles of arcs.
+     * @param opacities     Opacities of arcs.
+     * @param colors        Colors of arcs, or {@code null} to use primary color.
+     * @param primaryColor  Color used in case {@code colors} is {@code null}.
+     * @param paint         Stroke paint to draw with.
+     * @param path          Path reused for batched drawing.
+     */
+    static void drawArcs(Canvas canvas, ArcGeometry geometry, int arcCount, float[] startAngles, float[] sweepAngles,
+                         int[] opacities, @Nullable List<Integer> colors, @ColorInt int primaryColor, Paint paint, Path path) {
+        if (colors == null && isOpaque(opacities, arcCount)) {
+            paint.setColor(primaryColor);
+            paint.setAlpha(255);
+            path.rewind();
+            for (int i = 0; i < arcCount; ++i) {
+                if (isDrawable(startAngles[i], sweepAngles[i])) {
+                    path.addArc(geometry.getRect(i), startAngles[i], sweepAngles[i]);
+                }
+            }
+            canvas.drawPath(path, paint);
+            return;
+        }
+
+        for (int i = 0; i < arcCount; ++i) {
+            if (!isDrawable(startAngles[i], sweepAngles[i])) {
+                continue;
+            }
+            if (colors != null) {
+                paint.setColor(colors.get(i));
+            } else {
+                paint.setColor(primaryColor);
+            }
+            paint.setAlpha(opacities[i]);
+            canvas.drawArc(geometry.getRect(i), startAngles[i], sweepAngles[i], false, paint);
+        }
+    }
+
+    /**
+     * Draws arcs of primary color with at most {@link #OPACITY_LEVELS} draw calls, however many arcs there are.
+     * Arcs are bucketed by quantized opacity in a single pass, arcs of each level are drawn as a single path,
+     * and arcs of the lowest level are fully transparent, so they are skipped.
+     *
+     * Quantization makes opacity change in visible steps of 1/15, i.e. alpha banding, so this is only used
+     * in high arc count mode, where arcs are too thin for it to be noticed. Views with fewer arcs are drawn
+     * by {@link #drawArcs} with exact opacities.
+     *
+     * @param canvas        A {@link Canvas} to draw on.
+     * @param geometry      {@link ArcGeometry} with rects of at least {@code arcCount} arcs.
+     * @param arcCount      Number of arcs.
+     * @param startAngles   Start angles of arcs.
+     * @param sweepAngles   Sweep angles of arcs.
+     * @param opacities     Opacities of arcs.
+     * @param primaryColor  Color of arcs.
+     * @param paint         Stroke paint to draw with.
+     * @param path          Path reused for batched drawing.
+     * @param buckets       {@link OpacityBuckets} reused for batched drawing.
+     */
+    static void drawArcsBatched(Canvas canvas, ArcGeometry geometry, int arcCount, float[] startAngles, float[] sweepAngles,
+                                int[] opacities, @ColorInt int primaryColor, Paint paint, Path path, OpacityBuckets buckets) {
+        buckets.ensureCapacity(arcCount);
+        final int[][] levelArcs = buckets.mLevelArcs;
+        final int[] levelCounts = buckets.mLevelCounts;
+        for (int level = 0; level < OPACITY_LEVELS; ++level) {
+            levelCounts[level] = 0;
+        }
+        for (int i = 0; i < arcCount; ++i) {
+            final int level = getOpacityLevel(opacities[i]);
+            if (level > 0 && isDrawable(startAngles[i], sweepAngles[i])) {
+                levelArcs[level][levelCounts[level]++] = i;
+            }
+        }
+
+        paint.setColor(primaryColor);
+        for (int level = 1; level < OPACITY_LEVELS; ++level) {
+            final int count = levelCounts[level];
+            if (count == 0) {
+                continue;
+            }
+
+            final int[] arcs = levelArcs[level];
+            path.rewind();
+            for (int j = 0; j < count; ++j) {
+                final int i = arcs[j];
+                path.addArc(geometry.getRect(i), startAngles[i], sweepAngles[i]);
+            }
+            paint.setAlpha(level * 255 / (OPACITY_LEVELS - 1));
+            canvas.drawPath(path, paint);
+        }
+    }
+
+    /**
+     * @param opacity   Opacity of an arc, clamped to [0..255].
+     * @return  Nearest of {@link #OPACITY_LEVELS} levels, 0 for transparent.
+     */
+    private static int getOpacityLevel(int opacity) {
+        final int clamped = Math.max(0, Math.min(255, opacity));
+        return (clamped * (OPACITY_LEVELS - 1) + 127) / 255;
+    }
+
+    /**
+     * Curves with steep easing might overflow at the very end of their period, such arcs are skipped for that frame.
+     *
+     * @param startAngle    Start angle of an arc.
+     * @param sweepAngle    Sweep angle of an arc.
+     * @return  {@code true} in case both angles are finite.
+     */
+    private static boolean isDrawable(float startAngle, float sweepAngle) {
+        return !Float.isNaN(startAngle) && !Float.isInfinite(startAngle)
+                && !Float.isNaN(sweepAngle) && !Float.isInfinite(sweepAngle);
+    }
+
+    /**
+     * @param opacities Opacity values of arcs.
+     * @param arcCount  Number of arcs.
+     * @return  {@code true} in case all arcs are fully opaque.
+     */
+    private static boolean isOpaque(int[] opacities, int arcCount) {
+        for (int i = 0; i < arcCount; ++i) {
+            if (opacities[i] != 255) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indices of arcs of each opacity level for {@link #drawArcsBatched}, kept between frames,
+     * so arrays are only allocated in case number of arcs grows.
+     */
+    static final class OpacityBuckets {
+
+        private final int[][] mLevelArcs = new int[OPACITY_LEVELS][0];
+        private final int[] mLevelCounts = new int[OPACITY_LEVELS];
+
+        private void ensureCapacity(int arcCount) {
+            if (mLevelArcs[0].length >= arcCount) {
+                return;
+            }
+            for (int level = 0; level < OPACITY_LEVELS; ++level) {
+                mLevelArcs[level] = new int[arcCount];
+            }
+        }
+    }
+}
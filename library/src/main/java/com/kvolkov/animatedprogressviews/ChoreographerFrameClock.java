@@ -0,0 +1,86 @@
+package com.kvolkov.animatedprogressviews;
+
+import android.view.Choreographer;
+import android.view.animation.AnimationUtils;
+
+import com.kvolkov.animatedprogressviews.animations.CallbackList;
+import com.kvolkov.animatedprogressviews.animations.FrameClock;
+
+/**
+ * Process-wide vsync driven {@link FrameClock}, used by all {@link ArcLoadingView} instances unless other clock is set.
+ * Instead of each view running it's own timer, views register here and get ticked once per frame
+ * from a single {@link Choreographer.FrameCallback}. Frame callback is posted only while there
+ * are registered callbacks, so an idle screen costs nothing.
+ *
+ * Should be used from the main thread only.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+public final class ChoreographerFrameClock implements FrameClock, Choreographer.FrameCallback {
+
+    private static ChoreographerFrameClock sInstance;
+
+    private final Choreographer mChoreographer;
+    private final CallbackList mCallbacks = new CallbackList();
+    private boolean mFrameScheduled = false;
+
+    /**
+     * @return Shared instance. Should be called from the main thread.
+     */
+    public static ChoreographerFrameClock getInstance() {
+        if (sInstance == null) {
+            sInstance = new ChoreographerFrameClock();
+        }
+        return sInstance;
+    }
+
+    private ChoreographerFrameClock() {
+        mChoreographer = Choreographer.getInstance();
+    }
+
+    @Override
+    public void register(Callback callback) {
+        mCallbacks.add(callback);
+        scheduleFrame();
+    }
+
+    @Override
+    public void unregister(Callback callback) {
+        mCallbacks.remove(callback);
+        if (mCallbacks.isEmpty() && mFrameScheduled) {
+            mChoreographer.removeFrameCallback(this);
+            mFrameScheduled = false;
+        }
+    }
+
+    @Override
+    public boolean isRegistered(Callback callback) {
+        return mCallbacks.contains(callback);
+    }
+
+    /**
+     * @return Frame time in [ms] while frame callbacks are ticked, same time base as {@code ValueAnimator}'s.
+     */
+    @Override
+    public long getTimeMillis() {
+        return AnimationUtils.currentAnimationTimeMillis();
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        mFrameScheduled = false;
+        mCallbacks.dispatch(frameTimeNanos);
+
+        if (!mCallbacks.isEmpty()) {
+            scheduleFrame();
+        }
+    }
+
+    private void scheduleFrame() {
+        if (!mFrameScheduled) {
+            mFrameScheduled = true;
+            mChoreographer.postFrameCallback(this);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.kvolkov.animatedprogressviews;
+
+/**
+ * Decides on which display frames an {@link ArcLoadingView} updates, to keep a target frame rate
+ * lower than display refresh rate. Animations advance by real elapsed time, so only smoothness depends on the rate.
+ *
+ * In adaptive mode rate is stepped down while recent frames miss their deadline, and stepped back up
+ * towards the target once frames are on time again. Rate never exceeds max frame rate, in case one is set.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+final class FrameRateController {
+
+    /**
+     * Update on every display frame.
+     */
+    static final int NATIVE = 0;
+
+    /**
+     * Rates to step through in adaptive mode, from highest to lowest.
+     */
+    private static final int[] RATE_STEPS = { NATIVE, 60, 30, 24 };
+
+    /**
+     * Number of display frames checked for missed deadlines before adapting the rate.
+     */
+    private static final int ADAPTIVE_WINDOW_FRAMES = 60;
+    private static final int ADAPTIVE_MAX_MISSED_FRAMES = 3;
+    private static final int ADAPTIVE_RECOVERY_WINDOWS = 2;
+
+    /**
+     * Frame arriving later than this number of display frames is considered as missed deadline.
+     */
+    private static final float MISSED_FRAME_FACTOR = 1.5f;
+
+    /**
+     * Tolerated jitter of display frame times, in [ns].
+     */
+    private static final long FRAME_TIME_SLOP_NANOS = 1000000L;
+
+    private int mTargetFrameRate = NATIVE;
+    private boolean mAdaptive = false;
+    private int mRateStep = 0;
+
+    /**
+     * Step of the highest rate allowed whatever the target is, 0 in case not limited.
+     */
+    private int mMaxRateStep = 0;
+    private long mDisplayFrameIntervalNanos = 1000000000L / 60;
+
+    private long mLastFrameTimeNanos;
+    private long mNextUpdateTimeNanos;
+    private int mWindowFrames;
+    private int mWindowMissedFrames;
+    private int mRecoveredWindows;
+
+    /**
+     * @param frameRate One of 24, 30, 60 or {@link #NATIVE}.
+     */
+    void setTargetFrameRate(int frameRate) {
+        mTargetFrameRate = frameRate;
+        mRateStep = getTargetStep();
+        reset();
+    }
+
+    int getTargetFrameRate() {
+        return mTargetFrameRate;
+    }
+
+    /**
+     * Limits frame rate below target, e.g. for views too small for smooth animation to be noticed.
+     *
+     * @param frameRate One of 24, 30, 60 or {@link #NATIVE} for no limit.
+     */
+    void setMaxFrameRate(int frameRate) {
+        final int maxRateStep = getStep(frameRate);
+        if (mMaxRateStep != maxRateStep) {
+            mMaxRateStep = maxRateStep;
+            reset();
+        }
+    }
+
+    void setAdaptive(boolean adaptive) {
+        mAdaptive = adaptive;
+        mRateStep = getTargetStep();
+        reset();
+    }
+
+    boolean isAdaptive() {
+        return mAdaptive;
+    }
+
+    /**
+     * @param refreshRate   Refresh rate of the display in frames per second.
+     */
+    void setDisplayRefreshRate(float refreshRate) {
+        if (refreshRate > 0.f) {
+            mDisplayFrameIntervalNanos = (long) (1000000000L / refreshRate);
+        }
+    }
+
+    /**
+     * @return Frame rate currently used, {@link #NATIVE} or lower than target in case adaptive mode stepped it down.
+     */
+    int getCurrentFrameRate() {
+        return RATE_STEPS[Math.max(mRateStep, mMaxRateStep)];
+    }
+
+    /**
+     * Forgets frame history, should be called when updates are (re)started.
+     */
+    void reset() {
+        mLastFrameTimeNanos = 0;
+        mNextUpdateTimeNanos = 0;
+        mWindowFrames = 0;
+        mWindowMissedFrames = 0;
+        mRecoveredWindows = 0;
+    }
+
+    /**
+     * Called on every display frame.
+     *
+     * @param frameTimeNanos    Frame time provided by {@code Choreographer}.
+     * @return  {@code true} in case view should update on this frame.
+     */
+    boolean onFrame(long frameTimeNanos) {
+        if (mAdaptive && mLastFrameTimeNanos != 0) {
+            trackDeadline(frameTimeNanos - mLastFrameTimeNanos);
+        }
+        mLastFrameTimeNanos = frameTimeNanos;
+
+        final int frameRate = getCurrentFrameRate();
+        if (frameRate == NATIVE) {
+            return true;
+        }
+
+        if (frameTimeNanos < mNextUpdateTimeNanos - FRAME_TIME_SLOP_NANOS) {
+            return false;
+        }
+
+        // keep updates on a fixed grid, so rates that don't divide refresh rate still average out
+        final long updateIntervalNanos = 1000000000L / frameRate;
+        mNextUpdateTimeNanos += updateIntervalNanos;
+        if (mNextUpdateTimeNanos < frameTimeNanos) {
+            mNextUpdateTimeNanos = frameTimeNanos + updateIntervalNanos;
+        }
+        return true;
+    }
+
+    private void trackDeadline(long frameIntervalNanos) {
+        ++mWindowFrames;
+        if (frameIntervalNanos > mDisplayFrameIntervalNanos * MISSED_FRAME_FACTOR) {
+            ++mWindowMissedFrames;
+        }
+        if (mWindowFrames < ADAPTIVE_WINDOW_FRAMES && mWindowMissedFrames < ADAPTIVE_MAX_MISSED_FRAMES) {
+            return;
+        }
+
+        if (mWindowMissedFrames >= ADAPTIVE_MAX_MISSED_FRAMES) {
+            mRecoveredWindows = 0;
+            if (mRateStep < RATE_STEPS.length - 1) {
+                ++mRateStep;
+            }
+        } else if (mWindowMissedFrames > 0) {
+            mRecoveredWindows = 0;
+        } else if (++mRecoveredWindows >= ADAPTIVE_RECOVERY_WINDOWS) {
+            mRecoveredWindows = 0;
+            if (mRateStep > getTargetStep()) {
+                --mRateStep;
+            }
+        }
+        mWindowFrames = 0;
+        mWindowMissedFrames = 0;
+    }
+
+    private int getTargetStep() {
+        return getStep(mTargetFrameRate);
+    }
+
+    private static int getStep(int frameRate) {
+        for (int i = 0; i < RATE_STEPS.length; ++i) {
+            if (RATE_STEPS[i] == frameRate) {
+                return i;
+            }
+        }
+        return 0;
+    }
+}
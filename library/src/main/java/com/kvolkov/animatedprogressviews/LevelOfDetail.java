@@ -0,0 +1,109 @@
+package com.kvolkov.animatedprogressviews;
+
+/**
+ * Decides how much detail of an {@link ArcLoadingView} is worth drawing at it's measured size.
+ * Arcs which would be packed closer than a threshold, or wouldn't fit into the view at all, are not drawn,
+ * and views smaller than another threshold are drawn without anti-aliasing and round caps at a lower frame rate.
+ * Full detail is restored as soon as the view is large enough again.
+ *
+ * Only drawing is affected, animations of all arcs keep running, so arcs reappear in their current state.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+final class LevelOfDetail {
+
+    /**
+     * Frame rate of low detail views, see {@link FrameRateController}.
+     */
+    static final int LOW_DETAIL_FRAME_RATE = 30;
+
+    private boolean mEnabled = false;
+    private float mMinPixelsPerArc;
+    private float mLowDetailSize;
+
+    /**
+     * Decision for last size, number of arcs and spacing.
+     */
+    private int mRenderedArcCount = 0;
+    private boolean mLowDetail = false;
+
+    /**
+     * Constructor.
+     *
+     * @param minPixelsPerArc   Min radius of the view in pixels per drawn arc.
+     * @param lowDetailSize     Size of smaller side of the view in pixels, below which it's drawn in low detail.
+     */
+    LevelOfDetail(float minPixelsPerArc, float lowDetailSize) {
+        mMinPixelsPerArc = minPixelsPerArc;
+        mLowDetailSize = lowDetailSize;
+    }
+
+    void setEnabled(boolean enabled) {
+        mEnabled = enabled;
+    }
+
+    boolean isEnabled() {
+        return mEnabled;
+    }
+
+    void setThresholds(float minPixelsPerArc, float lowDetailSize) {
+        mMinPixelsPerArc = minPixelsPerArc;
+        mLowDetailSize = lowDetailSize;
+    }
+
+    float getMinPixelsPerArc() {
+        return mMinPixelsPerArc;
+    }
+
+    float getLowDetailSize() {
+        return mLowDetailSize;
+    }
+
+    /**
+     * Decides level of detail for a layout. Views not measured yet are considered as full detail.
+     *
+     * @param arcCount  Number of arcs.
+     * @param spacing   Spacing between arcs.
+     * @param width     Width of the view.
+     * @param height    Height of the view.
+     * @return  {@code true} in case number of drawn arcs or low detail state changed.
+     */
+    boolean update(int arcCount, float spacing, int width, int height) {
+        int renderedArcCount = arcCount;
+        boolean lowDetail = false;
+
+        final int size = Math.min(width, height);
+        if (mEnabled && size > 0) {
+            final float radius = size / 2.f;
+            if (mMinPixelsPerArc > 0.f && radius / arcCount < mMinPixelsPerArc) {
+                renderedArcCount = (int) (radius / mMinPixelsPerArc);
+            }
+            if (spacing > 0.f) {
+                // each next arc is inset by two spacings, see ArcGeometry, further ones don't fit into the view
+                renderedArcCount = Math.min(renderedArcCount, (int) Math.ceil(radius / (spacing * 2.f)) - 1);
+            }
+            renderedArcCount = Math.max(1, renderedArcCount);
+            lowDetail = size < mLowDetailSize;
+        }
+
+        final boolean changed = renderedArcCount != mRenderedArcCount || lowDetail != mLowDetail;
+        mRenderedArcCount = renderedArcCount;
+        mLowDetail = lowDetail;
+        return changed;
+    }
+
+    /**
+     * @return Number of outermost arcs to draw.
+     */
+    int getRenderedArcCount() {
+        return mRenderedArcCount;
+    }
+
+    /**
+     * @return {@code true} in case view should be drawn without anti-aliasing and round caps, at a lower frame rate.
+     */
+    boolean isLowDetail() {
+        return mLowDetail;
+    }
+}
@@ -0,0 +1,91 @@
+package com.kvolkov.animatedprogressviews.animations;
+
+import android.animation.TimeInterpolator;
+import android.animation.ValueAnimator;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Helper functions to setup {@link ValueAnimator}'s playing an {@link AnimationCurve}.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+final class CurveAnimators {
+
+    /**
+     * Interpolators are immutable, so one instance is shared by all animators with same easing.
+     */
+    private static final Map<FastEasing, TimeInterpolator> sInterpolators = new HashMap<>();
+
+    private CurveAnimators() {
+    }
+
+    /**
+     * Sets up animator, new or pooled one, to infinitely repeat animating float keyframes of the curve.
+     * Note that {@link AnimationCurve#getScale()} is not applied to animated values.
+     *
+     * @param animator  A {@link ValueAnimator}, not running.
+     * @param curve     An {@link AnimationCurve}.
+     */
+    static void setupFloatAnimator(final ValueAnimator animator, final AnimationCurve curve) {
+        setupAnimator(animator, curve);
+        animator.setFloatValues(curve.getKeyframes());
+    }
+
+    /**
+     * Sets up animator, new or pooled one, to infinitely repeat animating keyframes of the curve truncated to int's.
+     * Note that {@link AnimationCurve#getScale()} is not applied to animated values.
+     *
+     * @param animator  A {@link ValueAnimator}, not running.
+     * @param curve     An {@link AnimationCurve}.
+     */
+    static void setupIntAnimator(final ValueAnimator animator, final AnimationCurve curve) {
+        setupAnimator(animator, curve);
+        final float[] keyframes = curve.getKeyframes();
+        final int[] values = new int[keyframes.length];
+        for (int i = 0; i < keyframes.length; ++i) {
+            values[i] = (int) keyframes[i];
+        }
+        animator.setIntValues(values);
+    }
+
+    /**
+     * Returns shared interpolator matching easing of the curve. Evaluates {@link FastEasing} of the curve,
+     * so it doesn't do transcendental math per frame, unlike framework interpolators.
+     *
+     * @param curve An {@link AnimationCurve}.
+     * @return  A {@link TimeInterpolator}.
+     */
+    static synchronized TimeInterpolator obtainInterpolator(final AnimationCurve curve) {
+        final FastEasing easing = curve.getFastEasing();
+        TimeInterpolator interpolator = sInterpolators.get(easing);
+        if (interpolator == null) {
+            interpolator = new FastEasingInterpolator(easing);
+            sInterpolators.put(easing, interpolator);
+        }
+        return interpolator;
+    }
+
+    private static void setupAnimator(final ValueAnimator animator, final AnimationCurve curve) {
+        animator.setDuration(curve.getDuration());
+        animator.setRepeatCount(ValueAnimator.INFINITE);
+        animator.setRepeatMode(curve.getRepeatMode() == AnimationCurve.REVERSE ? ValueAnimator.REVERSE : ValueAnimator.RESTART);
+        animator.setInterpolator(obtainInterpolator(curve));
+    }
+
+    private static final class FastEasingInterpolator implements TimeInterpolator {
+
+        private final FastEasing mEasing;
+
+        FastEasingInterpolator(final FastEasing easing) {
+            mEasing = easing;
+        }
+
+        @Override
+        public float getInterpolation(final float input) {
+            return mEasing.getInterpolation(input);
+        }
+    }
+}
@@ -1,11 +1,9 @@
 package com.kvolkov.animatedprogressviews.animations;
 
 import android.animation.ValueAnimator;
+import android.os.Build;
 import android.support.annotation.IntRange;
 import android.util.Log;
-import android.view.animation.AccelerateDecelerateInterpolator;
-import android.view.animation.AnticipateInterpolator;
-import android.view.animation.DecelerateInterpolator;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -21,38 +19,34 @@ public class OpacityAnimation {
     /**
      * Opacity animation types.
      */
-    public static final int NONE = 0;
-    public static final int BLINKING = 1;
-    public static final int SHINY = 2;
-    public static final int AURA = 3;
-    public static final int RIPPLE = 4;
+    public static final int NONE = OpacityTimeline.NONE;
+    public static final int BLINKING = OpacityTimeline.BLINKING;
+    public static final int SHINY = OpacityTimeline.SHINY;
+    public static final int AURA = OpacityTimeline.AURA;
+    public static final int RIPPLE = OpacityTimeline.RIPPLE;
 
-    /**
-     * Animation durations in [ms] for opacity animation types. See {@code OpacityAnimation}.
-     */
-    private static long sOpacityAnimationDuration[] = {
-            0,
-            2000,
-            1000,
-            1000,
-            1000,
-    };
+    private int mType = 0;
+    private int mEngine = AnimationEngine.ANIMATORS;
+    private boolean mPaused = false;
+    private boolean mStarted = false;
+    private FrameClock mFrameClock;
 
     /**
-     * Opacity values to animate between.
+     * Curves and animated values, see {@link OpacityTimeline}.
      */
-    private int mInitialOpacity = 255;
-    private int mTargetOpacity = 150;
-
-    private int mType = 0;
-    private int mAnimatorCount;
+    private final OpacityTimeline mTimeline = new OpacityTimeline();
 
     /**
-     * Animated values.
+     * Pooled animators with their update listeners, reused by {@link #restart()}. Only first {@code mAnimatorCount}
+     * of them are in use. They are set up again only after curves were recreated, see {@link OpacityTimeline#reset()}.
      */
-    private List<Integer> mAlphaOpacityList = new ArrayList<>();
     private List<ValueAnimator> mOpacityValueAnimatorList = new ArrayList<>();
+    private List<OpacityUpdateListener> mOpacityListenerList = new ArrayList<>();
+    private int mAnimatorCount = 0;
     private ValueAnimator mRippleEffectAnimator;
+    private AnimationCurve mRippleEffectCurve;
+    private boolean mRippleEffectActive = false;
+    private boolean mAnimatorsValid = false;
 
     /**
      * Constructor.
@@ -73,19 +67,13 @@ public class OpacityAnimation {
             return;
         }
 
-        switch (value) {
-            case NONE:
-            case BLINKING:
-            case SHINY:
-            case AURA:
-            case RIPPLE:
-                mType = value;
-                break;
-
-            default:
-                mType = NONE;
-                Log.w(getClass().getName(), "Wrong opacity animation type set! Sticking with default value.");
+        if (OpacityTimeline.isValidType(value)) {
+            mType = value;
+        } else {
+            mType = NONE;
+            Log.w(getClass().getName(), "Wrong opacity animation type set! Sticking with default value.");
         }
+        mTimeline.setType(mType);
     }
 
     /**
@@ -97,6 +85,56 @@ public class OpacityAnimation {
         return mType;
     }
 
+    /**
+     * Set animation engine. Takes effect after {@link #restart()}.
+     *
+     * @param engine    One of {@link AnimationEngine} values.
+     */
+    public void setEngine(final int engine) {
+        mEngine = AnimationEngine.sanitize(engine);
+    }
+
+    /**
+     * @return One of {@link AnimationEngine} values.
+     */
+    public int getEngine() {
+        return mEngine;
+    }
+
+    /**
+     * Set clock driving {@link AnimationEngine#ANIMATORS} engine. Takes effect after {@link #restart()}.
+     * By default animators run on framework animation clock. With a clock set they are not started,
+     * and are stepped by {@link #setCurrentPlayTime(long)} instead, same as time based engines.
+     *
+     * @param clock A {@link FrameClock}, or {@code null} for framework animation clock.
+     */
+    public void setFrameClock(final FrameClock clock) {
+        mFrameClock = clock;
+    }
+
+    /**
+     * @return {@link FrameClock} set by {@link #setFrameClock(FrameClock)}, or {@code null}.
+     */
+    public FrameClock getFrameClock() {
+        return mFrameClock;
+    }
+
+    /**
+     * Set spatial falloff of {@link #RIPPLE} animation. Takes effect after {@link #restart()}.
+     *
+     * @param kernel    An {@link OpacityKernel}, see {@link OpacityKernels}.
+     */
+    public void setRippleKernel(final OpacityKernel kernel) {
+        mTimeline.setRippleKernel(kernel);
+    }
+
+    /**
+     * @return Spatial falloff of {@link #RIPPLE} animation.
+     */
+    public OpacityKernel getRippleKernel() {
+        return mTimeline.getRippleKernel();
+    }
+
     /**
      * Setup opacity values to animate between.
      *
@@ -105,8 +143,7 @@ public class OpacityAnimation {
      */
     public void setOpacityValues(@IntRange(from = 0, to = 255) final int initialOpacity,
                                  @IntRange(from = 0, to = 255) final int targetOpacity) {
-        mInitialOpacity = initialOpacity;
-        mTargetOpacity = targetOpacity;
+        mTimeline.setOpacityValues(initialOpacity, targetOpacity);
     }
 
     /**
@@ -115,48 +152,215 @@ public class OpacityAnimation {
      * @param count Number of animators.
      */
     public void setAnimatorsCount(final int count) {
-        if (mAnimatorCount == count) {
+        mTimeline.setArcCount(count);
+    }
+
+    /**
+     * Change number of animators while animation runs, keeping state and timing of remaining arcs.
+     * Only added arcs get new animators, which join at current play time, and only removed ones are released.
+     * In case animation is not running, same as {@link #setAnimatorsCount(int)}.
+     *
+     * @param count Number of animators.
+     */
+    public void resizeAnimators(final int count) {
+        if (!mStarted) {
+            setAnimatorsCount(count);
+            return;
+        }
+        if (!mTimeline.resizeArcs(count)) {
+            // running curves can't be continued
+            restart();
+            return;
+        }
+        if (mEngine != AnimationEngine.ANIMATORS) {
+            // added arcs are evaluated by next setCurrentPlayTime()
             return;
         }
 
-        mAnimatorCount = count;
+        final AnimationCurve rippleEffectCurve = mTimeline.getRippleCurve();
+        if (rippleEffectCurve != null) {
+            if (!mRippleEffectActive) {
+                return;
+            }
+            // ripple spans all arcs, so it's curve is replaced, continuing at the same play time
+            final long playTime = mRippleEffectAnimator.getCurrentPlayTime();
+            CurveAnimators.setupFloatAnimator(mRippleEffectAnimator, rippleEffectCurve);
+            mRippleEffectCurve = rippleEffectCurve;
+            if (mFrameClock == null) {
+                mRippleEffectAnimator.setCurrentPlayTime(playTime);
+            }
+            return;
+        }
+
+        final int oldCount = mAnimatorCount;
+        final int newCount = mTimeline.getCurveCount();
+        final long playTime = oldCount > 0 ? mOpacityValueAnimatorList.get(0).getCurrentPlayTime() : 0;
+        for (int i = newCount; i < oldCount; ++i) {
+            mOpacityValueAnimatorList.get(i).cancel();
+        }
+        while (mOpacityValueAnimatorList.size() < newCount) {
+            addAnimator();
+        }
+
+        // opacities array was reallocated, so remaining listeners are pointed to new one as well
+        final int[] opacities = mTimeline.getOpacities();
+        for (int i = 0; i < newCount; ++i) {
+            final AnimationCurve curve = mTimeline.getCurve(i);
+            mOpacityListenerList.get(i).setup(curve, opacities);
+            if (i < oldCount) {
+                continue;
+            }
+            final ValueAnimator animator = mOpacityValueAnimatorList.get(i);
+            CurveAnimators.setupIntAnimator(animator, curve);
+            if (mFrameClock == null) {
+                // otherwise stepped by setCurrentPlayTime()
+                animator.start();
+                animator.setCurrentPlayTime(playTime);
+                if (mPaused && Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+                    animator.pause();
+                }
+            }
+        }
+        mAnimatorCount = newCount;
     }
 
     /**
      * Call this to explicitly restart opacity animation specified by {@code mType}.
+     * Curves and animators are reused in case configuration didn't change since last restart.
      */
     public void restart() {
         stop();
+        mPaused = false;
+        mTimeline.setBaked(mEngine == AnimationEngine.BAKED);
+        if (mTimeline.reset()) {
+            // pooled animators still play previous curves
+            mAnimatorsValid = false;
+        }
+        mStarted = true;
+
+        if (mEngine != AnimationEngine.ANIMATORS) {
+            setCurrentPlayTime(0);
+            return;
+        }
+
         initAnimators();
 
-        for (int i = 0; i < mOpacityValueAnimatorList.size(); ++i) {
+        if (mFrameClock != null) {
+            // stepped by setCurrentPlayTime()
+            setCurrentPlayTime(0);
+            return;
+        }
+
+        for (int i = 0; i < mAnimatorCount; ++i) {
             mOpacityValueAnimatorList.get(i).start();
         }
 
-        if (mRippleEffectAnimator != null) {
+        if (mRippleEffectActive) {
             mRippleEffectAnimator.start();
         }
     }
 
+    /**
+     * Call this to pause opacity animation keeping current values.
+     * Animators can't be paused prior to {@link Build.VERSION_CODES#KITKAT}, so they are stopped and restarted on {@link #resume()}.
+     * Time-based engines are only sampled while not paused, so they stay started and keep their curves.
+     */
+    public void pause() {
+        if (mPaused) {
+            return;
+        }
+
+        mPaused = true;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            for (int i = 0; i < mAnimatorCount; ++i) {
+                mOpacityValueAnimatorList.get(i).pause();
+            }
+            if (mRippleEffectActive) {
+                mRippleEffectAnimator.pause();
+            }
+        } else if (mEngine == AnimationEngine.ANIMATORS) {
+            stop();
+        }
+    }
+
+    /**
+     * Call this to resume opacity animation paused with {@link #pause()}.
+     */
+    public void resume() {
+        if (!mPaused) {
+            return;
+        }
+
+        mPaused = false;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            for (int i = 0; i < mAnimatorCount; ++i) {
+                mOpacityValueAnimatorList.get(i).resume();
+            }
+            if (mRippleEffectActive) {
+                mRippleEffectAnimator.resume();
+            }
+        } else if (mEngine == AnimationEngine.ANIMATORS) {
+            restart();
+        }
+    }
+
     /**
      * Call this to explicitly stop opacity animation specified by {@code mType}.
+     * Animators are cancelled and kept in pool for next {@link #restart()}.
      */
     public void stop() {
-        ValueAnimator animator;
-        if (mOpacityValueAnimatorList != null) {
-            for (int i = 0; i < mOpacityValueAnimatorList.size(); ++i) {
-                animator = mOpacityValueAnimatorList.get(i);
-                if (animator != null) {
-                    animator.cancel();
-                }
-            }
-            mOpacityValueAnimatorList.clear();
+        for (int i = 0; i < mAnimatorCount; ++i) {
+            mOpacityValueAnimatorList.get(i).cancel();
         }
+        mAnimatorCount = 0;
 
-        if (mRippleEffectAnimator != null) {
+        if (mRippleEffectActive) {
             mRippleEffectAnimator.cancel();
-            mRippleEffectAnimator = null;
+            mRippleEffectActive = false;
+        }
+        mStarted = false;
+    }
+
+    /**
+     * Evaluates animated values of all arcs at specified play time.
+     * Used by time based engines, should be called once per frame. Ignored by {@link AnimationEngine#ANIMATORS} engine,
+     * unless it's driven by a {@link FrameClock}, see {@link #setFrameClock(FrameClock)}.
+     *
+     * @param playTime  Time in [ms] since animation start.
+     */
+    public void setCurrentPlayTime(final long playTime) {
+        if (mEngine == AnimationEngine.ANIMATORS) {
+            if (mFrameClock != null) {
+                seekAnimators(playTime);
+            }
+            return;
+        }
+
+        mTimeline.setCurrentPlayTime(playTime);
+    }
+
+    /**
+     * @return Time in [ms] after which all curves of current animation repeat, or 0 if there is nothing to animate.
+     */
+    public long getPeriod() {
+        return mTimeline.getPeriod();
+    }
+
+    /**
+     * @return Number of running {@link ValueAnimator}'s, only used by {@link AnimationEngine#ANIMATORS} engine.
+     */
+    public int getLiveAnimatorCount() {
+        return mAnimatorCount + (mRippleEffectActive ? 1 : 0);
+    }
+
+    /**
+     * @return Number of curves evaluated by {@link #setCurrentPlayTime(long)} in case of a time based engine.
+     */
+    public int getLiveCurveCount() {
+        if (mEngine == AnimationEngine.ANIMATORS) {
+            return 0;
         }
+        return mTimeline.getCurveCount() + (mTimeline.getRippleCurve() != null ? 1 : 0);
     }
 
     /**
@@ -171,10 +375,10 @@ public class OpacityAnimation {
             case BLINKING:
             case SHINY:
             case AURA:
-                return mAlphaOpacityList.get(index);
+                return mTimeline.getOpacities()[index];
 
             case RIPPLE:
-                return mAlphaOpacityList.get(index);
+                return mTimeline.getOpacities()[index];
 
             default:
                 Log.e(getClass().getName(), "Unknown OpacityAnimationType! Animated value returned -1, should be in range [0..255]!");
@@ -183,125 +387,101 @@ public class OpacityAnimation {
     }
 
     /**
-     * @return animation duration.
+     * Returns animated opacity values of all arcs for current frame.
+     * Array is owned by this animation and is updated in place, so it should not be modified or kept between frames.
+     *
+     * @return  An array of size set by {@link #setAnimatorsCount(int)}.
      */
-    private long getDuration() {
-        return sOpacityAnimationDuration[mType];
+    public int[] getAnimatedValues() {
+        return mTimeline.getOpacities();
     }
 
     /**
-     * Init opacity animators.
+     * Steps animators not started because of a {@link FrameClock} to specified play time.
      */
-    private void initAnimators() {
-        mAlphaOpacityList.clear();
+    private void seekAnimators(final long playTime) {
         for (int i = 0; i < mAnimatorCount; ++i) {
-            mAlphaOpacityList.add(mInitialOpacity);
+            mOpacityValueAnimatorList.get(i).setCurrentPlayTime(playTime);
         }
+        if (mRippleEffectActive) {
+            mRippleEffectAnimator.setCurrentPlayTime(playTime);
+        }
+    }
 
-        for (int i = 0; i < mAnimatorCount; ++ i) {
-            final ValueAnimator opacityAnimator = new ValueAnimator();
-
-            opacityAnimator.setDuration(getDuration());
-//                opacityAnimator.setStartDelay(ANIMATION_START_DELAY);
-            opacityAnimator.setRepeatCount(ValueAnimator.INFINITE);
-            opacityAnimator.setRepeatMode(ValueAnimator.RESTART);
-
-            switch (mType) {
-                case OpacityAnimation.NONE:
-                    // no need to init anything
-                    return;
-
-                case OpacityAnimation.BLINKING:
-                    initBlinkingAnimators(i, opacityAnimator);
-                    break;
-
-                case OpacityAnimation.SHINY:
-                    initShinyAnimators(i, opacityAnimator);
-                    break;
-
-                case OpacityAnimation.AURA:
-                    initAuraAnimators(i, opacityAnimator);
-                    break;
-
-                case OpacityAnimation.RIPPLE:
-                    initRippleAnimators(i, opacityAnimator);
-                    // no need to go through loop in case of this animation
-                    return;
+    /**
+     * Init opacity animators playing curves created by {@link OpacityTimeline#reset()}.
+     * Pooled animators are reused, and only set up again in case curves were recreated.
+     */
+    private void initAnimators() {
+        final AnimationCurve rippleEffectCurve = mTimeline.getRippleCurve();
+        if (rippleEffectCurve != null) {
+            if (mRippleEffectAnimator == null) {
+                mRippleEffectAnimator = new ValueAnimator();
+                mRippleEffectAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+                    @Override
+                    public void onAnimationUpdate(ValueAnimator animation) {
+                        // evaluated from fraction, since getAnimatedValue() boxes a Float on every frame
+                        mTimeline.applyRipple(mRippleEffectCurve.getValueAtInterpolatedFraction(animation.getAnimatedFraction()));
+                    }
+                });
+            }
+            if (!mAnimatorsValid) {
+                CurveAnimators.setupFloatAnimator(mRippleEffectAnimator, rippleEffectCurve);
+                mRippleEffectCurve = rippleEffectCurve;
+                mAnimatorsValid = true;
             }
+            mRippleEffectActive = true;
+            return;
+        }
 
-            mOpacityValueAnimatorList.add(opacityAnimator);
+        final int count = mTimeline.getCurveCount();
+        while (mOpacityValueAnimatorList.size() < count) {
+            addAnimator();
         }
-    }
 
-    private void initBlinkingAnimators(final int index, ValueAnimator opacityAnimator) {
-        opacityAnimator.setInterpolator(new AccelerateDecelerateInterpolator());
-        opacityAnimator.setIntValues(mInitialOpacity, mTargetOpacity, mInitialOpacity);
-        opacityAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                final int opacity = (int) animation.getAnimatedValue();
-                mAlphaOpacityList.set(index, opacity);
+        if (!mAnimatorsValid) {
+            final int[] opacities = mTimeline.getOpacities();
+            for (int i = 0; i < count; ++ i) {
+                final AnimationCurve curve = mTimeline.getCurve(i);
+                CurveAnimators.setupIntAnimator(mOpacityValueAnimatorList.get(i), curve);
+                mOpacityListenerList.get(i).setup(curve, opacities);
             }
-        });
+            mAnimatorsValid = true;
+        }
+        mAnimatorCount = count;
     }
 
-    private void initShinyAnimators(final int index, ValueAnimator opacityAnimator) {
-        opacityAnimator.setRepeatMode(ValueAnimator.REVERSE);
-        final float opacityDecelerateFactor = 1.f + 0.8f * (index + 1);
-        opacityAnimator.setInterpolator(new DecelerateInterpolator(opacityDecelerateFactor));
-        opacityAnimator.setIntValues(255, 50, 255);
-        opacityAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                final int opacity = (int) animation.getAnimatedValue();
-                mAlphaOpacityList.set(index, opacity);
-            }
-        });
+    private void addAnimator() {
+        final ValueAnimator animator = new ValueAnimator();
+        final OpacityUpdateListener listener = new OpacityUpdateListener(mOpacityValueAnimatorList.size());
+        animator.addUpdateListener(listener);
+        mOpacityValueAnimatorList.add(animator);
+        mOpacityListenerList.add(listener);
     }
 
-    private void initAuraAnimators(final int index, ValueAnimator opacityAnimator) {
-        opacityAnimator.setRepeatMode(ValueAnimator.REVERSE);
-        final float opacityDecelerateFactor = 1.f + 0.8f * (index + 1);
-        opacityAnimator.setInterpolator(new AnticipateInterpolator(opacityDecelerateFactor));
-        opacityAnimator.setIntValues(255, 50, 255, 50);
-        opacityAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                final int opacity = (int) animation.getAnimatedValue();
-                mAlphaOpacityList.set(index, opacity);
-            }
-        });
-    }
+    /**
+     * Applies animated opacity of one arc, reconfigured together with it's pooled animator.
+     */
+    private static final class OpacityUpdateListener implements ValueAnimator.AnimatorUpdateListener {
+
+        private final int mIndex;
+        private AnimationCurve mCurve;
+        private int[] mOpacities;
 
-    private void initRippleAnimators(final int index, ValueAnimator opacityAnimator) {
-        final float opacityRange = (float) mInitialOpacity - mTargetOpacity;
-        final float funcXRange = mAnimatorCount / 2.f;
-        final float pow = mAnimatorCount / 20.f;
-        if (mRippleEffectAnimator == null) {
-            mRippleEffectAnimator = new ValueAnimator();
+        OpacityUpdateListener(final int index) {
+            mIndex = index;
+        }
+
+        void setup(final AnimationCurve curve, final int[] opacities) {
+            mCurve = curve;
+            mOpacities = opacities;
+        }
+
+        @Override
+        public void onAnimationUpdate(ValueAnimator animation) {
+            // evaluated from fraction, since getAnimatedValue() boxes an Integer on every frame
+            mOpacities[mIndex] = (int) mCurve.getValueAtInterpolatedFraction(animation.getAnimatedFraction());
         }
-        mRippleEffectAnimator.setRepeatCount(ValueAnimator.INFINITE);
-        mRippleEffectAnimator.setRepeatMode(ValueAnimator.RESTART);
-        mRippleEffectAnimator.setFloatValues((float) mAnimatorCount + funcXRange, -funcXRange);
-        mRippleEffectAnimator.setDuration(getDuration());
-        mRippleEffectAnimator.setInterpolator(new AccelerateDecelerateInterpolator());
-        mRippleEffectAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                final float rippleRadius = (float) animation.getAnimatedValue();
-                for (int i = 0; i < mAlphaOpacityList.size(); ++i) {
-                    final float xVal = (float) i - rippleRadius;
-                    final float opacityArcFactor = (float) (1.f - Math.pow(xVal, pow) / Math.pow(funcXRange, pow));
-                    int rippleOpacityValue = mTargetOpacity + Math.round(opacityRange * opacityArcFactor);
-                    if (rippleOpacityValue > 255) {
-                        rippleOpacityValue = 255;
-                    } else if (rippleOpacityValue < mTargetOpacity) {
-                        rippleOpacityValue = mTargetOpacity;
-                    }
-                    mAlphaOpacityList.set(i, rippleOpacityValue);
-                }
-            }
-        });
     }
 
 }
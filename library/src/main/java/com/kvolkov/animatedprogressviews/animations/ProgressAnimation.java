@@ -1,12 +1,8 @@
 package com.kvolkov.animatedprogressviews.animations;
 
-import android.animation.Animator;
 import android.animation.ValueAnimator;
+import android.os.Build;
 import android.util.Log;
-import android.view.animation.AccelerateDecelerateInterpolator;
-import android.view.animation.AccelerateInterpolator;
-import android.view.animation.DecelerateInterpolator;
-import android.view.animation.LinearInterpolator;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -22,97 +18,40 @@ public class ProgressAnimation {
     /**
      * Progress animation types.
      */
-    public static final int OPACITY_ANIMATION_TEST_STUB = -1;
-    public static final int RACE_CONDITION = 0;
-    public static final int SWIRLY = 1;
-    public static final int WHIRPOOL = 2;
-    public static final int HYPERLOOP = 3;
-    public static final int METRONOME_1 = 4;
-    public static final int METRONOME_2 = 5;
-    public static final int METRONOME_3 = 6;
-    public static final int METRONOME_4 = 7;
-    public static final int BUTTERFLY_KNIFE = 8;
-    public static final int RAINBOW = 9;
-    public static final int GOTCHA = 10;
+    public static final int OPACITY_ANIMATION_TEST_STUB = ProgressTimeline.OPACITY_ANIMATION_TEST_STUB;
+    public static final int RACE_CONDITION = ProgressTimeline.RACE_CONDITION;
+    public static final int SWIRLY = ProgressTimeline.SWIRLY;
+    public static final int WHIRPOOL = ProgressTimeline.WHIRPOOL;
+    public static final int HYPERLOOP = ProgressTimeline.HYPERLOOP;
+    public static final int METRONOME_1 = ProgressTimeline.METRONOME_1;
+    public static final int METRONOME_2 = ProgressTimeline.METRONOME_2;
+    public static final int METRONOME_3 = ProgressTimeline.METRONOME_3;
+    public static final int METRONOME_4 = ProgressTimeline.METRONOME_4;
+    public static final int BUTTERFLY_KNIFE = ProgressTimeline.BUTTERFLY_KNIFE;
+    public static final int RAINBOW = ProgressTimeline.RAINBOW;
+    public static final int GOTCHA = ProgressTimeline.GOTCHA;
 
-    /**
-     * Animation durations in [ms] for animation types. See {@code ProgressAnimation}.
-     */
-    private static long sProgressAnimationDuration[] = {
-            3000,
-            6000,
-            5000,
-            5000,
-            1000,
-            1000,
-            1000,
-            1000,
-            1000,
-            1000,
-            1500,
-    };
-
-    /**
-     * Animation max beta angle initial values. See {@code ProgressAnimation}.
-     */
-    private static float sPeakBeta[] = {
-            180.f,
-            180.f,
-            180.f,
-            90.f,
-            60.f,
-            60.f,
-            60.f,
-            60.f,
-            270.f,
-            360.f,
-            360.f,
-    };
+    private int mType = 0;
+    private int mEngine = AnimationEngine.ANIMATORS;
+    private boolean mPaused = false;
+    private boolean mStarted = false;
+    private FrameClock mFrameClock;
 
     /**
-     * Animation initial beta angle initial values. See {@code ProgressAnimation}.
+     * Curves and animated values, see {@link ProgressTimeline}.
      */
-    private static float sInitialBeta[] = {
-            0.1f,
-            0.1f,
-            0.1f,
-            0.1f,
-            0.1f,
-            0.1f,
-            0.1f,
-            0.1f,
-            0.1f,
-            0.1f,
-            0.1f,
-    };
+    private final ProgressTimeline mTimeline = new ProgressTimeline();
 
     /**
-     * Animation initial alpha angle initial values. See {@code ProgressAnimation}.
+     * Pooled animators with their update listeners, reused by {@link #restart()}. Only first {@code mAnimatorCount}
+     * of them are in use. They are set up again only after curves were recreated, see {@link ProgressTimeline#reset()}.
      */
-    private static float sInitialAlpha[] = {
-            270.f,
-            270.f,
-            270.f,
-            270.f,
-            270.f,
-            270.f,
-            270.f,
-            270.f,
-            270.f,
-            270.f,
-            270.f,
-    };
-
-    private int mType = 0;
-    private int mAnimatorCount;
-
-    /**
-     * Animated values.
-     */
-    private List<Float> mAlphaAngleList = new ArrayList<>();
-    private List<Float> mBetaAngleList = new ArrayList<>();
     private List<ValueAnimator> mAlphaValueAnimatorList = new ArrayList<>();
     private List<ValueAnimator> mBetaValueAnimatorList = new ArrayList<>();
+    private List<AngleUpdateListener> mAlphaListenerList = new ArrayList<>();
+    private List<AngleUpdateListener> mBetaListenerList = new ArrayList<>();
+    private int mAnimatorCount = 0;
+    private boolean mAnimatorsValid = false;
 
     public ProgressAnimation(int i) {
         setType(i);
@@ -121,33 +60,54 @@ public class ProgressAnimation {
     /**
      * Set animation type.
      *
-     * @param value Should be one of public static values defined here.
+     * @param value Should be one of public static values defined here, or a type registered with {@link ArcAnimations}.
      */
     public void setType(final int value) {
         if (mType == value) {
             return;
         }
 
-        switch (value) {
-            case OPACITY_ANIMATION_TEST_STUB:
-            case RACE_CONDITION:
-            case SWIRLY:
-            case WHIRPOOL:
-            case HYPERLOOP:
-            case METRONOME_1:
-            case METRONOME_2:
-            case METRONOME_3:
-            case METRONOME_4:
-            case BUTTERFLY_KNIFE:
-            case RAINBOW:
-            case GOTCHA:
-                mType = value;
-                break;
-
-            default:
-                mType = OPACITY_ANIMATION_TEST_STUB;
-                Log.w(getClass().getName(), "Wrong opacity animation type set! Sticking with default value.");
+        if (ProgressTimeline.isValidType(value)) {
+            mType = value;
+        } else {
+            mType = OPACITY_ANIMATION_TEST_STUB;
+            Log.w(getClass().getName(), "Wrong opacity animation type set! Sticking with default value.");
         }
+        mTimeline.setType(mType);
+    }
+
+    /**
+     * Set animation engine. Takes effect after {@link #restart()}.
+     *
+     * @param engine    One of {@link AnimationEngine} values.
+     */
+    public void setEngine(final int engine) {
+        mEngine = AnimationEngine.sanitize(engine);
+    }
+
+    /**
+     * @return One of {@link AnimationEngine} values.
+     */
+    public int getEngine() {
+        return mEngine;
+    }
+
+    /**
+     * Set clock driving {@link AnimationEngine#ANIMATORS} engine. Takes effect after {@link #restart()}.
+     * By default animators run on framework animation clock. With a clock set they are not started,
+     * and are stepped by {@link #setCurrentPlayTime(long)} instead, same as time based engines.
+     *
+     * @param clock A {@link FrameClock}, or {@code null} for framework animation clock.
+     */
+    public void setFrameClock(final FrameClock clock) {
+        mFrameClock = clock;
+    }
+
+    /**
+     * @return {@link FrameClock} set by {@link #setFrameClock(FrameClock)}, or {@code null}.
+     */
+    public FrameClock getFrameClock() {
+        return mFrameClock;
     }
 
     /**
@@ -156,11 +116,75 @@ public class ProgressAnimation {
      * @param count Number of animators.
      */
     public void setAnimatorsCount(final int count) {
-        if (mAnimatorCount == count) {
+        mTimeline.setArcCount(count);
+    }
+
+    /**
+     * Change number of animators while animation runs, keeping state and timing of remaining arcs.
+     * Only added arcs get new animators, which join at current play time, and only removed ones are released.
+     * In case animation is not running, same as {@link #setAnimatorsCount(int)}.
+     *
+     * @param count Number of animators.
+     */
+    public void resizeAnimators(final int count) {
+        if (!mStarted) {
+            setAnimatorsCount(count);
+            return;
+        }
+        if (!mTimeline.resizeArcs(count)) {
+            // running curves can't be continued
+            restart();
+            return;
+        }
+        if (mEngine != AnimationEngine.ANIMATORS) {
+            // added arcs are evaluated by next setCurrentPlayTime()
             return;
         }
 
-        mAnimatorCount = count;
+        final int oldCount = mAnimatorCount;
+        final int newCount = mTimeline.getCurveCount();
+        final long playTime = oldCount > 0 ? mAlphaValueAnimatorList.get(0).getCurrentPlayTime() : 0;
+        for (int i = newCount; i < oldCount; ++i) {
+            mAlphaValueAnimatorList.get(i).cancel();
+            mBetaValueAnimatorList.get(i).cancel();
+        }
+        while (mAlphaValueAnimatorList.size() < newCount) {
+            final int index = mAlphaValueAnimatorList.size();
+            mAlphaValueAnimatorList.add(createAnimator(index, mAlphaListenerList));
+            mBetaValueAnimatorList.add(createAnimator(index, mBetaListenerList));
+        }
+
+        // value arrays were reallocated, so remaining listeners are pointed to new ones as well
+        final float[] alphaAngles = mTimeline.getAlphaAngles();
+        final float[] betaAngles = mTimeline.getBetaAngles();
+        for (int i = 0; i < newCount; ++i) {
+            if (i < oldCount) {
+                mAlphaListenerList.get(i).setup(mTimeline.getAlphaCurve(i), alphaAngles, mTimeline.getAlphaUpdateThreshold());
+                mBetaListenerList.get(i).setup(mTimeline.getBetaCurve(i), betaAngles, mTimeline.getBetaUpdateThreshold());
+                continue;
+            }
+            setupAnimator(i, mAlphaValueAnimatorList, mAlphaListenerList, mTimeline.getAlphaCurve(i),
+                    alphaAngles, mTimeline.getAlphaUpdateThreshold());
+            setupAnimator(i, mBetaValueAnimatorList, mBetaListenerList, mTimeline.getBetaCurve(i),
+                    betaAngles, mTimeline.getBetaUpdateThreshold());
+            if (mFrameClock == null) {
+                // otherwise stepped by setCurrentPlayTime()
+                startAt(mAlphaValueAnimatorList.get(i), playTime);
+                startAt(mBetaValueAnimatorList.get(i), playTime);
+            }
+        }
+        mAnimatorCount = newCount;
+    }
+
+    /**
+     * Starts animator at play time of already running ones, paused in case animation is paused.
+     */
+    private void startAt(final ValueAnimator animator, final long playTime) {
+        animator.start();
+        animator.setCurrentPlayTime(playTime);
+        if (mPaused && Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            animator.pause();
+        }
     }
 
     /**
@@ -174,48 +198,127 @@ public class ProgressAnimation {
 
     /**
      * Call this to explicitly restart progress animation specified by {@code mType}.
+     * Curves and animators are reused in case type and number of animators didn't change since last restart.
      */
     public void restart() {
         stop();
+        mPaused = false;
+        mTimeline.setBaked(mEngine == AnimationEngine.BAKED);
+        if (mTimeline.reset()) {
+            // pooled animators still play previous curves
+            mAnimatorsValid = false;
+        }
+        mStarted = true;
 
-        if (mType == ProgressAnimation.OPACITY_ANIMATION_TEST_STUB) {
-            // ignore progress for testing animation effects
+        if (mEngine != AnimationEngine.ANIMATORS) {
+            setCurrentPlayTime(0);
             return;
         }
 
         initAnimators();
 
-        for (int i = 0; i < mAlphaValueAnimatorList.size(); ++i) {
-            mAlphaValueAnimatorList.get(i).start();
+        if (mFrameClock != null) {
+            // stepped by setCurrentPlayTime()
+            setCurrentPlayTime(0);
+            return;
         }
-        for (int i = 0; i < mBetaValueAnimatorList.size(); ++i) {
+
+        for (int i = 0; i < mAnimatorCount; ++i) {
+            mAlphaValueAnimatorList.get(i).start();
             mBetaValueAnimatorList.get(i).start();
         }
     }
 
+    /**
+     * Call this to pause progress animation keeping current values.
+     * Animators can't be paused prior to {@link Build.VERSION_CODES#KITKAT}, so they are stopped and restarted on {@link #resume()}.
+     * Time-based engines are only sampled while not paused, so they stay started and keep their curves.
+     */
+    public void pause() {
+        if (mPaused) {
+            return;
+        }
+
+        mPaused = true;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            for (int i = 0; i < mAnimatorCount; ++i) {
+                mAlphaValueAnimatorList.get(i).pause();
+                mBetaValueAnimatorList.get(i).pause();
+            }
+        } else if (mEngine == AnimationEngine.ANIMATORS) {
+            stop();
+        }
+    }
+
+    /**
+     * Call this to resume progress animation paused with {@link #pause()}.
+     */
+    public void resume() {
+        if (!mPaused) {
+            return;
+        }
+
+        mPaused = false;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            for (int i = 0; i < mAnimatorCount; ++i) {
+                mAlphaValueAnimatorList.get(i).resume();
+                mBetaValueAnimatorList.get(i).resume();
+            }
+        } else if (mEngine == AnimationEngine.ANIMATORS) {
+            restart();
+        }
+    }
+
     /**
      * Call this to explicitly stop progress animation specified by {@code mType}.
+     * Animators are cancelled and kept in pool for next {@link #restart()}.
      */
     public void stop() {
-        Animator animator;
-        if (mAlphaValueAnimatorList != null) {
-            for (int i = 0; i < mAlphaValueAnimatorList.size(); ++i) {
-                animator = mAlphaValueAnimatorList.get(i);
-                if (animator != null) {
-                    animator.cancel();
-                }
-            }
-            mAlphaValueAnimatorList.clear();
+        for (int i = 0; i < mAnimatorCount; ++i) {
+            mAlphaValueAnimatorList.get(i).cancel();
+            mBetaValueAnimatorList.get(i).cancel();
         }
-        if (mBetaValueAnimatorList != null) {
-            for (int i = 0; i < mBetaValueAnimatorList.size(); ++i) {
-                animator = mBetaValueAnimatorList.get(i);
-                if (animator != null) {
-                    animator.cancel();
-                }
+        mAnimatorCount = 0;
+        mStarted = false;
+    }
+
+    /**
+     * Evaluates animated values of all arcs at specified play time.
+     * Used by time based engines, should be called once per frame. Ignored by {@link AnimationEngine#ANIMATORS} engine,
+     * unless it's driven by a {@link FrameClock}, see {@link #setFrameClock(FrameClock)}.
+     *
+     * @param playTime  Time in [ms] since animation start.
+     */
+    public void setCurrentPlayTime(final long playTime) {
+        if (mEngine == AnimationEngine.ANIMATORS) {
+            if (mFrameClock != null) {
+                seekAnimators(playTime);
             }
-            mBetaValueAnimatorList.clear();
+            return;
         }
+
+        mTimeline.setCurrentPlayTime(playTime);
+    }
+
+    /**
+     * @return Time in [ms] after which all curves of current animation repeat, or 0 if there is nothing to animate.
+     */
+    public long getPeriod() {
+        return mTimeline.getPeriod();
+    }
+
+    /**
+     * @return Number of running {@link ValueAnimator}'s, only used by {@link AnimationEngine#ANIMATORS} engine.
+     */
+    public int getLiveAnimatorCount() {
+        return mAnimatorCount * 2;
+    }
+
+    /**
+     * @return Number of curves evaluated by {@link #setCurrentPlayTime(long)} in case of a time based engine.
+     */
+    public int getLiveCurveCount() {
+        return mEngine == AnimationEngine.ANIMATORS ? 0 : mTimeline.getCurveCount() * 2;
     }
 
     /**
@@ -224,7 +327,7 @@ public class ProgressAnimation {
      * @return  A float.
      */
     public float getInitialAlphaValue() {
-        return sInitialAlpha[mType];
+        return mTimeline.getInitialAlphaValue();
     }
 
     /**
@@ -234,7 +337,7 @@ public class ProgressAnimation {
      * @return  A float.
      */
     public float getAlphaAnimatedValue(int index) {
-        return mAlphaAngleList.get(index);
+        return mTimeline.getAlphaAngles()[index];
     }
 
     /**
@@ -244,357 +347,117 @@ public class ProgressAnimation {
      * @return  A float.
      */
     public float getBetaAnimatedValue(int index) {
-        return mBetaAngleList.get(index);
+        return mTimeline.getBetaAngles()[index];
     }
 
     /**
-     * Init arc progress animators.
+     * Returns animated alpha angle values of all arcs for current frame.
+     * Array is owned by this animation and is updated in place, so it should not be modified or kept between frames.
+     *
+     * @return  An array of size set by {@link #setAnimatorsCount(int)}.
      */
-    protected void initAnimators() {
-        mAlphaAngleList.clear();
-        mBetaAngleList.clear();
-        for (int i = 0; i < mAnimatorCount; ++i) {
-            mAlphaAngleList.add(sInitialAlpha[mType]);
-            mBetaAngleList.add(sInitialBeta[mType]);
-        }
+    public float[] getAlphaAnimatedValues() {
+        return mTimeline.getAlphaAngles();
+    }
 
-        for (int i = 0; i < mAnimatorCount; ++ i) {
-            final ValueAnimator alphaAnimator = new ValueAnimator();
-            final ValueAnimator betaAnimator = new ValueAnimator();
-
-            alphaAnimator.setDuration(sProgressAnimationDuration[mType]);
-//            alphaAnimator.setStartDelay(ANIMATION_START_DELAY);
-            alphaAnimator.setRepeatCount(ValueAnimator.INFINITE);
-            alphaAnimator.setRepeatMode(ValueAnimator.RESTART);
-
-            betaAnimator.setDuration(sProgressAnimationDuration[mType]);
-//            betaAnimator.setStartDelay(ANIMATION_START_DELAY);
-            betaAnimator.setRepeatCount(ValueAnimator.INFINITE);
-            betaAnimator.setRepeatMode(ValueAnimator.RESTART);
-
-            switch (mType) {
-                case ProgressAnimation.OPACITY_ANIMATION_TEST_STUB:
-                case ProgressAnimation.RACE_CONDITION:
-                    initRaceConditionAnimators(i, alphaAnimator, betaAnimator);
-                    break;
-
-                case ProgressAnimation.SWIRLY:
-                    initSwirlyAnimators(i, alphaAnimator, betaAnimator);
-                    break;
-
-                case ProgressAnimation.WHIRPOOL:
-                    initWhirpoolAnimators(i, alphaAnimator, betaAnimator);
-                    break;
-
-                case ProgressAnimation.HYPERLOOP:
-                    initHyperloopAnimators(i, alphaAnimator, betaAnimator);
-                    break;
-
-                case ProgressAnimation.METRONOME_1:
-                case ProgressAnimation.METRONOME_2:
-                    initMetronome12Animators(i, alphaAnimator, betaAnimator);
-                    break;
-
-                case ProgressAnimation.METRONOME_3:
-                case ProgressAnimation.METRONOME_4:
-                    initMetronome34Animators(i, alphaAnimator, betaAnimator);
-                    break;
-
-                case ProgressAnimation.BUTTERFLY_KNIFE:
-                    initButterflyKnifeAnimators(i, alphaAnimator, betaAnimator);
-                    break;
-
-                case ProgressAnimation.RAINBOW:
-                case ProgressAnimation.GOTCHA:
-                    initRainbowOrGotchaAnimators(i, alphaAnimator, betaAnimator);
-                    break;
-            }
+    /**
+     * Returns animated beta angle values of all arcs for current frame.
+     * Array is owned by this animation and is updated in place, so it should not be modified or kept between frames.
+     *
+     * @return  An array of size set by {@link #setAnimatorsCount(int)}.
+     */
+    public float[] getBetaAnimatedValues() {
+        return mTimeline.getBetaAngles();
+    }
 
-            mAlphaValueAnimatorList.add(alphaAnimator);
-            mBetaValueAnimatorList.add(betaAnimator);
-        }
+    /**
+     * Maps current animated values to start and sweep angles of arcs, see {@link ProgressTimeline#computeArcAngles(int, float[], float[])}.
+     *
+     * @param arcCount      Number of arcs.
+     * @param startAngles   Array to fill with start angles, at least {@code arcCount} in size.
+     * @param sweepAngles   Array to fill with sweep angles, at least {@code arcCount} in size.
+     */
+    public void computeArcAngles(final int arcCount, final float[] startAngles, final float[] sweepAngles) {
+        mTimeline.computeArcAngles(arcCount, startAngles, sweepAngles);
     }
 
     /**
-     * Progress Animation helper functions. TODO: move outside of view to some AnimationHelper.
+     * Steps animators not started because of a {@link FrameClock} to specified play time.
      */
-    private void initRaceConditionAnimators(final int index, ValueAnimator alphaAnimator, ValueAnimator betaAnimator) {
-        final float factor = 0.05f * (index + 1);
-
-        final float randomAlpha = 360.f;
-        alphaAnimator.setFloatValues(sInitialAlpha[mType],
-                randomAlpha + sInitialAlpha[mType],
-                randomAlpha * 2.f + sInitialAlpha[mType],
-                randomAlpha * 3.f + sInitialAlpha[mType]);
-        final float alphaDecelerateFactor = (index % 2 == 0) ? 1.f + factor : 1.f - factor;
-        alphaAnimator.setInterpolator(new DecelerateInterpolator(alphaDecelerateFactor));
-        alphaAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                final float newAngle = (float) animation.getAnimatedValue();
-                if (Math.abs(mAlphaAngleList.get(index) - newAngle) >= 0.5f) {
-                    mAlphaAngleList.set(index, newAngle);
-                }
-            }
-        });
-
-        betaAnimator.setFloatValues(sInitialBeta[mType], sPeakBeta[mType], sInitialBeta[mType]);
-        final float betaDecelerateFactor = (index % 2 == 0) ? 1.f + factor : 1.f - factor;
-        betaAnimator.setInterpolator(new DecelerateInterpolator(betaDecelerateFactor));
-        betaAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                final float newAngle = (float) animation.getAnimatedValue();
-                if (Math.abs(mBetaAngleList.get(index) - newAngle) >= 0.1f) {
-                    mBetaAngleList.set(index, newAngle);
-                }
-            }
-        });
+    private void seekAnimators(final long playTime) {
+        for (int i = 0; i < mAnimatorCount; ++i) {
+            mAlphaValueAnimatorList.get(i).setCurrentPlayTime(playTime);
+            mBetaValueAnimatorList.get(i).setCurrentPlayTime(playTime);
+        }
     }
 
-    private void initSwirlyAnimators(final int index, ValueAnimator alphaAnimator, ValueAnimator betaAnimator) {
-        alphaAnimator.setRepeatMode(ValueAnimator.REVERSE);
-        betaAnimator.setRepeatMode(ValueAnimator.REVERSE);
-
-        final float randomAlpha = 360.f;
-        alphaAnimator.setFloatValues(sInitialAlpha[mType],
-                randomAlpha + sInitialAlpha[mType],
-                randomAlpha * 2.f + sInitialAlpha[mType],
-                randomAlpha * 3.f + sInitialAlpha[mType],
-                randomAlpha * 3.5f + sInitialAlpha[mType]);
-        final float alphaDecelerateFactor = 1.f - 0.05f * index;
-        alphaAnimator.setInterpolator(new DecelerateInterpolator(alphaDecelerateFactor));
-        alphaAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                final float newAngle = (float) animation.getAnimatedValue();
-                if (Math.abs(mAlphaAngleList.get(index) - newAngle) >= 1.f) {
-                    mAlphaAngleList.set(index, newAngle);
-                }
-            }
-        });
-
-        betaAnimator.setFloatValues(sInitialBeta[mType], sPeakBeta[mType], sInitialBeta[mType]);
-        final float betaDecelerateFactor = 1.f + 0.05f * index;
-        betaAnimator.setInterpolator(new DecelerateInterpolator(betaDecelerateFactor));
-        betaAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                final float newAngle = (float) animation.getAnimatedValue();
-                if (Math.abs(mBetaAngleList.get(index) - newAngle) >= 0.1f) {
-                    mBetaAngleList.set(index, newAngle);
-                }
+    /**
+     * Init arc progress animators playing curves created by {@link ProgressTimeline#reset()}.
+     * Pooled animators are reused, and only set up again in case curves were recreated.
+     */
+    protected void initAnimators() {
+        final int count = mTimeline.getCurveCount();
+        while (mAlphaValueAnimatorList.size() < count) {
+            final int index = mAlphaValueAnimatorList.size();
+            mAlphaValueAnimatorList.add(createAnimator(index, mAlphaListenerList));
+            mBetaValueAnimatorList.add(createAnimator(index, mBetaListenerList));
+        }
+
+        if (!mAnimatorsValid) {
+            final float[] alphaAngles = mTimeline.getAlphaAngles();
+            final float[] betaAngles = mTimeline.getBetaAngles();
+            for (int i = 0; i < count; ++ i) {
+                setupAnimator(i, mAlphaValueAnimatorList, mAlphaListenerList, mTimeline.getAlphaCurve(i),
+                        alphaAngles, mTimeline.getAlphaUpdateThreshold());
+                setupAnimator(i, mBetaValueAnimatorList, mBetaListenerList, mTimeline.getBetaCurve(i),
+                        betaAngles, mTimeline.getBetaUpdateThreshold());
             }
-        });
+            mAnimatorsValid = true;
+        }
+        mAnimatorCount = count;
     }
 
-    private void initHyperloopAnimators(final int index, ValueAnimator alphaAnimator, ValueAnimator betaAnimator) {
-        alphaAnimator.setRepeatMode(ValueAnimator.RESTART);
-        betaAnimator.setRepeatMode(ValueAnimator.REVERSE);
-
-        final float arcCountScaleFactor = 5.f / mAnimatorCount;
-        final float randomAlpha = 360.f;
-        alphaAnimator.setFloatValues(sInitialAlpha[mType],
-                randomAlpha - sInitialAlpha[mType],
-                randomAlpha * 2.f + sInitialAlpha[mType],
-                randomAlpha * 3.f - sInitialAlpha[mType],
-                randomAlpha * 4.f + sInitialAlpha[mType]);
-        final float alphaAccelerateFactor = 1.f - arcCountScaleFactor * 0.1f * (index + 1.f) * (index + 1.f);
-        alphaAnimator.setInterpolator(new AccelerateInterpolator(alphaAccelerateFactor));
-        alphaAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                final float newAngle = (float) animation.getAnimatedValue();
-                if (Math.abs(mAlphaAngleList.get(index) - newAngle) >= 0.5f) {
-                    mAlphaAngleList.set(index, newAngle);
-                }
-            }
-        });
-
-        betaAnimator.setFloatValues(sInitialBeta[mType], sPeakBeta[mType], sInitialBeta[mType]);
-        final float betaAccelerateFactor = 1.f - arcCountScaleFactor *  0.1f * ( (float) (index + 1) * (index + 1) );
-        final float hyperloop = 1.f + 0.01f * (index + 1.f);
-        betaAnimator.setInterpolator(new AccelerateInterpolator(betaAccelerateFactor));
-        betaAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                final float newAngle = (float) animation.getAnimatedValue();
-                if (Math.abs(mBetaAngleList.get(index) - newAngle) >= 0.1f) {
-                    mBetaAngleList.set(index, newAngle * hyperloop);
-                }
-            }
-        });
+    private static ValueAnimator createAnimator(final int index, final List<AngleUpdateListener> listenerList) {
+        final ValueAnimator animator = new ValueAnimator();
+        final AngleUpdateListener listener = new AngleUpdateListener(index);
+        animator.addUpdateListener(listener);
+        listenerList.add(listener);
+        return animator;
     }
 
-    private void initWhirpoolAnimators(final int index, ValueAnimator alphaAnimator, ValueAnimator betaAnimator) {
-        final float randomAlpha = 360.f;
-        alphaAnimator.setFloatValues(sInitialAlpha[mType],
-                randomAlpha + sInitialAlpha[mType],
-                randomAlpha * 2.f + sInitialAlpha[mType],
-                randomAlpha * 3.f + sInitialAlpha[mType],
-                randomAlpha * 4.f + sInitialAlpha[mType],
-                randomAlpha * 5.f + sInitialAlpha[mType],
-                randomAlpha * 6.f + sInitialAlpha[mType]);
-        final float alphaDecelerateFactor = 1.f + 0.1f * (index + 1);
-        alphaAnimator.setInterpolator(new DecelerateInterpolator(alphaDecelerateFactor));
-        alphaAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                final float newAngle = (float) animation.getAnimatedValue();
-                if (Math.abs(mAlphaAngleList.get(index) - newAngle) >= 0.5f) {
-                    mAlphaAngleList.set(index, newAngle);
-                }
-            }
-        });
-
-        betaAnimator.setFloatValues(sInitialBeta[mType], sPeakBeta[mType], sInitialBeta[mType]);
-        final float betaDecelerateFactor = 1.f - 0.05f * (index + 1);
-        betaAnimator.setInterpolator(new DecelerateInterpolator(betaDecelerateFactor));
-        betaAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                final float newAngle = (float) animation.getAnimatedValue();
-                if (Math.abs(mBetaAngleList.get(index) - newAngle) >= 0.1f) {
-                    mBetaAngleList.set(index, newAngle);
-                }
-            }
-        });
+    private static void setupAnimator(final int index, final List<ValueAnimator> animatorList, final List<AngleUpdateListener> listenerList,
+                                      final AnimationCurve curve, final float[] angles, final float threshold) {
+        CurveAnimators.setupFloatAnimator(animatorList.get(index), curve);
+        listenerList.get(index).setup(curve, angles, threshold);
     }
 
-    private void initMetronome12Animators(final int index, ValueAnimator alphaAnimator, ValueAnimator betaAnimator) {
-        alphaAnimator.setRepeatMode(ValueAnimator.REVERSE);
-        betaAnimator.setRepeatMode(ValueAnimator.REVERSE);
+    /**
+     * Applies animated angle of one arc, reconfigured together with it's pooled animator.
+     */
+    private static final class AngleUpdateListener implements ValueAnimator.AnimatorUpdateListener {
 
-        final float alphaDecelerateFactor = 1.f + 0.1f * ( index * index );
+        private final int mIndex;
+        private AnimationCurve mCurve;
+        private float[] mAngles;
+        private float mThreshold;
 
-        if (mType == ProgressAnimation.METRONOME_1) {
-            alphaAnimator.setFloatValues(-0.f, 0.f);
-            alphaAnimator.setInterpolator(new AccelerateDecelerateInterpolator());
-        } else if (mType == ProgressAnimation.METRONOME_2) {
-            final float randomAlpha = 5.f;
-            alphaAnimator.setFloatValues(-randomAlpha, randomAlpha, -randomAlpha);
-            alphaAnimator.setInterpolator(new AccelerateDecelerateInterpolator());
+        AngleUpdateListener(final int index) {
+            mIndex = index;
         }
-        alphaAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                final float newAngle = (float) animation.getAnimatedValue();
-                if (Math.abs(mAlphaAngleList.get(index) - newAngle) >= 1.f) {
-                    mAlphaAngleList.set(index, newAngle);
-                }
-            }
-        });
-
-        betaAnimator.setFloatValues(sPeakBeta[mType], -sPeakBeta[mType]);
-        final float betaDecelerateFactor = 1.f + 0.05f * ( index * index );
-        betaAnimator.setInterpolator(new AccelerateDecelerateInterpolator());
-        betaAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                final float newAngle = (float) animation.getAnimatedValue();
-                if (Math.abs(mBetaAngleList.get(index) - newAngle) >= 0.5f) {
-                    mBetaAngleList.set(index, newAngle);
-                }
-            }
-        });
-    }
 
-    private void initMetronome34Animators(final int index, ValueAnimator alphaAnimator, ValueAnimator betaAnimator) {
-        alphaAnimator.setRepeatMode(ValueAnimator.REVERSE);
-        betaAnimator.setRepeatMode(ValueAnimator.REVERSE);
-        final float alphaDecelerateFactor = 1.f + 0.05f * ( index * index );
-
-        if (mType == ProgressAnimation.METRONOME_3) {
-            final float slownessDegree = 10.f;
-            alphaAnimator.setFloatValues(slownessDegree, sInitialBeta[mType], slownessDegree, sInitialBeta[mType], slownessDegree);
-            alphaAnimator.setInterpolator(new AccelerateDecelerateInterpolator());
-        } else if (mType == ProgressAnimation.METRONOME_4) {
-            final float slownessDegree = 20.f;
-            alphaAnimator.setFloatValues(sInitialBeta[mType], slownessDegree, sInitialBeta[mType]);
-            alphaAnimator.setInterpolator(new AccelerateDecelerateInterpolator());
+        void setup(final AnimationCurve curve, final float[] angles, final float threshold) {
+            mCurve = curve;
+            mAngles = angles;
+            mThreshold = threshold;
         }
-        alphaAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                final float newAngle = (float) animation.getAnimatedValue();
-                mAlphaAngleList.set(index, newAngle);
-            }
-        });
-
-        betaAnimator.setFloatValues(sPeakBeta[mType], -sPeakBeta[mType]);
-        final float betaDecelerateFactor = 1.f + 0.05f * ( index * index );
-        betaAnimator.setInterpolator(new AccelerateDecelerateInterpolator());
-        betaAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                final float newAngle = (float) animation.getAnimatedValue();
-                mBetaAngleList.set(index, newAngle);
-
-                // redraw only once at the end of for loop
-            }
-        });
-    }
 
-    private void initButterflyKnifeAnimators(final int index, ValueAnimator alphaAnimator, ValueAnimator betaAnimator) {
-        alphaAnimator.setRepeatMode(ValueAnimator.REVERSE);
-        betaAnimator.setRepeatMode(ValueAnimator.REVERSE);
-        final float alphaDecelerateFactor = 1.f + 0.05f * ( index * index );
-
-        final float slownessDegree = 20.f;
-        alphaAnimator.setFloatValues(sInitialBeta[mType], slownessDegree, sInitialBeta[mType]);
-        alphaAnimator.setInterpolator(new AccelerateInterpolator(alphaDecelerateFactor));
-        alphaAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                final float newAngle = (float) animation.getAnimatedValue();
-                mAlphaAngleList.set(index, newAngle);
-            }
-        });
-
-        betaAnimator.setFloatValues(sPeakBeta[mType], -sPeakBeta[mType]);
-        final float betaDecelerateFactor = 1.f + 0.05f * ( index * index );
-        betaAnimator.setInterpolator(new AccelerateDecelerateInterpolator());
-        betaAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                final float newAngle = (float) animation.getAnimatedValue();
-                mBetaAngleList.set(index, newAngle);
-
-                // redraw only once at the end of for loop
+        @Override
+        public void onAnimationUpdate(ValueAnimator animation) {
+            // evaluated from fraction, since getAnimatedValue() boxes a Float on every frame
+            final float newAngle = mCurve.getValueAtInterpolatedFraction(animation.getAnimatedFraction());
+            if (Math.abs(mAngles[mIndex] - newAngle) >= mThreshold) {
+                mAngles[mIndex] = newAngle;
             }
-        });
-    }
-
-    private void initRainbowOrGotchaAnimators(final int index, ValueAnimator alphaAnimator, ValueAnimator betaAnimator) {
-        alphaAnimator.setRepeatMode(ValueAnimator.REVERSE);
-        final float slownessDegree;
-        if (getType() == ProgressAnimation.GOTCHA) {
-            slownessDegree = 360.f;
-        } else {
-            slownessDegree = 180.f;
         }
-        alphaAnimator.setFloatValues(sInitialBeta[mType], slownessDegree);
-        alphaAnimator.setInterpolator(new AccelerateDecelerateInterpolator());
-        alphaAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                final float newAngle = (float) animation.getAnimatedValue();
-                mAlphaAngleList.set(index, newAngle);
-            }
-        });
-
-        betaAnimator.setFloatValues(0.f, sPeakBeta[mType]);
-        betaAnimator.setInterpolator(new LinearInterpolator());
-        betaAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                final float newAngle = (float) animation.getAnimatedValue();
-                mBetaAngleList.set(index, newAngle);
-
-                // redraw only once at the end of for loop
-            }
-        });
     }
-
-
 }
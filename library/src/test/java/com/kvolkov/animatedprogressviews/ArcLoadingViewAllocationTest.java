@@ -0,0 +1,131 @@
+package com.kvolkov.animatedprogressviews;
+
+import android.app.Activity;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.RectF;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.kvolkov.animatedprogressviews.animations.AnimationEngine;
+import com.kvolkov.animatedprogressviews.animations.ManualFrameClock;
+import com.kvolkov.animatedprogressviews.animations.OpacityAnimation;
+import com.kvolkov.animatedprogressviews.animations.ProgressAnimation;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that steady state frames of {@link ArcLoadingView} allocate nothing: frame callback ticked by
+ * a {@link ManualFrameClock}, evaluation of animations, invalidation of changed arcs and {@link ArcLoadingView#onDraw(Canvas)},
+ * for every progress and opacity animation type combination at 1, 5, 15 and 30 arcs with both time based engines.
+ * Bytes allocated by the thread are measured with {@link com.sun.management.ThreadMXBean}.
+ *
+ * Drawing goes to a canvas which ignores draw calls, so only allocations of the view are measured,
+ * not ones of shadowed graphics.
+ *
+ * @author Kirill Volkov (https://github.com/vulko).
+ *         Copyright (C). All rights reserved.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class ArcLoadingViewAllocationTest {
+
+    private static final int[] ARC_COUNTS = { 1, 5, 15, 30 };
+    private static final int[] ENGINES = { AnimationEngine.TIMELINE, AnimationEngine.BAKED };
+    private static final int VIEW_SIZE = 300;
+    private static final int WARMUP_FRAMES = 300;
+    private static final int MEASURED_FRAMES = 500;
+
+    /**
+     * Canvas ignoring draw calls of {@link ArcRenderer}.
+     */
+    private static final class NullCanvas extends Canvas {
+
+        @Override
+        public void drawPath(Path path, Paint paint) {
+        }
+
+        @Override
+        public void drawArc(RectF oval, float startAngle, float sweepAngle, boolean useCenter, Paint paint) {
+        }
+    }
+
+    private com.sun.management.ThreadMXBean mThreadBean;
+    private long mThreadId;
+    private ManualFrameClock mClock;
+    private ArcLoadingView mView;
+    private Canvas mCanvas;
+
+    @Before
+    public void setUp() {
+        mThreadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue("Thread allocated memory is not supported by this JVM", mThreadBean.isThreadAllocatedMemorySupported());
+        mThreadBean.setThreadAllocatedMemoryEnabled(true);
+        mThreadId = Thread.currentThread().getId();
+
+        final Activity activity = Robolectric.buildActivity(Activity.class).create().start().resume().visible().get();
+        mClock = new ManualFrameClock();
+        mView = new ArcLoadingView(activity);
+        mView.setFrameClock(mClock);
+        activity.setContentView(mView, new ViewGroup.LayoutParams(VIEW_SIZE, VIEW_SIZE));
+        mView.measure(View.MeasureSpec.makeMeasureSpec(VIEW_SIZE, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(VIEW_SIZE, View.MeasureSpec.EXACTLY));
+        mView.layout(0, 0, VIEW_SIZE, VIEW_SIZE);
+        mCanvas = new NullCanvas();
+    }
+
+    @Test
+    public void framesAllocateNothing() {
+        final StringBuilder failures = new StringBuilder();
+        for (int progressType = ProgressAnimation.OPACITY_ANIMATION_TEST_STUB; progressType <= ProgressAnimation.GOTCHA; ++progressType) {
+            for (int opacityType = OpacityAnimation.NONE; opacityType <= OpacityAnimation.RIPPLE; ++opacityType) {
+                for (int arcCount : ARC_COUNTS) {
+                    for (int engine : ENGINES) {
+                        final long bytes = measure(progressType, opacityType, arcCount, engine);
+                        if (bytes > 0) {
+                            failures.append("Allocated ").append(bytes).append(" bytes in ").append(MEASURED_FRAMES)
+                                    .append(" frames: progress type ").append(progressType)
+                                    .append(", opacity type ").append(opacityType)
+                                    .append(", arcs ").append(arcCount)
+                                    .append(engine == AnimationEngine.BAKED ? ", BAKED" : ", TIMELINE").append('\n');
+                        }
+                    }
+                }
+            }
+        }
+        assertEquals("", failures.toString());
+    }
+
+    private long measure(int progressType, int opacityType, int arcCount, int engine) {
+        mView.beginConfig();
+        mView.setAnimationEngine(engine);
+        mView.setProgressAnimationType(progressType);
+        mView.setOpacityAnimationType(opacityType);
+        mView.setArcCount(arcCount);
+        mView.commitConfig();
+
+        frames(WARMUP_FRAMES);
+        final long before = mThreadBean.getThreadAllocatedBytes(mThreadId);
+        frames(MEASURED_FRAMES);
+        final long after = mThreadBean.getThreadAllocatedBytes(mThreadId);
+        return after - before;
+    }
+
+    private void frames(int count) {
+        for (int i = 0; i < count; ++i) {
+            mClock.step();
+            mView.onDraw(mCanvas);
+        }
+    }
+}